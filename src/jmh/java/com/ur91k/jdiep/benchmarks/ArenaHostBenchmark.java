@@ -0,0 +1,95 @@
+package com.ur91k.jdiep.benchmarks;
+
+import com.ur91k.jdiep.server.Arena;
+import com.ur91k.jdiep.server.ServerConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How many default sized arenas one core can run at 60 Hz. One invocation ticks every arena
+ * once on a work-stealing pool with one worker per core, like ArenaHost; after each iteration
+ * the time per round and the resulting arenas per core are printed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dtinylog.level=info")
+public class ArenaHostBenchmark {
+    private static final float TICK = 1.0f / 60.0f;
+    private static final long TICK_NANOS = 1_000_000_000L / 60;
+    private static final int SETTLE_TICKS = 60;
+
+    @Param({"1", "8", "32"})
+    public int arenaCount;
+
+    private Arena[] arenas;
+    private ForkJoinTask<?>[] tasks;
+    private ForkJoinPool workers;
+    private int workerCount;
+    private long rounds;
+    private long startNanos;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ServerConfig config = new ServerConfig();
+        arenas = new Arena[arenaCount];
+        for (int i = 0; i < arenaCount; i++) {
+            arenas[i] = new Arena(i, config, TICK_NANOS);
+            for (int t = 0; t < SETTLE_TICKS; t++) {
+                arenas[i].tick(TICK);  // Create bodies
+            }
+        }
+        workerCount = Runtime.getRuntime().availableProcessors();
+        workers = new ForkJoinPool(workerCount, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+        tasks = new ForkJoinTask<?>[arenaCount];
+    }
+
+    @Setup(Level.Iteration)
+    public void startCounting() {
+        rounds = 0;
+        startNanos = System.nanoTime();
+    }
+
+    @Benchmark
+    public void tickAllArenas() {
+        for (int i = 0; i < arenas.length; i++) {
+            Arena arena = arenas[i];
+            tasks[i] = workers.submit(() -> arena.tick(TICK));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+        rounds++;
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        if (rounds == 0) return;
+        double roundNanos = (System.nanoTime() - startNanos) / (double) rounds;
+        double arenasPerCore = arenaCount * (TICK_NANOS / roundNanos) / workerCount;
+        System.out.println(String.format("%d arenas on %d workers: %.3f ms per round, %.1f arenas per core at 60 Hz",
+            arenaCount, workerCount, roundNanos / 1_000_000.0, arenasPerCore));
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
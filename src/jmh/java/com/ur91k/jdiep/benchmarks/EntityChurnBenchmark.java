@@ -0,0 +1,110 @@
+package com.ur91k.jdiep.benchmarks;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.ur91k.jdiep.core.game.Simulation;
+import com.ur91k.jdiep.ecs.factories.FoodFactory;
+import com.ur91k.jdiep.ecs.factories.ProjectileFactory;
+import com.ur91k.jdiep.game.config.GameConstants;
+import org.joml.Vector2f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spawning and despawning at a high rate: every tick a slice of the food field is replaced
+ * and a burst of bullets is fired, expiring through LifetimeSystem. One invocation is one
+ * 60 Hz tick. Compare a plain Engine against the PooledEngine from Simulation.createEngine();
+ * the GC profiler's gc.alloc.rate.norm is the allocation per tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dtinylog.level=info")
+public class EntityChurnBenchmark {
+    private static final float TICK = 1.0f / 60.0f;
+    private static final int FOOD_COUNT = 5000;
+    private static final int FOOD_CHURN_PER_TICK = 200;
+    private static final int BULLETS_PER_TICK = 20;
+    private static final float BULLET_SPEED = 2.0f;
+    private static final long SEED = 42L;
+
+    @Param({"true", "false"})
+    public boolean pooledEngine;
+
+    private Simulation simulation;
+    private FoodFactory foodFactory;
+    private ProjectileFactory projectileFactory;
+    private Entity[] food;
+    private int nextFood;
+    private Vector2f[] positions;
+    private Vector2f[] directions;
+    private int nextPosition;
+    private int nextDirection;
+    private final Vector2f origin = new Vector2f();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Engine engine = pooledEngine ? Simulation.createEngine() : new Engine();
+        simulation = new Simulation(engine, null);
+        simulation.createWorldBounds();
+        foodFactory = simulation.getFoodFactory();
+        projectileFactory = simulation.getProjectileFactory();
+
+        // Precomputed so the benchmark itself does not allocate per spawn
+        Random random = new Random(SEED);
+        float halfExtent = GameConstants.WORLD_BOUNDS * 0.9f;
+        positions = new Vector2f[4096];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = new Vector2f(random.nextFloat() * 2 - 1, random.nextFloat() * 2 - 1).mul(halfExtent);
+        }
+        directions = new Vector2f[1024];
+        for (int i = 0; i < directions.length; i++) {
+            float angle = random.nextFloat() * (float) (Math.PI * 2);
+            directions[i] = new Vector2f((float) Math.cos(angle), (float) Math.sin(angle));
+        }
+
+        food = new Entity[FOOD_COUNT];
+        for (int i = 0; i < FOOD_COUNT; i++) {
+            food[i] = foodFactory.createTinyFood(nextPosition());
+        }
+        simulation.update(TICK);  // Create bodies
+    }
+
+    @Benchmark
+    public void churnAndTick() {
+        // Replace the oldest food; nothing can eat it here, so every entity is still live
+        Engine engine = simulation.getEngine();
+        for (int i = 0; i < FOOD_CHURN_PER_TICK; i++) {
+            engine.removeEntity(food[nextFood]);
+            food[nextFood] = foodFactory.createTinyFood(nextPosition());
+            nextFood = (nextFood + 1) % FOOD_COUNT;
+        }
+
+        // Bullets from the center, removed by lifetime or on hitting a wall
+        for (int i = 0; i < BULLETS_PER_TICK; i++) {
+            Vector2f direction = directions[nextDirection++ & (directions.length - 1)];
+            projectileFactory.createBullet(origin, direction, BULLET_SPEED, 1.0f, null);
+        }
+
+        simulation.update(TICK);
+    }
+
+    private Vector2f nextPosition() {
+        return positions[nextPosition++ & (positions.length - 1)];
+    }
+}
@@ -0,0 +1,123 @@
+package com.ur91k.jdiep.benchmarks;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.ur91k.jdiep.core.game.Simulation;
+import com.ur91k.jdiep.ecs.factories.FoodFactory;
+import com.ur91k.jdiep.ecs.systems.core.EntityIdSystem;
+import com.ur91k.jdiep.ecs.systems.gameplay.FoodDriftSystem;
+import com.ur91k.jdiep.ecs.systems.physics.PhysicsSystem;
+import com.ur91k.jdiep.game.config.GameConstants;
+import org.joml.Vector2f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Food drift over large food fields with food being eaten and respawned every tick.
+ * After each iteration the allocation per tick and the entity id limit are printed;
+ * the id limit stays at the food count plus a few walls because ids (and the drift
+ * state indexed by them) are reused, so per-food state does not grow with churn.
+ * The measured time includes the churn itself, which is dominated by Ashley's family
+ * bookkeeping on entity removal.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dtinylog.level=info")
+public class FoodDriftBenchmark {
+    private static final float TICK = 1.0f / 60.0f;
+    private static final int CHURN_PER_TICK = 16;
+    private static final long SEED = 42L;
+
+    @Param({"10000", "20000"})
+    public int foodCount;
+
+    @Param({"true", "false"})
+    public boolean parallel;
+
+    private Engine engine;
+    private PhysicsSystem physicsSystem;
+    private FoodDriftSystem foodDriftSystem;
+    private EntityIdSystem idSystem;
+    private FoodFactory foodFactory;
+    private Entity[] food;
+    private Random random;
+    private float halfExtent;
+    private com.sun.management.ThreadMXBean threadBean;
+    private long allocatedBytes;
+    private long ticks;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        engine = new Engine();
+        Simulation simulation = new Simulation(engine, null);
+        random = new Random(SEED);
+        halfExtent = GameConstants.WORLD_BOUNDS * 0.9f;
+        foodFactory = simulation.getFoodFactory();
+        food = new Entity[foodCount];
+        for (int i = 0; i < foodCount; i++) {
+            food[i] = foodFactory.createTinyFood(randomPosition());
+        }
+        simulation.getFoodDriftSystem().setSeed(SEED);
+        simulation.getFoodDriftSystem().setParallel(parallel);
+        simulation.update(TICK);  // Create bodies
+
+        physicsSystem = simulation.getPhysicsSystem();
+        foodDriftSystem = simulation.getFoodDriftSystem();
+        idSystem = engine.getSystem(EntityIdSystem.class);
+        threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    }
+
+    private Vector2f randomPosition() {
+        return new Vector2f((random.nextFloat() * 2 - 1) * halfExtent, (random.nextFloat() * 2 - 1) * halfExtent);
+    }
+
+    @Setup(Level.Iteration)
+    public void startCounting() {
+        allocatedBytes = 0;
+        ticks = 0;
+    }
+
+    /**
+     * Replaces a few food items, then runs one drift update over all of them.
+     * Only the drift update is counted towards allocation.
+     */
+    @Benchmark
+    public void driftWithChurn() {
+        for (int i = 0; i < CHURN_PER_TICK; i++) {
+            int slot = random.nextInt(foodCount);
+            engine.removeEntity(food[slot]);  // Also destroys the body
+            food[slot] = foodFactory.createTinyFood(randomPosition());
+        }
+        physicsSystem.syncTransforms();  // Create bodies for the new food
+
+        long before = threadBean.getCurrentThreadAllocatedBytes();
+        foodDriftSystem.update(TICK);
+        allocatedBytes += threadBean.getCurrentThreadAllocatedBytes() - before;
+        ticks++;
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        if (ticks == 0) return;
+        System.out.println("Drift allocated " + allocatedBytes / ticks + " bytes/tick, entity id limit "
+            + idSystem.getIdLimit() + " after " + ticks + " ticks");
+    }
+}
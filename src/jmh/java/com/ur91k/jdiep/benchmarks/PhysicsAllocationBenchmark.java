@@ -0,0 +1,90 @@
+package com.ur91k.jdiep.benchmarks;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.ur91k.jdiep.core.game.Simulation;
+import com.ur91k.jdiep.core.window.Input;
+import com.ur91k.jdiep.ecs.factories.CameraFactory;
+import com.ur91k.jdiep.ecs.factories.DroneFactory;
+import com.ur91k.jdiep.ecs.factories.TankFactory;
+import com.ur91k.jdiep.ecs.systems.camera.CameraSystem;
+import com.ur91k.jdiep.ecs.systems.physics.PhysicsPlayerControlSystem;
+import com.ur91k.jdiep.ecs.systems.render.RenderSnapshotSystem;
+import com.ur91k.jdiep.ecs.systems.render.RenderStateBuffer;
+import org.joml.Vector2f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady state simulation tick with tanks, orbiting drones, player control, a follow camera
+ * and the render snapshot capture. Run with -prof gc for the allocation rate; the per tick
+ * allocation budget itself is enforced by AllocationBudgetTest.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PhysicsAllocationBenchmark {
+    private static final float TICK = 1.0f / 60.0f;
+    private static final int WARMUP_TICKS = 600;
+    private static final int DRONES_PER_TANK = 4;
+    private static final long SEED = 42L;
+
+    @Param({"10", "100"})
+    public int tankCount;
+
+    private Simulation simulation;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Input input = new Input();  // No window, no keys pressed
+        Engine engine = new Engine();
+        simulation = new Simulation(engine, null, new PhysicsPlayerControlSystem(input, null));
+        simulation.getSystems().add(new CameraSystem(input));
+        RenderStateBuffer renderState = new RenderStateBuffer();
+        renderState.setViewSize(160.0f, 90.0f);  // Capture through the spatial index like a window would
+        simulation.getSystems().add(new RenderSnapshotSystem(renderState));
+        simulation.createWorldBounds();
+
+        Random random = new Random(SEED);
+        TankFactory tankFactory = simulation.getTankFactory();
+        DroneFactory droneFactory = new DroneFactory(engine);
+        Entity player = null;
+        for (int i = 0; i < tankCount; i++) {
+            Vector2f position = new Vector2f(random.nextFloat() * 400 - 200, random.nextFloat() * 400 - 200);
+            Entity tank = tankFactory.createBasicTank(position);
+            if (player == null) {
+                player = tankFactory.makePlayerControlled(tank);
+            }
+            for (int d = 0; d < DRONES_PER_TANK; d++) {
+                droneFactory.createDrone(new Vector2f(position).add(d * 3.0f, 5.0f), tank);
+            }
+        }
+        new CameraFactory(engine).createFollowCamera(player, 0.1f);
+
+        // Create bodies and joints and let entity counts settle
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            simulation.update(TICK);
+        }
+    }
+
+    @Benchmark
+    public void tick() {
+        simulation.update(TICK);
+    }
+}
@@ -0,0 +1,100 @@
+package com.ur91k.jdiep.benchmarks;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.ur91k.jdiep.core.game.Simulation;
+import com.ur91k.jdiep.ecs.factories.ProjectileFactory;
+import com.ur91k.jdiep.ecs.factories.TankFactory;
+import com.ur91k.jdiep.game.config.GameConstants;
+import org.joml.Vector2f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sustained fire of 5000 bullets per simulated second from a ring of tanks, with bullets
+ * expiring through LifetimeSystem or despawning on hits. One invocation is one 60 Hz tick.
+ * Compare pooling=true against pooling=false; the GC profiler's gc.alloc.rate.norm is the
+ * allocation per tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dtinylog.level=info")
+public class ProjectileStressBenchmark {
+    private static final float TICK = 1.0f / 60.0f;
+    private static final float BULLETS_PER_SECOND = 5000.0f;
+    private static final int TANK_COUNT = 50;
+    private static final float RING_RADIUS = 300.0f;
+    private static final float BULLET_SPEED = 2.0f;
+    private static final float BULLET_DAMAGE = 1.0f;
+    private static final long SEED = 42L;
+
+    @Param({"true", "false"})
+    public boolean pooling;
+
+    private Simulation simulation;
+    private ProjectileFactory projectileFactory;
+    private Entity[] tanks;
+    private Vector2f[] tankPositions;
+    private Vector2f[] directions;
+    private final Vector2f muzzle = new Vector2f();
+    private float pendingShots;
+    private int nextShot;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        simulation = new Simulation(new Engine(), null);
+        simulation.createWorldBounds();
+        projectileFactory = simulation.getProjectileFactory();
+        projectileFactory.setPooling(pooling);
+
+        // Tanks on a ring facing the center, so bullets cross the field and some hit tanks
+        TankFactory tankFactory = simulation.getTankFactory();
+        tanks = new Entity[TANK_COUNT];
+        tankPositions = new Vector2f[TANK_COUNT];
+        for (int i = 0; i < TANK_COUNT; i++) {
+            float angle = (float) (Math.PI * 2 * i / TANK_COUNT);
+            tankPositions[i] = new Vector2f((float) Math.cos(angle), (float) Math.sin(angle)).mul(RING_RADIUS);
+            tanks[i] = tankFactory.createBasicTank(tankPositions[i]);
+        }
+
+        // Fixed spread of aim directions around the center
+        Random random = new Random(SEED);
+        directions = new Vector2f[1024];
+        for (int i = 0; i < directions.length; i++) {
+            Vector2f target = new Vector2f((random.nextFloat() * 2 - 1), (random.nextFloat() * 2 - 1))
+                .mul(GameConstants.WORLD_BOUNDS * 0.2f);
+            Vector2f origin = tankPositions[i % TANK_COUNT];
+            directions[i] = target.sub(origin).normalize();
+        }
+    }
+
+    @Benchmark
+    public void fireAndTick() {
+        pendingShots += BULLETS_PER_SECOND * TICK;
+        while (pendingShots >= 1.0f) {
+            int shot = nextShot++ & (directions.length - 1);
+            int tank = shot % TANK_COUNT;
+            Vector2f direction = directions[shot];
+            muzzle.set(direction).mul(8.0f).add(tankPositions[tank]);  // Spawn outside the tank body
+            projectileFactory.createBullet(muzzle, direction, BULLET_SPEED, BULLET_DAMAGE, tanks[tank]);
+            pendingShots -= 1.0f;
+        }
+        simulation.update(TICK);
+    }
+}
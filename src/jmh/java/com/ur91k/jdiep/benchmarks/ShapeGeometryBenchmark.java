@@ -0,0 +1,97 @@
+package com.ur91k.jdiep.benchmarks;
+
+import com.ur91k.jdiep.game.config.GameConstants;
+import com.ur91k.jdiep.graphics.core.PolygonShapes;
+import com.ur91k.jdiep.graphics.core.ShapeGeometry;
+import org.joml.Vector2f;
+import org.joml.Vector4f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-frame vertex and instance generation of the shape batcher, without a GL context.
+ * The scene mimics a busy frame: filled circles with outlines for tanks, food and bullets,
+ * rectangles, and turret polygons, each one instance holding its fill and outline. Upload and draw calls are
+ * left out, this only measures the CPU work that feeds them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShapeGeometryBenchmark {
+    private static final long SEED = 42L;
+    private static final float LINE_WIDTH = 0.1f;
+    private static final Vector4f FILL = new Vector4f(0.0f, 0.7f, 0.9f, 1.0f);
+    private static final Vector4f OUTLINE = new Vector4f(0.0f, 0.5f, 0.7f, 1.0f);
+
+    @Param({"1000", "10000"})
+    public int shapeCount;
+
+    private final ShapeGeometry geometry = new ShapeGeometry();
+    private final Vector2f dimensions = new Vector2f(1.2f, 1.2f);
+    private Vector2f[] positions;
+    private float[] radii;
+    private float[] rotations;
+    private int[] kinds;  // 0 circle, 1 rectangle, 2 polygon
+    private int turret;  // PolygonShapes id, resolved once like ShapeComponent does
+
+    @Setup
+    public void setup() {
+        Random random = new Random(SEED);
+        float extent = GameConstants.WORLD_BOUNDS;
+        positions = new Vector2f[shapeCount];
+        radii = new float[shapeCount];
+        rotations = new float[shapeCount];
+        kinds = new int[shapeCount];
+        for (int i = 0; i < shapeCount; i++) {
+            positions[i] = new Vector2f((random.nextFloat() * 2 - 1) * extent, (random.nextFloat() * 2 - 1) * extent);
+            radii[i] = 0.5f + random.nextFloat() * 1.5f;
+            rotations[i] = random.nextFloat() * (float) (Math.PI * 2);
+            // Mostly circles, like the game: food, bullets and tank bodies
+            float roll = random.nextFloat();
+            kinds[i] = roll < 0.7f ? 0 : roll < 0.85f ? 1 : 2;
+        }
+
+        // Same quad TankFactory builds for a basic turret
+        float width = 0.6f, length = 2.0f;
+        turret = PolygonShapes.register(new Vector2f[] {
+            new Vector2f(-width / 2, 0),
+            new Vector2f(width / 2, 0),
+            new Vector2f(width / 2, length),
+            new Vector2f(-width / 2, length)
+        });
+    }
+
+    @Benchmark
+    public int generateFrame() {
+        geometry.clear();
+        for (int i = 0; i < shapeCount; i++) {
+            switch (kinds[i]) {
+                case 0:
+                    geometry.addCircle(positions[i], radii[i], FILL, OUTLINE, LINE_WIDTH);
+                    break;
+                case 1:
+                    geometry.addRectangle(positions[i], dimensions, rotations[i], FILL, OUTLINE, LINE_WIDTH);
+                    break;
+                default:
+                    geometry.addPolygon(positions[i], turret, rotations[i], FILL, OUTLINE, LINE_WIDTH);
+                    break;
+            }
+        }
+        return geometry.getInstanceFloats() + geometry.getPolygonVertexCount();
+    }
+}
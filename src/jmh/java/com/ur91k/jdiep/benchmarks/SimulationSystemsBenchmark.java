@@ -0,0 +1,109 @@
+package com.ur91k.jdiep.benchmarks;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.ur91k.jdiep.core.game.Simulation;
+import com.ur91k.jdiep.ecs.factories.DroneFactory;
+import com.ur91k.jdiep.ecs.factories.TankFactory;
+import com.ur91k.jdiep.ecs.systems.gameplay.FoodDriftSystem;
+import com.ur91k.jdiep.ecs.systems.physics.PhysicsDroneControlSystem;
+import com.ur91k.jdiep.ecs.systems.physics.PhysicsSystem;
+import com.ur91k.jdiep.game.config.GameConstants;
+import org.joml.Vector2f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time per tick of the simulation systems that scale with entity count: the physics step
+ * and transform sync, food drift and drone control. The world is rebuilt from a fixed seed
+ * every trial, so numbers are comparable between commits.
+ *
+ * Each benchmark calls a single system's update; food drift and drone control only apply
+ * forces, which Box2D accumulates until the next step.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dtinylog.level=info")
+public class SimulationSystemsBenchmark {
+    private static final float TICK = 1.0f / 60.0f;
+    private static final int SETTLE_TICKS = 60;
+    private static final int DRONES_PER_TANK = 8;
+    private static final long SEED = 42L;
+
+    @Param({"500", "2000", "5000"})
+    public int foodCount;
+
+    @Param({"100", "1000"})
+    public int droneCount;
+
+    private PhysicsSystem physicsSystem;
+    private FoodDriftSystem foodDriftSystem;
+    private PhysicsDroneControlSystem droneControlSystem;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Engine engine = new Engine();
+        Simulation simulation = new Simulation(engine, null);
+        simulation.createWorldBounds();
+
+        Random random = new Random(SEED);
+        float halfExtent = GameConstants.WORLD_BOUNDS * 0.9f;
+        simulation.spawnFood(random, foodCount, 0, halfExtent);
+        simulation.getFoodDriftSystem().setSeed(SEED);
+
+        TankFactory tankFactory = simulation.getTankFactory();
+        DroneFactory droneFactory = new DroneFactory(engine);
+        int tankCount = (droneCount + DRONES_PER_TANK - 1) / DRONES_PER_TANK;
+        int drones = 0;
+        for (int i = 0; i < tankCount; i++) {
+            Vector2f position = new Vector2f(
+                (random.nextFloat() * 2 - 1) * halfExtent,
+                (random.nextFloat() * 2 - 1) * halfExtent);
+            Entity tank = tankFactory.createBasicTank(position);
+            for (int d = 0; d < DRONES_PER_TANK && drones < droneCount; d++, drones++) {
+                droneFactory.createDrone(new Vector2f(position).add(d * 3.0f, 5.0f), tank);
+            }
+        }
+
+        // Create bodies and let the initial contacts resolve
+        for (int i = 0; i < SETTLE_TICKS; i++) {
+            simulation.update(TICK);
+        }
+
+        physicsSystem = simulation.getPhysicsSystem();
+        foodDriftSystem = simulation.getFoodDriftSystem();
+        droneControlSystem = engine.getSystem(PhysicsDroneControlSystem.class);
+    }
+
+    @Benchmark
+    public int physicsUpdate() {
+        physicsSystem.update(TICK);
+        return physicsSystem.getSyncedBodyCount();
+    }
+
+    @Benchmark
+    public void foodDrift() {
+        foodDriftSystem.update(TICK);
+    }
+
+    @Benchmark
+    public void droneControl() {
+        droneControlSystem.update(TICK);
+    }
+}
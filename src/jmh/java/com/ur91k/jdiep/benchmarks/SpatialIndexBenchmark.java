@@ -0,0 +1,140 @@
+package com.ur91k.jdiep.benchmarks;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.ur91k.jdiep.ecs.systems.spatial.SpatialHashGrid;
+import com.ur91k.jdiep.ecs.systems.spatial.SpatialIndexSystem;
+import com.ur91k.jdiep.game.config.GameConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query cost of the spatial hash against a linear scan over the same positions.
+ * Entities are spread over the whole world; queries are view sized boxes and
+ * drone targeting sized circles at random points.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpatialIndexBenchmark {
+    private static final long SEED = 42L;
+    private static final int QUERY_POINTS = 256;
+    private static final float TARGET_RADIUS = 20.0f;
+    private static final float VIEW_HALF_WIDTH = 40.0f;
+    private static final float VIEW_HALF_HEIGHT = 30.0f;
+
+    @Param({"1000", "10000", "50000"})
+    public int entityCount;
+
+    private SpatialHashGrid grid;
+    private float[] x;
+    private float[] y;
+    private float[] radius;
+    private float[] queryX;
+    private float[] queryY;
+    private final IntArray results = new IntArray();
+    private int nextQuery;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(SEED);
+        float extent = GameConstants.WORLD_BOUNDS;
+        grid = new SpatialHashGrid(SpatialIndexSystem.DEFAULT_CELL_SIZE);
+        x = new float[entityCount + 1];
+        y = new float[entityCount + 1];
+        radius = new float[entityCount + 1];
+
+        // Id 0 is never used, matching EntityIdSystem
+        for (int id = 1; id <= entityCount; id++) {
+            x[id] = (random.nextFloat() * 2 - 1) * extent;
+            y[id] = (random.nextFloat() * 2 - 1) * extent;
+            radius[id] = 0.8f + random.nextFloat() * 2.0f;
+            grid.update(id, x[id], y[id], radius[id]);
+        }
+
+        queryX = new float[QUERY_POINTS];
+        queryY = new float[QUERY_POINTS];
+        for (int i = 0; i < QUERY_POINTS; i++) {
+            queryX[i] = (random.nextFloat() * 2 - 1) * extent;
+            queryY[i] = (random.nextFloat() * 2 - 1) * extent;
+        }
+    }
+
+    private int nextQueryIndex() {
+        nextQuery = (nextQuery + 1) % QUERY_POINTS;
+        return nextQuery;
+    }
+
+    @Benchmark
+    public int radiusQueryHash() {
+        int q = nextQueryIndex();
+        results.clear();
+        return grid.queryRadius(queryX[q], queryY[q], TARGET_RADIUS, results);
+    }
+
+    @Benchmark
+    public int radiusQueryLinear() {
+        int q = nextQueryIndex();
+        results.clear();
+        float cx = queryX[q];
+        float cy = queryY[q];
+        for (int id = 1; id <= entityCount; id++) {
+            float dx = x[id] - cx;
+            float dy = y[id] - cy;
+            float r = radius[id] + TARGET_RADIUS;
+            if (dx * dx + dy * dy <= r * r) results.add(id);
+        }
+        return results.size;
+    }
+
+    @Benchmark
+    public int aabbQueryHash() {
+        int q = nextQueryIndex();
+        results.clear();
+        return grid.queryAabb(queryX[q] - VIEW_HALF_WIDTH, queryY[q] - VIEW_HALF_HEIGHT,
+            queryX[q] + VIEW_HALF_WIDTH, queryY[q] + VIEW_HALF_HEIGHT, results);
+    }
+
+    @Benchmark
+    public int aabbQueryLinear() {
+        int q = nextQueryIndex();
+        results.clear();
+        float minX = queryX[q] - VIEW_HALF_WIDTH;
+        float minY = queryY[q] - VIEW_HALF_HEIGHT;
+        float maxX = queryX[q] + VIEW_HALF_WIDTH;
+        float maxY = queryY[q] + VIEW_HALF_HEIGHT;
+        for (int id = 1; id <= entityCount; id++) {
+            float dx = x[id] - Math.max(minX, Math.min(x[id], maxX));
+            float dy = y[id] - Math.max(minY, Math.min(y[id], maxY));
+            if (dx * dx + dy * dy <= radius[id] * radius[id]) results.add(id);
+        }
+        return results.size;
+    }
+
+    /**
+     * Cost of the per-tick incremental update with every entity moving a little, as under physics.
+     */
+    @Benchmark
+    public int incrementalUpdate() {
+        float offset = (nextQueryIndex() & 1) == 0 ? 0.1f : -0.1f;
+        for (int id = 1; id <= entityCount; id++) {
+            x[id] += offset;
+            grid.update(id, x[id], y[id], radius[id]);
+        }
+        return grid.size();
+    }
+}
@@ -0,0 +1,78 @@
+package com.ur91k.jdiep.benchmarks;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.ur91k.jdiep.core.game.Simulation;
+import com.ur91k.jdiep.ecs.factories.FoodFactory;
+import com.ur91k.jdiep.ecs.factories.TankFactory;
+import com.ur91k.jdiep.game.config.GameConstants;
+import org.joml.Vector2f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spawn rate of the entity factories into a full simulation engine, so entity listeners
+ * (ids, spatial index) are included. Physics bodies are created lazily on the next tick
+ * and are not part of this cost. The engine is rebuilt every iteration to keep the
+ * entity count from growing without bound.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dtinylog.level=info")
+public class SpawnBenchmark {
+    private static final int POSITIONS = 1024;
+    private static final long SEED = 42L;
+
+    private TankFactory tankFactory;
+    private FoodFactory foodFactory;
+    private Vector2f[] positions;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void createPositions() {
+        Random random = new Random(SEED);
+        float extent = GameConstants.WORLD_BOUNDS * 0.9f;
+        positions = new Vector2f[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            positions[i] = new Vector2f((random.nextFloat() * 2 - 1) * extent, (random.nextFloat() * 2 - 1) * extent);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void createEngine() {
+        Simulation simulation = new Simulation(new Engine(), null);
+        tankFactory = simulation.getTankFactory();
+        foodFactory = simulation.getFoodFactory();
+        next = 0;
+    }
+
+    private Vector2f nextPosition() {
+        next = (next + 1) % POSITIONS;
+        return positions[next];
+    }
+
+    @Benchmark
+    public Entity createBasicTank() {
+        return tankFactory.createBasicTank(nextPosition());
+    }
+
+    @Benchmark
+    public Entity createTinyFood() {
+        return foodFactory.createTinyFood(nextPosition());
+    }
+}
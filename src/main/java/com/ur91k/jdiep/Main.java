@@ -1,6 +1,10 @@
 package com.ur91k.jdiep;
 
 import com.ur91k.jdiep.core.game.Game;
+import com.ur91k.jdiep.server.ArenaHost;
+import com.ur91k.jdiep.server.DedicatedServer;
+import com.ur91k.jdiep.server.LoopbackHarness;
+import com.ur91k.jdiep.server.ServerConfig;
 import org.tinylog.Logger;
 import org.tinylog.configuration.Configuration;
 
@@ -10,6 +14,9 @@ public class Main {
         boolean debugMode = false;
         int maxDebugFrames = 1;
         String logLevel = "DEBUG";
+        boolean serverMode = false;
+        boolean loopbackMode = false;
+        ServerConfig serverConfig = new ServerConfig();
     
         // Parse command line arguments
         for (int i = 0; i < args.length; i++) {
@@ -35,6 +42,96 @@ public class Main {
                         }
                     }
                     break;
+                case "--server":
+                    serverMode = true;
+                    break;
+                case "--loopback":
+                    loopbackMode = true;
+                    break;
+                case "--port":
+                    if (i + 1 < args.length) {
+                        try {
+                            serverConfig.setPort(Integer.parseInt(args[++i]));
+                        } catch (NumberFormatException e) {
+                            System.err.println("Invalid port specified. Using default: " + serverConfig.getPort());
+                        }
+                    }
+                    break;
+                case "--tick-rate":
+                    if (i + 1 < args.length) {
+                        try {
+                            float tickRate = Float.parseFloat(args[++i]);
+                            if (tickRate > 0) {
+                                serverConfig.setTickRate(tickRate);
+                            } else {
+                                System.err.println("Tick rate must be positive. Using default: " + serverConfig.getTickRate());
+                            }
+                        } catch (NumberFormatException e) {
+                            System.err.println("Invalid tick rate specified. Using default: " + serverConfig.getTickRate());
+                        }
+                    }
+                    break;
+                case "--ticks":
+                    if (i + 1 < args.length) {
+                        try {
+                            serverConfig.setMaxTicks(Long.parseLong(args[++i]));
+                        } catch (NumberFormatException e) {
+                            System.err.println("Invalid tick count specified. Running until stopped");
+                        }
+                    }
+                    break;
+                case "--food":
+                    if (i + 1 < args.length) {
+                        try {
+                            int food = Integer.parseInt(args[++i]);
+                            serverConfig.setTinyFoodCount(food - food / 5);
+                            serverConfig.setSmallFoodCount(food / 5);
+                        } catch (NumberFormatException e) {
+                            System.err.println("Invalid food count specified. Using default");
+                        }
+                    }
+                    break;
+                case "--seed":
+                    if (i + 1 < args.length) {
+                        try {
+                            serverConfig.setSeed(Long.parseLong(args[++i]));
+                        } catch (NumberFormatException e) {
+                            System.err.println("Invalid seed specified. Using default: " + serverConfig.getSeed());
+                        }
+                    }
+                    break;
+                case "--arenas":
+                    if (i + 1 < args.length) {
+                        try {
+                            serverConfig.setArenaCount(Math.max(1, Integer.parseInt(args[++i])));
+                        } catch (NumberFormatException e) {
+                            System.err.println("Invalid arena count specified. Using default: " + serverConfig.getArenaCount());
+                        }
+                    }
+                    break;
+                case "--workers":
+                    if (i + 1 < args.length) {
+                        try {
+                            serverConfig.setWorkerThreads(Integer.parseInt(args[++i]));
+                        } catch (NumberFormatException e) {
+                            System.err.println("Invalid worker count specified. Using one per core");
+                        }
+                    }
+                    break;
+                case "--tick-budget":
+                    if (i + 1 < args.length) {
+                        try {
+                            serverConfig.setTickBudget(Float.parseFloat(args[++i]) / 1000.0f);
+                        } catch (NumberFormatException e) {
+                            System.err.println("Invalid tick budget specified. Using the tick period");
+                        }
+                    }
+                    break;
+                case "--profile":
+                    if (i + 1 < args.length) {
+                        serverConfig.setProfileOutput(args[++i]);
+                    }
+                    break;
                 case "--help":
                     printHelp();
                     return;
@@ -47,6 +144,22 @@ public class Main {
             Logger.info("Debug mode enabled, running for {} frames", maxDebugFrames);
         }
 
+        if (loopbackMode) {
+            LoopbackHarness harness = new LoopbackHarness(serverConfig);
+            harness.start();
+            return;
+        }
+        if (serverMode && serverConfig.getArenaCount() > 1) {
+            ArenaHost host = new ArenaHost(serverConfig);
+            host.start();
+            return;
+        }
+        if (serverMode) {
+            DedicatedServer server = new DedicatedServer(serverConfig);
+            server.start();
+            return;
+        }
+
         // Create and start game
         Game game = new Game(1280, 960);
         game.start();
@@ -59,6 +172,17 @@ public class Main {
         System.out.println("  --debug              Enable debug mode");
         System.out.println("  --frames <number>    Number of frames to run in debug mode");
         System.out.println("  --log-level <level>  Set log level (TRACE, DEBUG, INFO, WARN, ERROR)");
+        System.out.println("  --server             Run a headless dedicated server (no window or OpenGL)");
+        System.out.println("  --port <number>      UDP port the server replicates snapshots on (default 7777)");
+        System.out.println("  --loopback           Run a server and headless client in-process and report snapshot stats");
+        System.out.println("  --tick-rate <hz>     Server simulation ticks per second (default 60)");
+        System.out.println("  --ticks <number>     Stop the server after this many ticks");
+        System.out.println("  --food <number>      Number of food entities spawned by the server");
+        System.out.println("  --seed <number>      Random seed for the server world");
+        System.out.println("  --arenas <number>    Host this many independent arenas in one server, without replication");
+        System.out.println("  --workers <number>   Arena worker threads (default one per core)");
+        System.out.println("  --tick-budget <ms>   Arena tick time counted as over budget (default the tick period)");
+        System.out.println("  --profile <file>     Profile every server tick and write it to a .csv or .json file on stop");
         System.out.println("  --help               Show this help message");
     }
 } 
\ No newline at end of file
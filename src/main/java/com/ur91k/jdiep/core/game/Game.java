@@ -2,58 +2,70 @@ package com.ur91k.jdiep.core.game;
 
 import com.badlogic.ashley.core.Engine;
 import com.badlogic.ashley.core.Entity;
+import com.ur91k.jdiep.core.time.FixedTickScheduler;
+import com.ur91k.jdiep.core.time.Time;
 import com.ur91k.jdiep.core.window.Input;
 import com.ur91k.jdiep.core.window.Window;
 import com.ur91k.jdiep.debug.ImGuiDebugManager;
+import com.ur91k.jdiep.debug.TickProfiler;
+import com.ur91k.jdiep.ecs.components.debug.LabelComponent;
 import com.ur91k.jdiep.ecs.factories.CameraFactory;
-import com.ur91k.jdiep.ecs.factories.FoodFactory;
 import com.ur91k.jdiep.ecs.factories.TankFactory;
-import com.ur91k.jdiep.ecs.factories.WorldBoundsFactory;
 import com.ur91k.jdiep.ecs.systems.camera.CameraSystem;
-import com.ur91k.jdiep.ecs.systems.gameplay.FoodDriftSystem;
 import com.ur91k.jdiep.ecs.systems.physics.PhysicsPlayerControlSystem;
-import com.ur91k.jdiep.ecs.systems.physics.PhysicsDroneControlSystem;
-import com.ur91k.jdiep.ecs.systems.physics.PhysicsSystem;
-import com.ur91k.jdiep.ecs.systems.physics.TurretJointSystem;
+import com.ur91k.jdiep.ecs.systems.render.RenderSnapshotSystem;
+import com.ur91k.jdiep.ecs.systems.render.RenderStateBuffer;
 import com.ur91k.jdiep.ecs.systems.render.RenderingSystem;
+import com.ur91k.jdiep.graphics.config.RenderingConstants;
 import com.ur91k.jdiep.graphics.core.OpenGLRenderer;
 import com.ur91k.jdiep.graphics.core.Renderer;
 import org.joml.Vector2f;
 import org.lwjgl.glfw.GLFW;
 import org.tinylog.Logger;
 
-import static org.lwjgl.glfw.GLFW.glfwGetTime;
 import static org.lwjgl.opengl.GL11.*;
 
 import java.util.Random;
 
 /**
- * Main game class that handles initialization and the game loop
+ * Main game class that handles initialization and the game loop.
+ *
+ * The simulation runs on its own thread at a fixed tick rate and is the only thread touching
+ * the engine once started. Each tick ends by publishing a render snapshot; the main thread
+ * polls input and draws the latest snapshot at whatever rate the display allows.
  */
 public class Game {
+    private static final float TICK_RATE = 60.0f;  // Simulation ticks per second, frames interpolate in between
+    
     // Core components
     private final Window window;
     private final Input input;
     private final Engine ashley;
     private final Renderer renderer;
     private final ImGuiDebugManager debugManager;
+    private final RenderStateBuffer renderState = new RenderStateBuffer();
+    private final FixedTickScheduler scheduler = new FixedTickScheduler(TICK_RATE);
+    private Simulation simulation;
+    private Thread simulationThread;
+    private SystemGroup presentation;
     
     // Game entities
     private Entity playerTank;
     private Entity mainCamera;
     
     // Game state
-    private boolean running;
+    private volatile boolean running;
 
     public Game(int windowWidth, int windowHeight) {
         // Initialize core components
         this.window = new Window(windowWidth, windowHeight, "JDiep");
         this.input = new Input(window);  // Pass window to input
-        this.ashley = new Engine();
+        this.ashley = Simulation.createEngine();
         this.renderer = new OpenGLRenderer(windowWidth, windowHeight, input);
         this.window.setRenderer(renderer);  // Set renderer for resize handling
         this.debugManager = new ImGuiDebugManager();
         this.debugManager.init(window.getHandle());  // Initialize ImGui
+        this.debugManager.setRenderer(renderer);     // Show draw call stats
         
         // Initialize systems
         initializeSystems();
@@ -65,73 +77,47 @@ public class Game {
     }
 
     private void initializeSystems() {
-        // Create physics world
-        PhysicsSystem physicsSystem = new PhysicsSystem();
-        ashley.addSystem(physicsSystem);
-        
-        // Add systems in priority order
-        ashley.addSystem(new PhysicsPlayerControlSystem(input, debugManager));  // Player physics control
-        ashley.addSystem(new PhysicsDroneControlSystem());                      // Drone physics control
-        ashley.addSystem(new TurretJointSystem(physicsSystem.getWorld()));      // Turret joint control
-        ashley.addSystem(new FoodDriftSystem(physicsSystem.getWorld()));       // Food movement
-        ashley.addSystem(new CameraSystem(input));                             // Update camera
-        ashley.addSystem(new RenderingSystem(renderer, input));                // Render last
+        // Simulation systems, with player control running right after physics
+        simulation = new Simulation(ashley, debugManager,
+                new PhysicsPlayerControlSystem(input, debugManager));  // Player physics control
+        simulation.getSystems().add(new CameraSystem(input));                   // Update camera
+        simulation.getSystems().add(new RenderSnapshotSystem(renderState));     // Publish for rendering last
+        debugManager.setCallbackExecutor(simulation::post);                     // Debug tweaks run between ticks
+
+        // Presentation systems, run once per frame on their own engine so they never touch entities
+        presentation = new SystemGroup("Presentation", new Engine());
+        presentation.add(new RenderingSystem(renderer, input, renderState));
+        debugManager.setSystemGroups(simulation.getSystems(), presentation);    // Timings in the F6 window
+
+        // Per tick profile for the F7 window, created once every simulation system is added
+        TickProfiler profiler = new TickProfiler(simulation, TickProfiler.DEFAULT_CAPACITY);
+        simulation.setProfiler(profiler);
+        debugManager.setProfiler(profiler);
         
         Logger.info("Game systems initialized");
-        
-        /*
-         * TODO: Implement these physics-based systems:
-         * 
-         * 1. ProjectilePhysicsSystem
-         *    - Handle bullet lifetime and cleanup
-         *    - Manage bullet penetration physics
-         *    - Handle ricochet mechanics
-         *    - Apply damage on collision
-         * 
-         * 2. CollisionHandlingSystem
-         *    - Process collision events from PhysicsSystem
-         *    - Apply damage between entities
-         *    - Handle special collision cases (bullets, food, etc.)
-         *    - Manage collision filtering
-         * 
-         * 3. PhysicsDebugSystem
-         *    - Visualize physics bodies and joints
-         *    - Show force vectors and collision points
-         *    - Display joint motor stats
-         *    - Graph physics performance metrics
-         */
     }
 
     private void createInitialEntities() {
-        // Create factories with physics world
-        PhysicsSystem physicsSystem = ashley.getSystem(PhysicsSystem.class);
-        TankFactory tankFactory = new TankFactory(ashley, debugManager);
-        FoodFactory foodFactory = new FoodFactory(ashley);
         CameraFactory cameraFactory = new CameraFactory(ashley);
-        WorldBoundsFactory worldBoundsFactory = new WorldBoundsFactory(ashley);
 
         // Create world boundaries
-        worldBoundsFactory.createWorldBounds();
+        simulation.createWorldBounds();
         
         // Create player tank at world origin
+        TankFactory tankFactory = simulation.getTankFactory();
         Entity basicTank = tankFactory.createBasicTank(new Vector2f(0, 0));
         playerTank = tankFactory.makePlayerControlled(basicTank);
         
+        // Name under the player, in screen pixels from the tank's center
+        LabelComponent label = ashley.createComponent(LabelComponent.class);
+        label.init("Player", new Vector2f(-24, 40), RenderingConstants.LABEL_COLOR, 1.0f, false);
+        playerTank.add(label);
+        
         // // Create dummy tank for physics testing
         // tankFactory.createBasicTank(new Vector2f(10, 0));  // 100 units to the right of player
         
         // Create some test food
-        Random random = new Random();
-        for (int i = 0; i < 20; i++) {
-            float x = random.nextFloat() * 40 - 20;
-            float y = random.nextFloat() * 40 - 20;
-            foodFactory.createTinyFood(new Vector2f(x, y));
-        }
-        for (int i = 0; i < 5; i++) {
-            float x = random.nextFloat() * 40 - 20;
-            float y = random.nextFloat() * 40 - 20;
-            foodFactory.createSmallFood(new Vector2f(x, y));
-        }
+        simulation.spawnFood(new Random(), 20, 5, 20);
         
         // Create main camera following the player
         mainCamera = cameraFactory.createFollowCamera(playerTank, 0.1f);
@@ -146,43 +132,58 @@ public class Game {
         }
 
         running = true;
+        simulationThread = new Thread(this::simulationLoop, "simulation");
+        simulationThread.setDaemon(true);  // Never keeps the process alive after the window closes
+        simulationThread.start();
         gameLoop();
     }
 
+    private void simulationLoop() {
+        Logger.info("Starting simulation thread at {} ticks/s", TICK_RATE);
+        try {
+            scheduler.run((tick, deltaTime) -> {
+                input.poll();  // Input published by the main thread since the last tick
+                simulation.update(deltaTime);
+            }, 0);
+        } catch (RuntimeException e) {
+            Logger.error(e, "Simulation thread failed");
+            running = false;
+        }
+    }
+
     private void gameLoop() {
         Logger.info("Starting game loop");
 
-        double lastTime = glfwGetTime();
-        float accumulator = 0f;
-        float dt = 1.0f / 60.0f;
+        Time.init();
 
         while (running && !window.shouldClose()) {
-            double currentTime = glfwGetTime();
-            float frameTime = (float)(currentTime - lastTime);
-            lastTime = currentTime;
-
-            accumulator += frameTime;
+            Time.update();  // Frame time and FPS for the profiler window
+            float frameTime = (float) Time.getDeltaTime();
 
             // Process input
             window.pollEvents();
-            input.update();  // Update input state
-            
-            // Update game state with fixed timestep
-            while (accumulator >= dt) {
-                ashley.update(dt);
-                accumulator -= dt;
-            }
-
-            // Render
+            input.publish();  // Hand this frame's input to the simulation thread
+
+            // Render the latest snapshot, interpolated up to now; never waits for the simulation
             window.clear();
-            ashley.update(0); // Render pass
+            presentation.update(frameTime);
             debugManager.update();
             window.swapBuffers();
         }
 
+        stopSimulation();
         cleanup();
     }
 
+    private void stopSimulation() {
+        scheduler.stop();
+        try {
+            simulationThread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private void cleanup() {
         Logger.info("Cleaning up resources");
         debugManager.cleanup();
@@ -197,7 +198,11 @@ public class Game {
     // Getters for essential components
     public Window getWindow() { return window; }
     public Input getInput() { return input; }
-    public Engine getEngine() { return ashley; }
+    public Engine getEngine() { return ashley; }  // Owned by the simulation thread once started
+    public Simulation getSimulation() { return simulation; }
+    public SystemGroup getPresentation() { return presentation; }
+    public RenderStateBuffer getRenderState() { return renderState; }
+    public FixedTickScheduler getScheduler() { return scheduler; }
     public Entity getPlayerTank() { return playerTank; }
     public Entity getMainCamera() { return mainCamera; }
 } 
\ No newline at end of file
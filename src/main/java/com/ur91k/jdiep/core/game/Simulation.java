@@ -0,0 +1,161 @@
+package com.ur91k.jdiep.core.game;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.PooledEngine;
+import com.ur91k.jdiep.debug.ImGuiDebugManager;
+import com.ur91k.jdiep.debug.TickProfiler;
+import com.ur91k.jdiep.ecs.factories.FoodFactory;
+import com.ur91k.jdiep.ecs.factories.ProjectileFactory;
+import com.ur91k.jdiep.ecs.factories.TankFactory;
+import com.ur91k.jdiep.ecs.factories.WorldBoundsFactory;
+import com.ur91k.jdiep.ecs.systems.core.EntityIdSystem;
+import com.ur91k.jdiep.ecs.systems.gameplay.CollisionHandlingSystem;
+import com.ur91k.jdiep.ecs.systems.gameplay.FoodDriftSystem;
+import com.ur91k.jdiep.ecs.systems.gameplay.LifetimeSystem;
+import com.ur91k.jdiep.ecs.systems.physics.PhysicsDroneControlSystem;
+import com.ur91k.jdiep.ecs.systems.physics.PhysicsSystem;
+import com.ur91k.jdiep.ecs.systems.physics.TurretJointSystem;
+import com.ur91k.jdiep.ecs.systems.spatial.SpatialIndexSystem;
+import org.joml.Vector2f;
+import org.tinylog.Logger;
+
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The game world without any window, input or rendering dependencies.
+ * Used by the client, where presentation systems are added on top, and by the headless server.
+ */
+public class Simulation {
+    // Pools start small and may hold a full arena's worth of recycled entities and components
+    private static final int ENTITY_POOL_INITIAL_SIZE = 256;
+    private static final int ENTITY_POOL_MAX_SIZE = 16384;
+    private static final int COMPONENT_POOL_INITIAL_SIZE = 256;
+    private static final int COMPONENT_POOL_MAX_SIZE = 16384;
+
+    private final Engine engine;
+    private final SystemGroup systems;
+    private final PhysicsSystem physicsSystem;
+    private final FoodDriftSystem foodDriftSystem;
+    private final TankFactory tankFactory;
+    private final FoodFactory foodFactory;
+    private final ProjectileFactory projectileFactory;
+    private final WorldBoundsFactory worldBoundsFactory;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private TickProfiler profiler;
+
+    /**
+     * @param debugManager may be null when running headless
+     * @param controlSystems input driven systems, run right after physics
+     */
+    public Simulation(Engine engine, ImGuiDebugManager debugManager, EntitySystem... controlSystems) {
+        this.engine = engine;
+        this.systems = new SystemGroup("Simulation", engine);
+
+        // Entity ids first, other systems may index data by them. Listener only, so not in the group
+        engine.addSystem(new EntityIdSystem());
+
+        // Create physics world
+        physicsSystem = systems.add(new PhysicsSystem());
+        systems.add(new CollisionHandlingSystem());  // React to contacts from the last step
+        systems.add(new LifetimeSystem());           // Expire bullets and other timed entities
+        systems.add(new SpatialIndexSystem());       // Index transforms synced by physics
+
+        // Add systems in priority order
+        for (EntitySystem system : controlSystems) {
+            systems.add(system);
+        }
+        systems.add(new PhysicsDroneControlSystem());                           // Drone physics control
+        systems.add(new TurretJointSystem(physicsSystem.getWorld()));           // Turret joint control
+        foodDriftSystem = systems.add(new FoodDriftSystem(physicsSystem.getWorld()));  // Food movement
+
+        /*
+         * TODO: Implement these physics-based systems:
+         *
+         * 1. ProjectilePhysicsSystem
+         *    - Manage bullet penetration physics
+         *    - Handle ricochet mechanics
+         *
+         * 2. PhysicsDebugSystem
+         *    - Visualize physics bodies and joints
+         *    - Show force vectors and collision points
+         *    - Display joint motor stats
+         *    - Graph physics performance metrics
+         */
+
+        this.tankFactory = new TankFactory(engine, debugManager);
+        this.foodFactory = new FoodFactory(engine);
+        this.projectileFactory = new ProjectileFactory(engine, physicsSystem.getWorld());
+        this.worldBoundsFactory = new WorldBoundsFactory(engine);
+
+        Logger.info("Simulation systems initialized");
+    }
+
+    /**
+     * Creates the engine the simulation is meant to run on. Removed entities and their
+     * components go back to pools and are reset, so spawning does not allocate once warm.
+     */
+    public static PooledEngine createEngine() {
+        return new PooledEngine(ENTITY_POOL_INITIAL_SIZE, ENTITY_POOL_MAX_SIZE,
+            COMPONENT_POOL_INITIAL_SIZE, COMPONENT_POOL_MAX_SIZE);
+    }
+
+    public void createWorldBounds() {
+        worldBoundsFactory.createWorldBounds();
+    }
+
+    /**
+     * Scatters food uniformly in a square of the given half extent around the origin.
+     */
+    public void spawnFood(Random random, int tinyCount, int smallCount, float halfExtent) {
+        for (int i = 0; i < tinyCount; i++) {
+            float x = random.nextFloat() * halfExtent * 2 - halfExtent;
+            float y = random.nextFloat() * halfExtent * 2 - halfExtent;
+            foodFactory.createTinyFood(new Vector2f(x, y));
+        }
+        for (int i = 0; i < smallCount; i++) {
+            float x = random.nextFloat() * halfExtent * 2 - halfExtent;
+            float y = random.nextFloat() * halfExtent * 2 - halfExtent;
+            foodFactory.createSmallFood(new Vector2f(x, y));
+        }
+    }
+
+    /**
+     * Runs the tasks posted since the last tick, then one simulation tick.
+     */
+    public void update(float deltaTime) {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+        systems.update(deltaTime);
+        if (profiler != null) {
+            profiler.sample();
+        }
+    }
+
+    /**
+     * Queues a change to the world from another thread, run before the next tick on the simulation thread.
+     */
+    public void post(Runnable task) {
+        tasks.add(task);
+    }
+
+    /**
+     * Records every following tick into the profiler, or stops recording when null.
+     */
+    public void setProfiler(TickProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    public Engine getEngine() { return engine; }
+    public TickProfiler getProfiler() { return profiler; }
+    public SystemGroup getSystems() { return systems; }
+    public PhysicsSystem getPhysicsSystem() { return physicsSystem; }
+    public FoodDriftSystem getFoodDriftSystem() { return foodDriftSystem; }
+    public TankFactory getTankFactory() { return tankFactory; }
+    public FoodFactory getFoodFactory() { return foodFactory; }
+    public ProjectileFactory getProjectileFactory() { return projectileFactory; }
+}
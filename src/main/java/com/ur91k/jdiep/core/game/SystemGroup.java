@@ -0,0 +1,122 @@
+package com.ur91k.jdiep.core.game;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.gdx.utils.Array;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * An ordered set of engine systems that are updated together, such as the fixed rate
+ * simulation tick or the once per frame presentation pass, with the time each system took.
+ *
+ * Grouped systems stay registered with the engine but are not processed by engine.update();
+ * every system added to the engine directly should be a listener only, like EntityIdSystem.
+ * The group runs one engine update per system with only that system enabled, so Ashley still
+ * applies pending entity additions and removals between systems exactly as in a single update.
+ */
+public class SystemGroup {
+    private final String name;
+    private final Engine engine;
+    private final Array<EntitySystem> systems = new Array<>();
+
+    // Timing, by position in the group
+    private long[] lastNanos = new long[8];
+    private long[] totalNanos = new long[8];
+    private long lastGroupNanos;
+    private long updateCount;
+
+    // Bytes allocated by the updating thread, by position in the group, when tracking is on
+    private com.sun.management.ThreadMXBean threadBean;
+    private long[] lastBytes = new long[8];
+    private long lastGroupBytes;
+
+    public SystemGroup(String name, Engine engine) {
+        this.name = name;
+        this.engine = engine;
+    }
+
+    /**
+     * Adds the system to the engine and to the end of this group.
+     */
+    public <T extends EntitySystem> T add(T system) {
+        system.setProcessing(false);
+        engine.addSystem(system);
+        systems.add(system);
+        if (systems.size > lastNanos.length) {
+            lastNanos = Arrays.copyOf(lastNanos, lastNanos.length * 2);
+            totalNanos = Arrays.copyOf(totalNanos, totalNanos.length * 2);
+            lastBytes = Arrays.copyOf(lastBytes, lastBytes.length * 2);
+        }
+        return system;
+    }
+
+    public void update(float deltaTime) {
+        com.sun.management.ThreadMXBean bytes = threadBean;
+        long groupStart = System.nanoTime();
+        long groupStartBytes = bytes != null ? bytes.getCurrentThreadAllocatedBytes() : 0;
+        for (int i = 0; i < systems.size; i++) {
+            EntitySystem system = systems.get(i);
+            long startBytes = bytes != null ? bytes.getCurrentThreadAllocatedBytes() : 0;
+            long start = System.nanoTime();
+            system.setProcessing(true);
+            try {
+                engine.update(deltaTime);
+            } finally {
+                system.setProcessing(false);
+            }
+            long elapsed = System.nanoTime() - start;
+            lastNanos[i] = elapsed;
+            totalNanos[i] += elapsed;
+            if (bytes != null) {
+                lastBytes[i] = bytes.getCurrentThreadAllocatedBytes() - startBytes;
+            }
+        }
+        lastGroupNanos = System.nanoTime() - groupStart;
+        if (bytes != null) {
+            lastGroupBytes = bytes.getCurrentThreadAllocatedBytes() - groupStartBytes;
+        }
+        updateCount++;
+    }
+
+    /**
+     * Also records the bytes each system allocates per update, on JVMs that can count them.
+     * Off by default, reading the counter costs a little per system.
+     */
+    public void setAllocationTracking(boolean tracking) {
+        threadBean = null;
+        if (tracking && ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if (bean.isThreadAllocatedMemorySupported()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+                threadBean = bean;
+            }
+        }
+    }
+
+    /**
+     * Clears the accumulated times used by getAverageNanos().
+     */
+    public void resetTimings() {
+        Arrays.fill(totalNanos, 0);
+        updateCount = 0;
+    }
+
+    public String getName() { return name; }
+    public int size() { return systems.size; }
+    public EntitySystem getSystem(int index) { return systems.get(index); }
+    public long getLastNanos(int index) { return lastNanos[index]; }
+    public long getLastGroupNanos() { return lastGroupNanos; }
+    public boolean isAllocationTracking() { return threadBean != null; }
+    public long getLastBytes(int index) { return lastBytes[index]; }
+    public long getLastGroupBytes() { return lastGroupBytes; }
+    public long getUpdateCount() { return updateCount; }
+
+    /**
+     * Mean time per update of the system at the given position since the last resetTimings().
+     */
+    public double getAverageNanos(int index) {
+        return updateCount == 0 ? 0.0 : (double) totalNanos[index] / updateCount;
+    }
+}
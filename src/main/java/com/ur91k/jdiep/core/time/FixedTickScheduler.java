@@ -0,0 +1,104 @@
+package com.ur91k.jdiep.core.time;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a callback at a fixed tick rate using System.nanoTime, without any GLFW dependency.
+ * Late ticks are caught up to a limit; beyond that the schedule is reset so a long stall
+ * does not turn into a burst of ticks.
+ */
+public class FixedTickScheduler {
+    public interface TickListener {
+        void onTick(long tick, float deltaTime);
+    }
+
+    private static final int MAX_CATCH_UP_TICKS = 5;
+
+    private final long tickNanos;
+    private final float tickSeconds;
+    private volatile boolean running;
+    private volatile boolean stopRequested;  // Never cleared, so a stop() before run() is kept
+
+    // Tick statistics, reset by resetStats()
+    private long tickCount;
+    private long totalTickNanos;
+    private long maxTickNanos;
+    private long overrunCount;
+    private long droppedTicks;
+
+    public FixedTickScheduler(float tickRate) {
+        if (tickRate <= 0) throw new IllegalArgumentException("Tick rate must be positive");
+        this.tickNanos = (long) (1_000_000_000L / tickRate);
+        this.tickSeconds = 1.0f / tickRate;
+    }
+
+    /**
+     * Runs ticks on the calling thread until stop() is called or maxTicks ticks have run.
+     * A maxTicks of zero or less runs until stopped. Returns right away if stop() was already
+     * called, even before this; a stopped scheduler does not run again.
+     */
+    public void run(TickListener listener, long maxTicks) {
+        if (stopRequested) return;
+        running = true;
+        long tick = 0;
+        long nextTick = System.nanoTime();
+
+        while (!stopRequested && (maxTicks <= 0 || tick < maxTicks)) {
+            long now = System.nanoTime();
+            if (now < nextTick) {
+                LockSupport.parkNanos(nextTick - now);
+                continue;
+            }
+
+            int caughtUp = 0;
+            while (now >= nextTick && caughtUp < MAX_CATCH_UP_TICKS && !stopRequested
+                    && (maxTicks <= 0 || tick < maxTicks)) {
+                long start = System.nanoTime();
+                listener.onTick(tick++, tickSeconds);
+                long elapsed = System.nanoTime() - start;
+
+                tickCount++;
+                totalTickNanos += elapsed;
+                maxTickNanos = Math.max(maxTickNanos, elapsed);
+                if (elapsed > tickNanos) {
+                    overrunCount++;
+                }
+
+                nextTick += tickNanos;
+                caughtUp++;
+                now = System.nanoTime();
+            }
+
+            // Too far behind to catch up, skip the missed ticks
+            if (now - nextTick > tickNanos * MAX_CATCH_UP_TICKS) {
+                droppedTicks += (now - nextTick) / tickNanos;
+                nextTick = now + tickNanos;
+            }
+        }
+        running = false;
+    }
+
+    public void stop() {
+        stopRequested = true;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void resetStats() {
+        tickCount = 0;
+        totalTickNanos = 0;
+        maxTickNanos = 0;
+        overrunCount = 0;
+        droppedTicks = 0;
+    }
+
+    public float getTickSeconds() { return tickSeconds; }
+    public long getTickNanos() { return tickNanos; }
+    public long getTickCount() { return tickCount; }
+    public long getOverrunCount() { return overrunCount; }
+    public long getDroppedTicks() { return droppedTicks; }
+    public double getAverageTickMillis() { return tickCount == 0 ? 0 : totalTickNanos / (double) tickCount / 1_000_000.0; }
+    public double getMaxTickMillis() { return maxTickNanos / 1_000_000.0; }
+}
@@ -0,0 +1,53 @@
+package com.ur91k.jdiep.core.utils;
+
+/**
+ * Seeded 3D value noise: random values on an integer lattice, blended with a quintic
+ * fade so the field and its first derivative are continuous. Lattice values come from
+ * an integer hash rather than a table, so instances are immutable and safe to sample
+ * from several threads.
+ */
+public final class ValueNoise {
+    private final int seed;
+
+    public ValueNoise(long seed) {
+        this.seed = (int) (seed ^ (seed >>> 32));
+    }
+
+    /**
+     * Samples the field at the given point. Returns a value in [-1, 1].
+     */
+    public float sample(float x, float y, float z) {
+        int x0 = fastFloor(x);
+        int y0 = fastFloor(y);
+        int z0 = fastFloor(z);
+        float fx = fade(x - x0);
+        float fy = fade(y - y0);
+        float fz = fade(z - z0);
+
+        float c00 = lerp(lattice(x0, y0, z0), lattice(x0 + 1, y0, z0), fx);
+        float c10 = lerp(lattice(x0, y0 + 1, z0), lattice(x0 + 1, y0 + 1, z0), fx);
+        float c01 = lerp(lattice(x0, y0, z0 + 1), lattice(x0 + 1, y0, z0 + 1), fx);
+        float c11 = lerp(lattice(x0, y0 + 1, z0 + 1), lattice(x0 + 1, y0 + 1, z0 + 1), fx);
+        return lerp(lerp(c00, c10, fy), lerp(c01, c11, fy), fz);
+    }
+
+    private float lattice(int x, int y, int z) {
+        int h = seed + x * 374761393 + y * 668265263 + z * 1274126177;
+        h = (h ^ (h >>> 13)) * 1274126177;
+        h ^= h >>> 16;
+        return (h & 0xFFFFFF) * (2.0f / 0xFFFFFF) - 1.0f;
+    }
+
+    private static int fastFloor(float v) {
+        int i = (int) v;
+        return v < i ? i - 1 : i;
+    }
+
+    private static float fade(float t) {
+        return t * t * t * (t * (t * 6 - 15) + 10);
+    }
+
+    private static float lerp(float a, float b, float t) {
+        return a + (b - a) * t;
+    }
+}
@@ -13,9 +13,30 @@ import org.tinylog.Logger;
 
 import static org.lwjgl.glfw.GLFW.*;
 
+/**
+ * Keyboard, mouse and scroll state for the simulation.
+ *
+ * GLFW callbacks write live state on the main thread. Once per frame, after polling events,
+ * the main thread calls publish() to copy it into a pending snapshot; the simulation thread
+ * calls poll() at the start of each tick to take that snapshot. The key, button and scroll
+ * getters read only the polled state, so they belong to the simulation thread, and
+ * isKeyJustPressed() compares two consecutive ticks.
+ */
 public class Input {
     private final Window window;
     private final Vector2f mousePos = new Vector2f();
+
+    // Live state, written by the GLFW callbacks on the main thread
+    private final boolean[] liveKeys = new boolean[GLFW_KEY_LAST];
+    private final boolean[] liveMouseButtons = new boolean[GLFW_MOUSE_BUTTON_LAST];
+    private float liveScrollY;  // Accumulated since the last publish
+
+    // Published by the main thread, taken by the simulation thread; guarded by this
+    private final boolean[] pendingKeys = new boolean[GLFW_KEY_LAST];
+    private final boolean[] pendingMouseButtons = new boolean[GLFW_MOUSE_BUTTON_LAST];
+    private float pendingScrollY;
+
+    // Polled state of the current and previous tick, simulation thread only
     private final boolean[] keys = new boolean[GLFW_KEY_LAST];
     private final boolean[] prevKeys = new boolean[GLFW_KEY_LAST];
     private final boolean[] mouseButtons = new boolean[GLFW_MOUSE_BUTTON_LAST];
@@ -23,6 +44,10 @@ public class Input {
     private Matrix4f viewMatrix = new Matrix4f();
     private Matrix4f projectionMatrix = new Matrix4f();
     
+    // Scratch values for mouse unprojection
+    private final Matrix4f invViewProj = new Matrix4f();
+    private final Vector4f worldPos = new Vector4f();
+    
     public Input() {
         Logger.debug("Initializing input system");
         this.window = null;
@@ -42,25 +67,27 @@ public class Input {
         // Key callback
         glfwSetKeyCallback(windowHandle, (window, key, scancode, action, mods) -> {
             if (key >= 0 && key < GLFW_KEY_LAST) {
-                keys[key] = action != GLFW_RELEASE;
+                liveKeys[key] = action != GLFW_RELEASE;
             }
         });
         
         // Mouse button callback
         glfwSetMouseButtonCallback(windowHandle, (window, button, action, mods) -> {
             if (button >= 0 && button < GLFW_MOUSE_BUTTON_LAST) {
-                mouseButtons[button] = action != GLFW_RELEASE;
+                liveMouseButtons[button] = action != GLFW_RELEASE;
             }
         });
         
         // Cursor position callback
         glfwSetCursorPosCallback(windowHandle, (window, xpos, ypos) -> {
-            mousePos.set((float)xpos, (float)ypos);
+            synchronized (this) {
+                mousePos.set((float)xpos, (float)ypos);
+            }
         });
 
         // Scroll callback
         glfwSetScrollCallback(windowHandle, (window, xoffset, yoffset) -> {
-            scrollY = (float)yoffset;
+            liveScrollY += (float)yoffset;
         });
     }
     
@@ -72,12 +99,21 @@ public class Input {
         return button >= 0 && button < GLFW_MOUSE_BUTTON_LAST && mouseButtons[button];
     }
     
-    public Vector2f getMousePosition() {
+    public synchronized Vector2f getMousePosition() {
         return new Vector2f(mousePos);
     }
 
     public Vector2f getWorldMousePosition() {
-        if (window == null) return new Vector2f();
+        return getWorldMousePosition(new Vector2f());
+    }
+
+    /**
+     * Same as getWorldMousePosition(), writing into dest instead of allocating.
+     * Synchronized with the matrix setters, since the simulation thread aims with the mouse
+     * while the render thread moves the view.
+     */
+    public synchronized Vector2f getWorldMousePosition(Vector2f dest) {
+        if (window == null) return dest.zero();
         
         // Get raw mouse position in screen coordinates
         float screenX = mousePos.x;
@@ -91,23 +127,26 @@ public class Input {
         float zoom = viewMatrix.m00();  // Scale is in the diagonal elements
         
         // Get the inverse of the combined view-projection matrix
-        Matrix4f invViewProj = new Matrix4f(projectionMatrix).mul(viewMatrix).invert();
+        invViewProj.set(projectionMatrix).mul(viewMatrix).invert();
         
         // Transform NDC coordinates to world space
-        Vector4f worldPos = new Vector4f(ndcX, ndcY, 0, 1.0f).mul(invViewProj);
+        worldPos.set(ndcX, ndcY, 0, 1.0f).mul(invViewProj);
         
-        return new Vector2f(worldPos.x, worldPos.y);
+        return dest.set(worldPos.x, worldPos.y);
     }
 
+    /**
+     * Scroll published since the previous tick.
+     */
     public float getScrollY() {
         return scrollY;
     }
     
-    public void setViewMatrix(Matrix4f view) {
+    public synchronized void setViewMatrix(Matrix4f view) {
         this.viewMatrix.set(view);
     }
     
-    public void setProjectionMatrix(Matrix4f projection) {
+    public synchronized void setProjectionMatrix(Matrix4f projection) {
         this.projectionMatrix.set(projection);
     }
     
@@ -121,9 +160,26 @@ public class Input {
         glfwSetScrollCallback(windowHandle, null);
     }
 
-    public void update() {
-        // Store previous frame's key states
+    /**
+     * Hands the state gathered by the callbacks since the last call to the simulation.
+     * Main thread, once per frame after polling events.
+     */
+    public synchronized void publish() {
+        System.arraycopy(liveKeys, 0, pendingKeys, 0, GLFW_KEY_LAST);
+        System.arraycopy(liveMouseButtons, 0, pendingMouseButtons, 0, GLFW_MOUSE_BUTTON_LAST);
+        pendingScrollY += liveScrollY;  // Frames published between two ticks all count
+        liveScrollY = 0;
+    }
+
+    /**
+     * Takes the latest published state for this tick. Simulation thread, once per tick before any system reads input.
+     */
+    public synchronized void poll() {
         System.arraycopy(keys, 0, prevKeys, 0, GLFW_KEY_LAST);
+        System.arraycopy(pendingKeys, 0, keys, 0, GLFW_KEY_LAST);
+        System.arraycopy(pendingMouseButtons, 0, mouseButtons, 0, GLFW_MOUSE_BUTTON_LAST);
+        scrollY = pendingScrollY;
+        pendingScrollY = 0;
     }
     
     public boolean isKeyJustPressed(int key) {
@@ -0,0 +1,52 @@
+package com.ur91k.jdiep.debug;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-size ring of float samples for one debug graph. Get one from
+ * ImGuiDebugManager.registerGraph() once and keep it; adding a sample is an array store and
+ * an ordered counter write, with no boxing, lookup or lock.
+ *
+ * One thread writes, usually the simulation thread, and the UI thread reads without locking.
+ * A reader copying while the writer wraps around may see a newer value in place of an old
+ * one, which is harmless for a plot.
+ */
+public class GraphBuffer {
+    private final String name;
+    private final String plotId;  // Hidden ImGui id, built once
+    private final float[] values;
+    private final AtomicLong count = new AtomicLong();  // Samples ever written, publishes them to readers
+
+    GraphBuffer(String name, int capacity) {
+        this.name = name;
+        this.plotId = "##" + name;
+        this.values = new float[capacity];
+    }
+
+    /**
+     * Appends a sample, replacing the oldest once full. Single writer only.
+     */
+    public void add(float value) {
+        long written = count.get();
+        values[(int) (written % values.length)] = value;
+        count.lazySet(written + 1);
+    }
+
+    /**
+     * Copies the latest samples, oldest first, into dest. Returns how many were copied.
+     */
+    public int copyLatest(float[] dest) {
+        long end = count.get();
+        long start = Math.max(0, end - Math.min(values.length, dest.length));
+        int copied = (int) (end - start);
+        for (int i = 0; i < copied; i++) {
+            dest[i] = values[(int) ((start + i) % values.length)];
+        }
+        return copied;
+    }
+
+    public String getName() { return name; }
+    String getPlotId() { return plotId; }
+    public int getCapacity() { return values.length; }
+    public long getCount() { return count.get(); }
+}
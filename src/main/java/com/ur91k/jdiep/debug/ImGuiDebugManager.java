@@ -10,21 +10,55 @@ import imgui.flag.ImGuiCond;
 import imgui.type.ImFloat;
 import imgui.glfw.ImGuiImplGlfw;
 import imgui.gl3.ImGuiImplGl3;
+import imgui.ImDrawList;
+import com.ur91k.jdiep.core.game.SystemGroup;
+import com.ur91k.jdiep.core.time.Time;
+import com.ur91k.jdiep.graphics.core.RenderStats;
+import com.ur91k.jdiep.graphics.core.Renderer;
 import org.joml.Vector2f;
 import org.joml.Vector4f;
 import org.lwjgl.glfw.GLFW;
 
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 public class ImGuiDebugManager {
-    private final Map<String, List<Float>> graphs = new HashMap<>();
+    private final Map<String, GraphBuffer> graphs = new ConcurrentHashMap<>();  // Registered from any thread
     private final Map<String, String> labels = new HashMap<>();
     private final Map<String, Map<String, Object>> entityStates = new HashMap<>();
     private final int maxDataPoints = 100;
+    private final float[] plotScratch = new float[maxDataPoints];  // Shared, each plot copies in just before drawing
+
+    // Graphs shown in the movement and rendering windows
+    private final GraphBuffer velocityX = registerGraph("Velocity X");
+    private final GraphBuffer velocityY = registerGraph("Velocity Y");
+    private final GraphBuffer speed = registerGraph("Speed");
+    private final GraphBuffer accelerationX = registerGraph("Acceleration X");
+    private final GraphBuffer accelerationY = registerGraph("Acceleration Y");
+    private final GraphBuffer jerkX = registerGraph("Jerk X");
+    private final GraphBuffer jerkY = registerGraph("Jerk Y");
+    private final GraphBuffer drawCalls = registerGraph("Draw Calls");
+    private final GraphBuffer vertices = registerGraph("Vertices");
+    private final GraphBuffer culledEntities = registerGraph("Culled Entities");
+    private final GraphBuffer glCalls = registerGraph("GL Calls");
+    private final GraphBuffer streamedKilobytes = registerGraph("Streamed KB");
     private boolean showDebugWindow = false;
     private boolean showPerformanceWindow = false;
     private boolean showEntityDebugger = false;
     private boolean showTankPhysicsDebugger = false;
+    private boolean showRenderingWindow = false;
+    private boolean showSystemsWindow = false;
+    private boolean showProfilerWindow = false;
+    
+    // Renderer whose per-frame stats are shown in the rendering window
+    private Renderer renderer;
+    private SystemGroup[] systemGroups = new SystemGroup[0];
+    private TickProfiler profiler;
+    private final float[] profilerPlot = new float[240];  // Four seconds of ticks
+    private static final int PROFILER_AVERAGE_SAMPLES = 60;
+    private static final float FLAME_ROW_HEIGHT = 20.0f;
     
     // Tank physics debug state - using arrays for ImGui persistence
     private final float[] tankAcceleration = new float[] { 800.0f };
@@ -42,11 +76,36 @@ public class ImGuiDebugManager {
     }
     
     private TankPhysicsCallback tankPhysicsCallback;
+    private Executor callbackExecutor = Runnable::run;
     
     public void setTankPhysicsCallback(TankPhysicsCallback callback) {
         this.tankPhysicsCallback = callback;
     }
     
+    /**
+     * Where callbacks that change the simulation run, such as the simulation thread's task queue.
+     * By default they run right away on the thread drawing the debug windows.
+     */
+    public void setCallbackExecutor(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+    }
+    
+    public void setRenderer(Renderer renderer) {
+        this.renderer = renderer;
+    }
+    
+    public void setSystemGroups(SystemGroup... groups) {
+        this.systemGroups = groups;
+    }
+    
+    /**
+     * Shows the profiler in the F7 window. Exports run through the callback executor,
+     * so the file is written between ticks.
+     */
+    public void setProfiler(TickProfiler profiler) {
+        this.profiler = profiler;
+    }
+
     private final ImGuiImplGlfw imGuiGlfw = new ImGuiImplGlfw();
     private final ImGuiImplGl3 imGuiGl3 = new ImGuiImplGl3();
 
@@ -97,6 +156,28 @@ public class ImGuiDebugManager {
         if (ImGui.isKeyPressed(GLFW.GLFW_KEY_F4, false)) {  // false means no repeat
             showTankPhysicsDebugger = !showTankPhysicsDebugger;
         }
+        
+        if (ImGui.isKeyPressed(GLFW.GLFW_KEY_F5, false)) {
+            showRenderingWindow = !showRenderingWindow;
+        }
+        
+        if (ImGui.isKeyPressed(GLFW.GLFW_KEY_F6, false)) {
+            showSystemsWindow = !showSystemsWindow;
+        }
+        
+        if (ImGui.isKeyPressed(GLFW.GLFW_KEY_F7, false)) {
+            showProfilerWindow = !showProfilerWindow;
+        }
+        
+        // Record stats of the frame that was just drawn
+        if (renderer != null) {
+            RenderStats stats = renderer.getStats();
+            drawCalls.add(stats.getDrawCalls());
+            vertices.add(stats.getVertices());
+            culledEntities.add(stats.getCulledEntities());
+            glCalls.add(stats.getGlCalls());
+            streamedKilobytes.add(stats.getStreamedBytes() / 1024.0f);
+        }
 
         if (showDebugWindow) {
             renderDebugWindows();
@@ -114,44 +195,21 @@ public class ImGuiDebugManager {
             
             // Group velocity graphs
             if (ImGui.collapsingHeader("Velocity", ImGuiTreeNodeFlags.DefaultOpen)) {
-                float[] velX = getGraphValues("Velocity X");
-                float[] velY = getGraphValues("Velocity Y");
-                float[] speed = getGraphValues("Speed");
-                
-                // Initialize empty arrays if null
-                if (velX == null) velX = new float[1];
-                if (velY == null) velY = new float[1];
-                if (speed == null) speed = new float[1];
-                
-                ImGui.plotLines("##Velocity X", velX, velX.length, 0, "Velocity X", -1000, 70, 300, 80);
-                ImGui.plotLines("##Velocity Y", velY, velY.length, 0, "Velocity Y", -1000, 70, 300, 80);
-                ImGui.plotLines("##Speed", speed, speed.length, 0, "Speed", 0, 70, 300, 80);
+                plotGraph(velocityX, -1000, 70);
+                plotGraph(velocityY, -1000, 70);
+                plotGraph(speed, 0, 70);
             }
             
             // Group acceleration graphs
             if (ImGui.collapsingHeader("Acceleration", ImGuiTreeNodeFlags.DefaultOpen)) {
-                float[] accX = getGraphValues("Acceleration X");
-                float[] accY = getGraphValues("Acceleration Y");
-                
-                // Initialize empty arrays if null
-                if (accX == null) accX = new float[1];
-                if (accY == null) accY = new float[1];
-                
-                ImGui.plotLines("##Acceleration X", accX, accX.length, 0, "Acceleration X", -5000, 5000, 300, 80);
-                ImGui.plotLines("##Acceleration Y", accY, accY.length, 0, "Acceleration Y", -5000, 5000, 300, 80);
+                plotGraph(accelerationX, -5000, 5000);
+                plotGraph(accelerationY, -5000, 5000);
             }
             
             // Group jerk graphs
             if (ImGui.collapsingHeader("Jerk", ImGuiTreeNodeFlags.DefaultOpen)) {
-                float[] jerkX = getGraphValues("Jerk X");
-                float[] jerkY = getGraphValues("Jerk Y");
-                
-                // Initialize empty arrays if null
-                if (jerkX == null) jerkX = new float[1];
-                if (jerkY == null) jerkY = new float[1];
-                
-                ImGui.plotLines("##Jerk X", jerkX, jerkX.length, 0, "Jerk X", -10000, 10000, 300, 80);
-                ImGui.plotLines("##Jerk Y", jerkY, jerkY.length, 0, "Jerk Y", -10000, 10000, 300, 80);
+                plotGraph(jerkX, -10000, 10000);
+                plotGraph(jerkY, -10000, 10000);
             }
             
             ImGui.end();
@@ -188,36 +246,191 @@ public class ImGuiDebugManager {
             changed |= ImGui.sliderFloat("Velocity Friction", tankVelocityFriction, 0.8f, 1.0f);
             
             if (changed && tankPhysicsCallback != null) {
-                tankPhysicsCallback.onTankPhysicsUpdate(
-                    tankAcceleration[0], tankFriction[0],
-                    tankLinearDamping[0], tankAngularDamping[0], tankDensity[0],
-                    tankRestitution[0], tankVelocityFriction[0]
-                );
+                TankPhysicsCallback callback = tankPhysicsCallback;
+                float acceleration = tankAcceleration[0], friction = tankFriction[0];
+                float linearDamping = tankLinearDamping[0], angularDamping = tankAngularDamping[0];
+                float density = tankDensity[0], restitution = tankRestitution[0];
+                float velocityFriction = tankVelocityFriction[0];
+                callbackExecutor.execute(() -> callback.onTankPhysicsUpdate(
+                    acceleration, friction, linearDamping, angularDamping, density,
+                    restitution, velocityFriction
+                ));
             }
             
             ImGui.end();
         }
-    }
-    
-    private float[] getGraphValues(String id) {
-        List<Float> data = graphs.get(id);
-        if (data == null || data.isEmpty()) return null;
         
-        float[] values = new float[data.size()];
-        for (int i = 0; i < data.size(); i++) {
-            values[i] = data.get(i);
+        // Rendering Stats Window
+        if (showRenderingWindow && renderer != null) {
+            ImGui.begin("Rendering", ImGuiWindowFlags.AlwaysAutoResize);
+            
+            RenderStats stats = renderer.getStats();
+            ImGui.text("Draw calls: " + stats.getDrawCalls() + "  GL calls: " + stats.getGlCalls());
+            ImGui.text("Vertices: " + stats.getVertices());
+            ImGui.text("Instances: " + stats.getInstances());
+            ImGui.text("Entities drawn: " + stats.getDrawnEntities() + "  culled: " + stats.getCulledEntities());
+            ImGui.text(String.format("Streamed: %.2f MB/frame", stats.getStreamedBytes() / (1024.0 * 1024.0)));
+            
+            boolean batching = renderer.isBatching();
+            if (ImGui.checkbox("Batched shapes", batching)) {
+                renderer.setBatching(!batching);
+            }
+            
+            plotGraph(drawCalls, 0, Float.MAX_VALUE);
+            plotGraph(vertices, 0, Float.MAX_VALUE);
+            plotGraph(culledEntities, 0, Float.MAX_VALUE);
+            plotGraph(glCalls, 0, Float.MAX_VALUE);
+            plotGraph(streamedKilobytes, 0, Float.MAX_VALUE);
+            
+            ImGui.end();
+        }
+        
+        // System Timings Window
+        if (showSystemsWindow && systemGroups.length > 0) {
+            ImGui.begin("Systems", ImGuiWindowFlags.AlwaysAutoResize);
+            
+            for (SystemGroup group : systemGroups) {
+                ImGui.text(String.format("%s: %.3f ms", group.getName(), group.getLastGroupNanos() / 1_000_000.0));
+                for (int i = 0; i < group.size(); i++) {
+                    ImGui.text(String.format("  %-28s %7.3f ms  avg %7.3f ms",
+                        group.getSystem(i).getClass().getSimpleName(),
+                        group.getLastNanos(i) / 1_000_000.0,
+                        group.getAverageNanos(i) / 1_000_000.0));
+                }
+            }
+            if (ImGui.button("Reset averages")) {
+                for (SystemGroup group : systemGroups) {
+                    group.resetTimings();
+                }
+            }
+            
+            ImGui.end();
+        }
+
+        // Tick Profiler Window
+        if (showProfilerWindow && profiler != null) {
+            renderProfilerWindow();
+        }
+    }
+
+    private void renderProfilerWindow() {
+        ImGui.setNextWindowSize(520, 420, ImGuiCond.FirstUseEver);
+        ImGui.begin("Profiler", ImGuiWindowFlags.None);
+
+        ImGui.text(String.format("Frame: %d FPS, %.2f ms", Time.getFPS(), Time.getDeltaTime() * 1000.0));
+        if (renderer != null) {
+            RenderStats stats = renderer.getStats();
+            ImGui.text(String.format("GL calls: %d (%d draws), streamed %.2f MB", stats.getGlCalls(), stats.getDrawCalls(),
+                stats.getStreamedBytes() / (1024.0 * 1024.0)));
+        }
+        ImGui.text(String.format("Tick %d: %.3f ms, %.1f KB  (avg %.3f ms, %.1f KB)",
+            profiler.getSampleCount(),
+            latest(TickProfiler.TICK_NANOS) / 1_000_000.0,
+            latest(TickProfiler.TICK_BYTES) / 1024.0,
+            profiler.getAverage(TickProfiler.TICK_NANOS, PROFILER_AVERAGE_SAMPLES) / 1_000_000.0,
+            profiler.getAverage(TickProfiler.TICK_BYTES, PROFILER_AVERAGE_SAMPLES) / 1024.0));
+
+        int count = profiler.copyLatest(TickProfiler.TICK_NANOS, profilerPlot, 1.0f / 1_000_000.0f);
+        ImGui.plotLines("##Tick ms", profilerPlot, count, 0, "Tick ms", 0, Float.MAX_VALUE,
+            ImGui.getContentRegionAvailX(), 60);
+
+        if (ImGui.collapsingHeader("Breakdown", ImGuiTreeNodeFlags.DefaultOpen)) {
+            renderFlameGraph();
+        }
+
+        if (ImGui.collapsingHeader("Counts", ImGuiTreeNodeFlags.DefaultOpen)) {
+            for (int i = 0; i < profiler.getFamilyCount(); i++) {
+                ImGui.text(String.format("%-10s %d", profiler.getFamilyName(i), latest(profiler.getFamilyColumn(i))));
+            }
+            ImGui.text(String.format("Box2D: %d bodies, %d contacts, %d joints",
+                latest(TickProfiler.BODIES), latest(TickProfiler.CONTACTS), latest(TickProfiler.JOINTS)));
+        }
+
+        TickProfiler exported = profiler;
+        if (ImGui.button("Export CSV")) {
+            String file = "profile-" + System.currentTimeMillis() + ".csv";
+            callbackExecutor.execute(() -> ProfileExporter.export(exported, Paths.get(file)));
+        }
+        ImGui.sameLine();
+        if (ImGui.button("Export JSON")) {
+            String file = "profile-" + System.currentTimeMillis() + ".json";
+            callbackExecutor.execute(() -> ProfileExporter.export(exported, Paths.get(file)));
+        }
+
+        ImGui.end();
+    }
+
+    /**
+     * Draws the averaged tick as nested bars: the whole tick on top, each system below it
+     * sized by its share, and the Box2D step below the physics system.
+     */
+    private void renderFlameGraph() {
+        double tickNanos = profiler.getAverage(TickProfiler.TICK_NANOS, PROFILER_AVERAGE_SAMPLES);
+        if (tickNanos <= 0) {
+            ImGui.text("No ticks recorded yet");
+            return;
+        }
+
+        ImDrawList drawList = ImGui.getWindowDrawList();
+        float left = ImGui.getCursorScreenPosX();
+        float top = ImGui.getCursorScreenPosY();
+        float width = ImGui.getContentRegionAvailX();
+
+        drawFlameBar(drawList, left, top, width, "Tick", tickNanos,
+            profiler.getAverage(TickProfiler.TICK_BYTES, PROFILER_AVERAGE_SAMPLES), tickNanos, 0);
+
+        float x = left;
+        for (int i = 0; i < profiler.getSystemCount(); i++) {
+            double nanos = profiler.getAverage(profiler.getSystemNanosColumn(i), PROFILER_AVERAGE_SAMPLES);
+            double bytes = profiler.getAverage(profiler.getSystemBytesColumn(i), PROFILER_AVERAGE_SAMPLES);
+            float barWidth = (float) (width * nanos / tickNanos);
+            drawFlameBar(drawList, x, top + FLAME_ROW_HEIGHT, barWidth, profiler.getSystemName(i), nanos, bytes, tickNanos, i + 1);
+
+            if (i == profiler.getPhysicsSystemIndex()) {
+                double stepNanos = profiler.getAverage(TickProfiler.STEP_NANOS, PROFILER_AVERAGE_SAMPLES);
+                drawFlameBar(drawList, x, top + FLAME_ROW_HEIGHT * 2, (float) (width * stepNanos / tickNanos),
+                    "World.step", stepNanos, -1, tickNanos, i + 1);
+            }
+            x += barWidth;
         }
-        return values;
+
+        ImGui.dummy(width, FLAME_ROW_HEIGHT * 3);
     }
 
-    public void addGraphValue(String id, float value) {
-        graphs.computeIfAbsent(id, k -> new ArrayList<>()).add(value);
-        List<Float> data = graphs.get(id);
-        if (data.size() > maxDataPoints) {
-            data.remove(0);
+    private void drawFlameBar(ImDrawList drawList, float x, float y, float width, String name,
+                              double nanos, double bytes, double tickNanos, int colorIndex) {
+        if (width < 1.0f) return;
+        float hue = (colorIndex * 0.13f) % 1.0f;  // Neighbours get distinct warm colors
+        int color = ImGui.colorConvertFloat4ToU32(0.85f, 0.35f + hue * 0.5f, 0.2f + hue * 0.2f, 1.0f);
+        drawList.addRectFilled(x, y, x + width - 1, y + FLAME_ROW_HEIGHT - 1, color);
+        if (width > ImGui.calcTextSize(name).x + 6) {
+            drawList.addText(x + 3, y + 3, ImGui.colorConvertFloat4ToU32(0, 0, 0, 1), name);
+        }
+        if (ImGui.isMouseHoveringRect(x, y, x + width, y + FLAME_ROW_HEIGHT)) {
+            String allocation = bytes < 0 ? "" : String.format(", %.1f KB", bytes / 1024.0);
+            ImGui.setTooltip(String.format("%s: %.3f ms (%.1f%%)%s",
+                name, nanos / 1_000_000.0, nanos * 100.0 / tickNanos, allocation));
         }
     }
 
+    private long latest(int column) {
+        long count = profiler.getSampleCount();
+        return count == 0 ? 0 : profiler.getValue(count - 1, column);
+    }
+    
+    private void plotGraph(GraphBuffer graph, float min, float max) {
+        int count = graph.copyLatest(plotScratch);
+        ImGui.plotLines(graph.getPlotId(), plotScratch, count, 0, graph.getName(), min, max, 300, 80);
+    }
+
+    /**
+     * The graph with this id, created on first use. Register once, outside the hot path,
+     * and keep the buffer; each graph takes samples from one thread only.
+     */
+    public GraphBuffer registerGraph(String id) {
+        return graphs.computeIfAbsent(id, k -> new GraphBuffer(k, maxDataPoints));
+    }
+
     public void setLabel(String id, String text) {
         labels.put(id, text);
     }
@@ -0,0 +1,92 @@
+package com.ur91k.jdiep.debug;
+
+import org.tinylog.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes the samples a TickProfiler still holds to a file, oldest first: JSON when the file
+ * name ends in .json, CSV otherwise. Call it on the thread that samples, or after it stopped,
+ * so no row changes while it is written.
+ */
+public final class ProfileExporter {
+    private ProfileExporter() {
+    }
+
+    /**
+     * Writes the profile and returns the number of samples written, logging instead of throwing on I/O errors.
+     */
+    public static long export(TickProfiler profiler, Path path) {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            long samples;
+            try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                if (path.getFileName().toString().toLowerCase().endsWith(".json")) {
+                    samples = writeJson(profiler, out);
+                } else {
+                    samples = writeCsv(profiler, out);
+                }
+            }
+            Logger.info("Wrote {} profiler samples to {}", samples, path.toAbsolutePath());
+            return samples;
+        } catch (IOException e) {
+            Logger.error(e, "Failed to write profile to {}", path);
+            return 0;
+        }
+    }
+
+    private static long writeCsv(TickProfiler profiler, BufferedWriter out) throws IOException {
+        int columns = profiler.getColumnCount();
+        for (int c = 0; c < columns; c++) {
+            if (c > 0) out.write(',');
+            out.write(profiler.getColumnName(c));
+        }
+        out.newLine();
+
+        long end = profiler.getSampleCount();
+        for (long s = profiler.getFirstSample(); s < end; s++) {
+            for (int c = 0; c < columns; c++) {
+                if (c > 0) out.write(',');
+                out.write(Long.toString(profiler.getValue(s, c)));
+            }
+            out.newLine();
+        }
+        return end - profiler.getFirstSample();
+    }
+
+    private static long writeJson(TickProfiler profiler, BufferedWriter out) throws IOException {
+        // Column names are class names and fixed identifiers, nothing that needs escaping
+        int columns = profiler.getColumnCount();
+        out.write("{\"columns\":[");
+        for (int c = 0; c < columns; c++) {
+            if (c > 0) out.write(',');
+            out.write('"');
+            out.write(profiler.getColumnName(c));
+            out.write('"');
+        }
+        out.write("],\"samples\":[");
+        out.newLine();
+
+        long start = profiler.getFirstSample();
+        long end = profiler.getSampleCount();
+        for (long s = start; s < end; s++) {
+            out.write('[');
+            for (int c = 0; c < columns; c++) {
+                if (c > 0) out.write(',');
+                out.write(Long.toString(profiler.getValue(s, c)));
+            }
+            out.write(s + 1 < end ? "]," : "]");
+            out.newLine();
+        }
+        out.write("]}");
+        out.newLine();
+        return end - start;
+    }
+}
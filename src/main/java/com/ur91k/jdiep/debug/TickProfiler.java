@@ -0,0 +1,175 @@
+package com.ur91k.jdiep.debug;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.ur91k.jdiep.core.game.Simulation;
+import com.ur91k.jdiep.core.game.SystemGroup;
+import com.ur91k.jdiep.ecs.components.gameplay.DroneComponent;
+import com.ur91k.jdiep.ecs.components.gameplay.FoodComponent;
+import com.ur91k.jdiep.ecs.components.gameplay.ProjectileComponent;
+import com.ur91k.jdiep.ecs.components.gameplay.TankBodyComponent;
+import com.ur91k.jdiep.ecs.systems.physics.PhysicsSystem;
+import org.jbox2d.dynamics.World;
+
+/**
+ * Records one row per simulation tick into a fixed-size ring of longs: time and allocation of
+ * every system in the simulation group, the Box2D step, body, contact and joint counts, and
+ * entity counts of a few families. Nothing is allocated per tick once created.
+ *
+ * Rows are written by the simulation thread in sample(). Other threads may read the latest
+ * rows without locking, for the debug panel; a reader falling a whole buffer behind could see
+ * a row being rewritten, so readers only look at the last few seconds. Create the profiler
+ * after every system has been added to the group, the columns are fixed at construction.
+ */
+public class TickProfiler {
+    public static final int DEFAULT_CAPACITY = 3600;  // One minute at 60 Hz
+
+    // Fixed columns, followed by per system nanos, per system bytes and per family counts
+    public static final int TICK = 0;
+    public static final int TIME_NANOS = 1;
+    public static final int TICK_NANOS = 2;
+    public static final int TICK_BYTES = 3;
+    public static final int STEP_NANOS = 4;
+    public static final int BODIES = 5;
+    public static final int CONTACTS = 6;
+    public static final int JOINTS = 7;
+    private static final String[] FIXED_COLUMN_NAMES = {
+        "tick", "timeNanos", "tickNanos", "tickBytes", "box2dStepNanos", "bodies", "contacts", "joints"
+    };
+
+    private final SystemGroup systems;
+    private final PhysicsSystem physicsSystem;
+    private final World world;
+    private final int systemCount;
+    private final int physicsIndex;
+    private final String[] familyNames = { "entities", "food", "bullets", "tanks", "drones" };
+    private final ImmutableArray<?>[] families;
+    private final String[] columnNames;
+    private final int columns;
+    private final int capacity;
+    private final long[] data;
+    private final long startNanos = System.nanoTime();
+    private volatile long sampleCount;
+
+    public TickProfiler(Simulation simulation, int capacity) {
+        this.systems = simulation.getSystems();
+        this.physicsSystem = simulation.getPhysicsSystem();
+        this.world = physicsSystem.getWorld();
+        this.systemCount = systems.size();
+        this.capacity = capacity;
+        systems.setAllocationTracking(true);
+
+        int physics = -1;
+        for (int i = 0; i < systemCount; i++) {
+            if (systems.getSystem(i) == physicsSystem) {
+                physics = i;
+            }
+        }
+        this.physicsIndex = physics;
+
+        Engine engine = simulation.getEngine();
+        families = new ImmutableArray<?>[] {
+            engine.getEntitiesFor(Family.all().get()),
+            engine.getEntitiesFor(Family.all(FoodComponent.class).get()),
+            engine.getEntitiesFor(Family.all(ProjectileComponent.class).get()),
+            engine.getEntitiesFor(Family.all(TankBodyComponent.class).get()),
+            engine.getEntitiesFor(Family.all(DroneComponent.class).get())
+        };
+
+        columns = FIXED_COLUMN_NAMES.length + systemCount * 2 + families.length;
+        columnNames = new String[columns];
+        System.arraycopy(FIXED_COLUMN_NAMES, 0, columnNames, 0, FIXED_COLUMN_NAMES.length);
+        for (int i = 0; i < systemCount; i++) {
+            columnNames[getSystemNanosColumn(i)] = getSystemName(i) + ".nanos";
+            columnNames[getSystemBytesColumn(i)] = getSystemName(i) + ".bytes";
+        }
+        for (int i = 0; i < families.length; i++) {
+            columnNames[getFamilyColumn(i)] = "count." + familyNames[i];
+        }
+        data = new long[capacity * columns];
+    }
+
+    /**
+     * Records the tick that just ran. Simulation thread only.
+     */
+    public void sample() {
+        long sample = sampleCount;
+        int base = (int) (sample % capacity) * columns;
+        data[base + TICK] = sample;
+        data[base + TIME_NANOS] = System.nanoTime() - startNanos;
+        data[base + TICK_NANOS] = systems.getLastGroupNanos();
+        data[base + TICK_BYTES] = systems.getLastGroupBytes();
+        data[base + STEP_NANOS] = physicsSystem.getLastStepNanos();
+        data[base + BODIES] = world.getBodyCount();
+        data[base + CONTACTS] = world.getContactCount();
+        data[base + JOINTS] = world.getJointCount();
+        for (int i = 0; i < systemCount; i++) {
+            data[base + getSystemNanosColumn(i)] = systems.getLastNanos(i);
+            data[base + getSystemBytesColumn(i)] = systems.getLastBytes(i);
+        }
+        for (int i = 0; i < families.length; i++) {
+            data[base + getFamilyColumn(i)] = families[i].size();
+        }
+        sampleCount = sample + 1;  // Publishes the row
+    }
+
+    /**
+     * Value of a column in the given sample, which must be one of the last getCapacity() samples.
+     */
+    public long getValue(long sample, int column) {
+        return data[(int) (sample % capacity) * columns + column];
+    }
+
+    /**
+     * Mean of a column over the latest samples, at most as many as are retained.
+     */
+    public double getAverage(int column, int samples) {
+        long end = sampleCount;
+        long start = Math.max(getFirstSample(end), end - samples);
+        if (end <= start) return 0;
+        long total = 0;
+        for (long s = start; s < end; s++) {
+            total += getValue(s, column);
+        }
+        return total / (double) (end - start);
+    }
+
+    /**
+     * Copies the latest values of a column, oldest first and multiplied by scale, into dest.
+     * Returns how many were copied.
+     */
+    public int copyLatest(int column, float[] dest, float scale) {
+        long end = sampleCount;
+        long start = Math.max(getFirstSample(end), end - dest.length);
+        int count = (int) (end - start);
+        for (int i = 0; i < count; i++) {
+            dest[i] = getValue(start + i, column) * scale;
+        }
+        return count;
+    }
+
+    private long getFirstSample(long end) {
+        return Math.max(0, end - capacity);
+    }
+
+    /**
+     * Oldest sample still in the buffer.
+     */
+    public long getFirstSample() {
+        return getFirstSample(sampleCount);
+    }
+
+    public long getSampleCount() { return sampleCount; }
+    public int getCapacity() { return capacity; }
+    public int getColumnCount() { return columns; }
+    public String getColumnName(int column) { return columnNames[column]; }
+    public int getSystemCount() { return systemCount; }
+    public String getSystemName(int index) { return systems.getSystem(index).getClass().getSimpleName(); }
+    public int getSystemNanosColumn(int index) { return FIXED_COLUMN_NAMES.length + index; }
+    public int getSystemBytesColumn(int index) { return FIXED_COLUMN_NAMES.length + systemCount + index; }
+    public int getPhysicsSystemIndex() { return physicsIndex; }
+    public int getFamilyCount() { return families.length; }
+    public String getFamilyName(int index) { return familyNames[index]; }
+    public int getFamilyColumn(int index) { return FIXED_COLUMN_NAMES.length + systemCount * 2 + index; }
+}
@@ -2,9 +2,10 @@ package com.ur91k.jdiep.ecs.components.camera;
 
 import com.badlogic.ashley.core.Component;
 import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.utils.Pool.Poolable;
 import org.joml.Vector2f;
 
-public class CameraComponent implements Component {
+public class CameraComponent implements Component, Poolable {
     private Entity target;  // Entity to follow (optional)
     private float lerpFactor;  // Smoothing factor for camera movement
     private float zoom;
@@ -45,6 +46,11 @@ public class CameraComponent implements Component {
         this.damping = 8.0f;
     }
     
+    @Override
+    public void reset() {
+        init();
+    }
+    
     // Target entity methods
     public Entity getTarget() { return target; }
     public void setTarget(Entity target) { this.target = target; }
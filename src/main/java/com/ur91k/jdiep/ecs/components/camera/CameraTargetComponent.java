@@ -5,10 +5,16 @@ import com.badlogic.ashley.core.Engine;
 import com.badlogic.ashley.core.Entity;
 import com.badlogic.ashley.core.Family;
 import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.utils.Pool.Poolable;
 
-public class CameraTargetComponent implements Component {
+public class CameraTargetComponent implements Component, Poolable {
     // Marker component - no data needed
     
+    @Override
+    public void reset() {
+        // No state
+    }
+    
     /**
      * Helper method to ensure only one entity has this component
      */
@@ -23,6 +29,6 @@ public class CameraTargetComponent implements Component {
         }
         
         // Add component to new target
-        targetEntity.add(new CameraTargetComponent());
+        targetEntity.add(engine.createComponent(CameraTargetComponent.class));
     }
 } 
\ No newline at end of file
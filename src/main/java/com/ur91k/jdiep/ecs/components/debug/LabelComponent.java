@@ -1,11 +1,12 @@
 package com.ur91k.jdiep.ecs.components.debug;
 
 import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool.Poolable;
 import org.joml.Vector2f;
 import org.joml.Vector4f;
 import java.util.function.Supplier;
 
-public class LabelComponent implements Component {
+public class LabelComponent implements Component, Poolable {
     private String text;
     private Vector2f offset;
     private Vector4f color;
@@ -41,6 +42,11 @@ public class LabelComponent implements Component {
         this.textSupplier = null;
     }
     
+    @Override
+    public void reset() {
+        init("");
+    }
+    
     public String getText() {
         return textSupplier != null ? textSupplier.get() : text;
     }
@@ -52,6 +58,10 @@ public class LabelComponent implements Component {
     public boolean isScreenSpace() { return screenSpace; }
     public boolean isDynamic() { return textSupplier != null; }
     
+    // Same as the getters above, writing into dest instead of allocating
+    public Vector2f getOffset(Vector2f dest) { return dest.set(offset); }
+    public Vector4f getColor(Vector4f dest) { return dest.set(color); }
+    
     // Setters with method chaining for convenience
     public LabelComponent setText(String text) {
         this.text = text;
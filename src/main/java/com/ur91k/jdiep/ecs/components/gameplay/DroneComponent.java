@@ -2,8 +2,9 @@ package com.ur91k.jdiep.ecs.components.gameplay;
 
 import com.badlogic.ashley.core.Component;
 import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.utils.Pool.Poolable;
 
-public class DroneComponent implements Component {
+public class DroneComponent implements Component, Poolable {
     private Entity owner;
     private float orbitRadius = 100.0f;  // Distance to maintain from owner
     private float orbitSpeed = 2.0f;     // Radians per second
@@ -18,6 +19,14 @@ public class DroneComponent implements Component {
         this.currentAngle = (float)(Math.random() * Math.PI * 2);  // Random start angle
     }
     
+    @Override
+    public void reset() {
+        this.owner = null;
+        this.orbitRadius = 100.0f;
+        this.orbitSpeed = 2.0f;
+        this.currentAngle = 0.0f;
+    }
+    
     public Entity getOwner() {
         return owner;
     }
@@ -1,18 +1,20 @@
 package com.ur91k.jdiep.ecs.components.gameplay;
 
 import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool.Poolable;
 import org.joml.Vector2f;
 
 /**
  * Component that handles drone physics-based movement and behavior
  */
-public class DroneControllerComponent implements Component {
+public class DroneControllerComponent implements Component, Poolable {
     private Vector2f targetPosition;  // Position the drone is trying to reach
     private float targetAngle;       // Desired rotation angle (radians)
     private float maxForce;          // Maximum force that can be applied (Newtons)
     private float maxTorque;         // Maximum torque that can be applied (N⋅m)
     private float orbitRadius;       // Distance to maintain from target when orbiting
     private float orbitSpeed;        // Angular velocity for orbit movement (radians/sec)
+    private float targetRange;       // How far from the owner the drone looks for targets
     
     public DroneControllerComponent() {
         this.targetPosition = new Vector2f();
@@ -21,6 +23,18 @@ public class DroneControllerComponent implements Component {
         this.maxTorque = 200.0f;     // Default max torque
         this.orbitRadius = 50.0f;    // Default orbit radius
         this.orbitSpeed = 2.0f;      // Default orbit speed (radians/sec)
+        this.targetRange = 200.0f;   // Default target range
+    }
+    
+    @Override
+    public void reset() {
+        this.targetPosition.zero();
+        this.targetAngle = 0.0f;
+        this.maxForce = 400.0f;
+        this.maxTorque = 200.0f;
+        this.orbitRadius = 50.0f;
+        this.orbitSpeed = 2.0f;
+        this.targetRange = 200.0f;
     }
     
     public Vector2f getTargetPosition() {
@@ -31,6 +45,10 @@ public class DroneControllerComponent implements Component {
         this.targetPosition.set(position);
     }
     
+    public void setTargetPosition(float x, float y) {
+        this.targetPosition.set(x, y);
+    }
+    
     public float getTargetAngle() {
         return targetAngle;
     }
@@ -79,4 +97,15 @@ public class DroneControllerComponent implements Component {
     public void setOrbitSpeed(float speed) {
         this.orbitSpeed = speed;
     }
+    
+    public float getTargetRange() {
+        return targetRange;
+    }
+    
+    public void setTargetRange(float range) {
+        if (range < 0) {
+            throw new IllegalArgumentException("Target range cannot be negative");
+        }
+        this.targetRange = range;
+    }
 } 
\ No newline at end of file
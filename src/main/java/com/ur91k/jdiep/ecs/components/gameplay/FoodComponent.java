@@ -1,8 +1,9 @@
 package com.ur91k.jdiep.ecs.components.gameplay;
 
 import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool.Poolable;
 
-public class FoodComponent implements Component {
+public class FoodComponent implements Component, Poolable {
     private int experienceValue;
     private FoodType type;
     
@@ -17,6 +18,12 @@ public class FoodComponent implements Component {
         this.type = type;
     }
     
+    @Override
+    public void reset() {
+        this.experienceValue = 0;
+        this.type = FoodType.TINY;
+    }
+    
     public int getExperienceValue() {
         return experienceValue;
     }
@@ -1,8 +1,9 @@
 package com.ur91k.jdiep.ecs.components.gameplay;
 
 import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool.Poolable;
 
-public class HealthComponent implements Component {
+public class HealthComponent implements Component, Poolable {
     private float health;
     private float maxHealth;
     private float regenRate;  // Health regenerated per second
@@ -38,6 +39,11 @@ public class HealthComponent implements Component {
         this.isDead = false;
     }
     
+    @Override
+    public void reset() {
+        init(100.0f);
+    }
+    
     public void damage(float amount, float currentTime) {
         if (amount <= 0 || isDead) return;
         
@@ -73,6 +79,10 @@ public class HealthComponent implements Component {
     public float getRegenDelay() { return regenDelay; }
     
     // Setters
+    public void setHealth(float health) {
+        this.health = Math.max(0, Math.min(health, maxHealth));
+        this.isDead = this.health <= 0;
+    }
     public void setRegenRate(float rate) { this.regenRate = rate; }
     public void setRegenDelay(float delay) { this.regenDelay = delay; }
 } 
\ No newline at end of file
@@ -1,8 +1,9 @@
 package com.ur91k.jdiep.ecs.components.gameplay;
 
 import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool.Poolable;
 
-public class LifetimeComponent implements Component {
+public class LifetimeComponent implements Component, Poolable {
     private float lifetime;      // Total lifetime in seconds
     private float timeRemaining; // Time remaining in seconds
     private boolean isPaused;    // Whether lifetime countdown is paused
@@ -34,6 +35,11 @@ public class LifetimeComponent implements Component {
         this.onExpire = onExpire;
     }
     
+    @Override
+    public void reset() {
+        init(1.0f);
+    }
+    
     public void update(float deltaTime) {
         if (isExpired || isPaused) return;
         
@@ -48,7 +54,10 @@ public class LifetimeComponent implements Component {
         }
     }
     
-    public void reset() {
+    /**
+     * Starts the countdown over with the same lifetime
+     */
+    public void restart() {
         timeRemaining = lifetime;
         isExpired = false;
     }
@@ -1,8 +1,9 @@
 package com.ur91k.jdiep.ecs.components.gameplay;
 
 import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool.Poolable;
 
-public class PlayerComponent implements Component {
+public class PlayerComponent implements Component, Poolable {
     private String playerId;  // Unique network ID
     private boolean isLocalPlayer;
     private String playerName;
@@ -20,6 +21,13 @@ public class PlayerComponent implements Component {
         this.playerName = playerName;
     }
     
+    @Override
+    public void reset() {
+        this.playerId = "";
+        this.isLocalPlayer = false;
+        this.playerName = "";
+    }
+    
     public String getPlayerId() { return playerId; }
     public boolean isLocalPlayer() { return isLocalPlayer; }
     public String getPlayerName() { return playerName; }
@@ -1,7 +1,13 @@
 package com.ur91k.jdiep.ecs.components.gameplay;
 
 import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool.Poolable;
 
-public class PlayerControlledComponent implements Component {
+public class PlayerControlledComponent implements Component, Poolable {
     // Marker component - no data needed
+    
+    @Override
+    public void reset() {
+        // No state
+    }
 } 
\ No newline at end of file
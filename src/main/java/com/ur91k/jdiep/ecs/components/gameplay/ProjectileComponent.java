@@ -2,8 +2,9 @@ package com.ur91k.jdiep.ecs.components.gameplay;
 
 import com.badlogic.ashley.core.Component;
 import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.utils.Pool.Poolable;
 
-public class ProjectileComponent implements Component {
+public class ProjectileComponent implements Component, Poolable {
     private float damage;
     private Entity owner;  // Entity that fired this projectile
     private boolean piercing;  // Whether projectile continues after hitting
@@ -38,6 +39,11 @@ public class ProjectileComponent implements Component {
         this.blastRadius = 0.0f;
     }
     
+    @Override
+    public void reset() {
+        init(10.0f);
+    }
+    
     public void makePiercing(int pierceCount) {
         this.piercing = true;
         this.pierceCount = pierceCount;
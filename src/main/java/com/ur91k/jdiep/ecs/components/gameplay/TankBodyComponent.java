@@ -1,25 +1,39 @@
 package com.ur91k.jdiep.ecs.components.gameplay;
 
 import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool.Poolable;
 import com.ur91k.jdiep.game.config.TankScaling;
 import com.ur91k.jdiep.game.weapons.PhaseConfig;
 
-public class TankBodyComponent implements Component {
+public class TankBodyComponent implements Component, Poolable {
+    private static final PhaseConfig DEFAULT_PHASE_CONFIG = new PhaseConfig(1, 1.0f);
+    
     private float mass;
     private float rotation;  // in radians
     private PhaseConfig phaseConfig;
+    private int experience;
     
     public TankBodyComponent() {
         // Default constructor for Ashley's pooling
         this.mass = 0.0f;
         this.rotation = 0.0f;
-        this.phaseConfig = new PhaseConfig(1, 1.0f);
+        this.phaseConfig = DEFAULT_PHASE_CONFIG;
+        this.experience = 0;
     }
     
     public void init(float mass, int phaseCount, float reloadTime) {
         this.mass = mass;
         this.rotation = 0.0f;
         this.phaseConfig = new PhaseConfig(phaseCount, reloadTime);
+        this.experience = 0;
+    }
+    
+    @Override
+    public void reset() {
+        this.mass = 0.0f;
+        this.rotation = 0.0f;
+        this.phaseConfig = DEFAULT_PHASE_CONFIG;
+        this.experience = 0;
     }
     
     public float getMass() {
@@ -52,4 +66,12 @@ public class TankBodyComponent implements Component {
     public PhaseConfig getPhaseConfig() {
         return phaseConfig;
     }
+    
+    public int getExperience() {
+        return experience;
+    }
+    
+    public void addExperience(int amount) {
+        this.experience += amount;
+    }
 } 
\ No newline at end of file
@@ -1,12 +1,13 @@
 package com.ur91k.jdiep.ecs.components.gameplay;
 
 import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool.Poolable;
 import org.joml.Vector2f;
 
 /**
  * Component that handles tank control input state, for use with physics-based movement
  */
-public class TankControllerComponent implements Component {
+public class TankControllerComponent implements Component, Poolable {
     private Vector2f moveForce;      // Current movement force direction
     private float targetAngle;       // Target angle for tank body (radians)
     private boolean isShooting;      // Shooting state
@@ -21,6 +22,15 @@ public class TankControllerComponent implements Component {
         this.maxTorque = 500.0f;     // Default max torque
     }
     
+    @Override
+    public void reset() {
+        this.moveForce.zero();
+        this.targetAngle = 0.0f;
+        this.isShooting = false;
+        this.maxForce = 1000.0f;
+        this.maxTorque = 500.0f;
+    }
+    
     public Vector2f getMoveForce() {
         return new Vector2f(moveForce);
     }
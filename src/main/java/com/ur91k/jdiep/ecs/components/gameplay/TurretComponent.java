@@ -2,13 +2,14 @@ package com.ur91k.jdiep.ecs.components.gameplay;
 
 import com.badlogic.ashley.core.Component;
 import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.utils.Pool.Poolable;
 
 /**
  * Component that represents a turret's gameplay properties.
  * The turret itself is an entity with its own physics body, and this component
  * holds the gameplay-related data and tank relationship.
  */
-public class TurretComponent implements Component {
+public class TurretComponent implements Component, Poolable {
     private Entity tankBody;       // Reference to the parent tank entity
     private float width;          // Turret width in meters
     private float length;         // Turret length in meters
@@ -36,6 +37,11 @@ public class TurretComponent implements Component {
         this.lastShotTime = 0.0f;
     }
     
+    @Override
+    public void reset() {
+        init(null, 1.0f, 2.0f, 1.0f, 100.0f, 1);
+    }
+    
     public Entity getTankBody() {
         return tankBody;
     }
@@ -2,8 +2,9 @@ package com.ur91k.jdiep.ecs.components.network;
 
 import org.joml.Vector2f;
 import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool.Poolable;
 
-public class NetworkTransformComponent implements Component {
+public class NetworkTransformComponent implements Component, Poolable {
     private Vector2f lastReceivedPosition;
     private Vector2f targetPosition;
     private float lastUpdateTime;
@@ -23,6 +24,14 @@ public class NetworkTransformComponent implements Component {
         this.interpolationTime = 0.1f;
     }
     
+    @Override
+    public void reset() {
+        this.lastReceivedPosition.zero();
+        this.targetPosition.zero();
+        this.lastUpdateTime = 0.0f;
+        this.interpolationTime = 0.1f;
+    }
+    
     public void setNetworkPosition(Vector2f position, float timestamp) {
         this.lastReceivedPosition.set(this.targetPosition);
         this.targetPosition.set(position);
@@ -48,4 +57,14 @@ public class NetworkTransformComponent implements Component {
         
         return new Vector2f(lastReceivedPosition).lerp(targetPosition, t);
     }
+    
+    /**
+     * Same as getInterpolatedPosition(float), writing into dest instead of allocating
+     */
+    public Vector2f getInterpolatedPosition(float currentTime, Vector2f dest) {
+        float timeSinceUpdate = currentTime - lastUpdateTime;
+        float t = Math.min(timeSinceUpdate / interpolationTime, 1.0f);
+        
+        return lastReceivedPosition.lerp(targetPosition, t, dest);
+    }
 } 
\ No newline at end of file
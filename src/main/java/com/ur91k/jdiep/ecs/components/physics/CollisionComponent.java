@@ -2,6 +2,7 @@ package com.ur91k.jdiep.ecs.components.physics;
 
 import com.badlogic.ashley.core.Component;
 import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.utils.Pool.Poolable;
 import org.jbox2d.collision.shapes.CircleShape;
 import org.jbox2d.collision.shapes.PolygonShape;
 import org.jbox2d.collision.shapes.Shape;
@@ -13,7 +14,7 @@ import org.jbox2d.dynamics.FixtureDef;
 import org.jbox2d.dynamics.World;
 import org.joml.Vector2f;
 
-public class CollisionComponent implements Component {
+public class CollisionComponent implements Component, Poolable {
     private Entity entity;
     private Body body;
     private Shape shape;
@@ -26,6 +27,8 @@ public class CollisionComponent implements Component {
     private float angularDamping = 0.0f;
     private BodyType bodyType = BodyType.DYNAMIC;
     private boolean isBullet = false;
+    private boolean awakeAtLastSync = true;  // Lets the transform sync run once more after the body falls asleep
+    private boolean pooled = false;          // Body is handed back, deactivated, when the entity leaves the engine
     
     public CollisionComponent() {
         // Default constructor for Ashley's pooling
@@ -36,7 +39,8 @@ public class CollisionComponent implements Component {
         this.categoryBits = categoryBits;
         this.maskBits = maskBits;
         
-        CircleShape circleShape = new CircleShape();
+        // Fixtures copy their shape, so the previous one can be reused
+        CircleShape circleShape = shape instanceof CircleShape ? (CircleShape) shape : new CircleShape();
         circleShape.setRadius(radius);
         this.shape = circleShape;
     }
@@ -46,7 +50,7 @@ public class CollisionComponent implements Component {
         this.categoryBits = categoryBits;
         this.maskBits = maskBits;
         
-        PolygonShape polygonShape = new PolygonShape();
+        PolygonShape polygonShape = shape instanceof PolygonShape ? (PolygonShape) shape : new PolygonShape();
         Vec2[] jboxVertices = new Vec2[vertices.length];
         for (int i = 0; i < vertices.length; i++) {
             jboxVertices[i] = new Vec2(vertices[i].x, vertices[i].y);
@@ -89,6 +93,46 @@ public class CollisionComponent implements Component {
         }
     }
     
+    /**
+     * Uses an existing body, typically a pooled one, instead of creating a new one.
+     * The body keeps its fixture, so it must match this component's shape and filter.
+     */
+    public void attachBody(Body body) {
+        this.body = body;
+        body.setUserData(this);
+    }
+    
+    /**
+     * Lets go of the body without destroying it and returns it.
+     */
+    public Body detachBody() {
+        Body detached = body;
+        body = null;
+        return detached;
+    }
+    
+    /**
+     * Drops the body reference without touching the world; PhysicsSystem has already
+     * destroyed or deactivated the body by the time a removed entity is reset.
+     * The shape is kept for reuse by the next init.
+     */
+    @Override
+    public void reset() {
+        this.entity = null;
+        this.body = null;
+        this.categoryBits = 0;
+        this.maskBits = 0;
+        this.density = 1.0f;
+        this.friction = 0.3f;
+        this.restitution = 0.5f;
+        this.linearDamping = 0.0f;
+        this.angularDamping = 0.0f;
+        this.bodyType = BodyType.DYNAMIC;
+        this.isBullet = false;
+        this.awakeAtLastSync = true;
+        this.pooled = false;
+    }
+    
     // Getters
     public Entity getEntity() { return entity; }
     public Body getBody() { return body; }
@@ -103,4 +147,20 @@ public class CollisionComponent implements Component {
     public void setAngularDamping(float damping) { this.angularDamping = damping; }
     public void setBodyType(BodyType type) { this.bodyType = type; }
     public void setBullet(boolean bullet) { this.isBullet = bullet; }
-} 
\ No newline at end of file
+
+    public boolean isAwakeAtLastSync() {
+        return awakeAtLastSync;
+    }
+    
+    public void setAwakeAtLastSync(boolean awake) {
+        this.awakeAtLastSync = awake;
+    }
+    
+    public boolean isPooled() {
+        return pooled;
+    }
+    
+    public void setPooled(boolean pooled) {
+        this.pooled = pooled;
+    }
+}
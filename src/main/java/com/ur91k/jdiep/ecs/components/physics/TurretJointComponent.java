@@ -1,6 +1,7 @@
 package com.ur91k.jdiep.ecs.components.physics;
 
 import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool.Poolable;
 import org.jbox2d.dynamics.joints.RevoluteJoint;
 import org.joml.Vector2f;
 
@@ -8,7 +9,7 @@ import org.joml.Vector2f;
  * Component that manages the physics joint between a turret and its tank.
  * This component handles the Box2D revolute joint configuration and motor control.
  */
-public class TurretJointComponent implements Component {
+public class TurretJointComponent implements Component, Poolable {
     private RevoluteJoint joint;              // Box2D joint reference
     private Vector2f mountPoint;              // Local point where turret attaches to tank
     private float mountAngleOffset;           // Angular offset from tank's forward direction
@@ -42,6 +43,23 @@ public class TurretJointComponent implements Component {
         this.isMotorEnabled = true;
     }
     
+    /**
+     * Drops the joint reference only. The joint belongs to the Box2D world and is
+     * destroyed with the turret or tank body.
+     */
+    @Override
+    public void reset() {
+        this.joint = null;
+        this.mountPoint.zero();
+        this.mountAngleOffset = 0.0f;
+        this.motorSpeed = 2.0f;
+        this.maxMotorTorque = 1000.0f;
+        this.lowerAngleLimit = -(float)Math.PI;
+        this.upperAngleLimit = (float)Math.PI;
+        this.targetAngle = 0.0f;
+        this.isMotorEnabled = true;
+    }
+    
     public RevoluteJoint getJoint() {
         return joint;
     }
@@ -1,9 +1,10 @@
 package com.ur91k.jdiep.ecs.components.rendering;
 
 import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool.Poolable;
 import org.joml.Vector4f;
 
-public class ColorComponent implements Component {
+public class ColorComponent implements Component, Poolable {
     private Vector4f fillColor;
     private Vector4f outlineColor;
     private float outlineWidth;
@@ -23,6 +24,14 @@ public class ColorComponent implements Component {
         this.outlineWidth = 0.0f;
     }
 
+    @Override
+    public void reset() {
+        this.fillColor.set(1, 1, 1, 1);
+        this.outlineColor.set(0, 0, 0, 1);
+        this.outlineWidth = 0.0f;
+        this.hasOutline = false;
+    }
+
     public void setOutline(Vector4f outlineColor, float width) {
         this.outlineColor.set(outlineColor);
         this.outlineWidth = width;
@@ -42,6 +51,15 @@ public class ColorComponent implements Component {
         return new Vector4f(outlineColor);
     }
 
+    // Same as the getters above, writing into dest instead of allocating
+    public Vector4f getFillColor(Vector4f dest) {
+        return dest.set(fillColor);
+    }
+
+    public Vector4f getOutlineColor(Vector4f dest) {
+        return dest.set(outlineColor);
+    }
+
     public float getOutlineWidth() {
         return outlineWidth;
     }
@@ -1,9 +1,11 @@
 package com.ur91k.jdiep.ecs.components.rendering;
 
 import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool.Poolable;
+import com.ur91k.jdiep.graphics.core.PolygonShapes;
 import org.joml.Vector2f;
 
-public class ShapeComponent implements Component {
+public class ShapeComponent implements Component, Poolable {
     public enum ShapeType {
         CIRCLE,
         RECTANGLE,
@@ -14,6 +16,8 @@ public class ShapeComponent implements Component {
     private float width;   // For rectangles, or diameter for circles
     private float height;  // For rectangles only
     private Vector2f[] vertices;  // For polygons
+    private float boundingRadius; // Distance from the origin to the farthest point
+    private int polygonShape;     // PolygonShapes id for polygons, -1 otherwise
 
     public ShapeComponent() {
         // Default constructor for Ashley's pooling
@@ -21,6 +25,8 @@ public class ShapeComponent implements Component {
         this.width = 1.0f;
         this.height = 1.0f;
         this.vertices = null;
+        this.boundingRadius = 0.5f;
+        this.polygonShape = -1;
     }
 
     // Initialize as circle
@@ -29,6 +35,8 @@ public class ShapeComponent implements Component {
         this.width = radius * 2;  // Store diameter
         this.height = radius * 2;
         this.vertices = null;
+        this.boundingRadius = radius;
+        this.polygonShape = -1;
     }
 
     // Initialize as rectangle with centered origin
@@ -37,6 +45,8 @@ public class ShapeComponent implements Component {
         this.width = width;
         this.height = height;
         this.vertices = null;
+        this.boundingRadius = (float)Math.sqrt(width * width + height * height) / 2;
+        this.polygonShape = -1;
     }
 
     // Initialize as rectangle with custom origin point (x, y relative to dimensions)
@@ -51,6 +61,8 @@ public class ShapeComponent implements Component {
             new Vector2f(origin.x + width, origin.y + height),
             new Vector2f(origin.x, origin.y + height)
         };
+        this.boundingRadius = maxVertexDistance(this.vertices);
+        this.polygonShape = -1;
     }
 
     // Initialize as polygon
@@ -68,6 +80,26 @@ public class ShapeComponent implements Component {
         }
         this.width = maxX - minX;
         this.height = maxY - minY;
+        this.boundingRadius = maxVertexDistance(vertices);
+        this.polygonShape = PolygonShapes.register(vertices);  // Resolved once, renderers draw by id
+    }
+
+    @Override
+    public void reset() {
+        this.type = ShapeType.CIRCLE;
+        this.width = 1.0f;
+        this.height = 1.0f;
+        this.vertices = null;
+        this.boundingRadius = 0.5f;
+        this.polygonShape = -1;
+    }
+
+    private static float maxVertexDistance(Vector2f[] vertices) {
+        float max = 0;
+        for (Vector2f v : vertices) {
+            max = Math.max(max, v.length());
+        }
+        return max;
     }
 
     public ShapeType getType() {
@@ -89,6 +121,13 @@ public class ShapeComponent implements Component {
         return width / 2;
     }
 
+    /**
+     * Radius of a circle around the shape origin that contains the whole shape, used for culling and spatial queries
+     */
+    public float getBoundingRadius() {
+        return boundingRadius;
+    }
+
     public Vector2f[] getVertices() {
         if (type != ShapeType.POLYGON || vertices == null) {
             throw new IllegalStateException("Cannot get vertices of non-polygon shape");
@@ -96,6 +135,24 @@ public class ShapeComponent implements Component {
         return vertices.clone();  // Return copy to prevent external modification
     }
 
+    public int getVertexCount() {
+        return type == ShapeType.POLYGON && vertices != null ? vertices.length : 0;
+    }
+
+    /**
+     * One polygon vertex, without copying the vertex array like getVertices()
+     */
+    public Vector2f getVertex(int index, Vector2f dest) {
+        return dest.set(vertices[index]);
+    }
+
+    /**
+     * PolygonShapes id of a polygon's vertices, or -1 for other shapes
+     */
+    public int getPolygonShape() {
+        return polygonShape;
+    }
+
     public Vector2f getDimensions() {
         return new Vector2f(width, height);
     }
@@ -1,12 +1,14 @@
 package com.ur91k.jdiep.ecs.components.transform;
 
 import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool.Poolable;
 import org.joml.Vector2f;
 
-public class TransformComponent implements Component {
+public class TransformComponent implements Component, Poolable {
     private Vector2f position;
     private Vector2f scale;
     private float rotation;
+    private int version;  // Bumped whenever position, rotation or scale changes
 
     public TransformComponent() {
         this.position = new Vector2f();
@@ -29,12 +31,30 @@ public class TransformComponent implements Component {
         this.rotation = rotation;
     }
 
+    @Override
+    public void reset() {
+        this.position.zero();
+        this.scale.set(1.0f, 1.0f);
+        this.rotation = 0.0f;
+        version++;  // Keeps counting, so caches keyed by version never match the previous owner
+    }
+
+    /**
+     * Returns the live position vector. Call markChanged() after modifying it in place.
+     */
     public Vector2f getPosition() {
         return position;
     }
 
     public void setPosition(Vector2f position) {
-        this.position.set(position);
+        setPosition(position.x, position.y);
+    }
+
+    public void setPosition(float x, float y) {
+        if (position.x != x || position.y != y) {
+            position.set(x, y);
+            version++;
+        }
     }
 
     public Vector2f getScale() {
@@ -42,7 +62,10 @@ public class TransformComponent implements Component {
     }
 
     public void setScale(Vector2f scale) {
-        this.scale.set(scale);
+        if (!this.scale.equals(scale)) {
+            this.scale.set(scale);
+            version++;
+        }
     }
 
     public float getRotation() {
@@ -50,6 +73,21 @@ public class TransformComponent implements Component {
     }
 
     public void setRotation(float rotation) {
-        this.rotation = rotation;
+        if (this.rotation != rotation) {
+            this.rotation = rotation;
+            version++;
+        }
+    }
+
+    /**
+     * Change counter for systems that cache per-entity work, such as spatial indexing or
+     * snapshot encoding. Compare with the value seen last time; equal means nothing moved.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public void markChanged() {
+        version++;
     }
 } 
\ No newline at end of file
@@ -2,46 +2,76 @@ package com.ur91k.jdiep.ecs.factories;
 
 import com.badlogic.ashley.core.Engine;
 import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.gdx.utils.Array;
+import com.ur91k.jdiep.ecs.components.gameplay.LifetimeComponent;
 import com.ur91k.jdiep.ecs.components.gameplay.ProjectileComponent;
 import com.ur91k.jdiep.ecs.components.physics.CollisionComponent;
 import com.ur91k.jdiep.ecs.components.physics.CollisionFilters;
 import com.ur91k.jdiep.ecs.components.rendering.ColorComponent;
 import com.ur91k.jdiep.ecs.components.rendering.ShapeComponent;
 import com.ur91k.jdiep.ecs.components.transform.TransformComponent;
+import com.ur91k.jdiep.game.config.GameUnits;
 import com.ur91k.jdiep.graphics.config.RenderingConstants;
 import com.ur91k.jdiep.graphics.core.RenderLayer;
 import org.jbox2d.common.Vec2;
+import org.jbox2d.dynamics.Body;
 import org.jbox2d.dynamics.BodyType;
+import org.jbox2d.dynamics.World;
 import org.joml.Vector2f;
-import org.tinylog.Logger;
 
-public class ProjectileFactory {
+/**
+ * Creates bullets and recycles their Box2D bodies. When a bullet leaves the engine, whether
+ * it expired, hit something or was removed by anyone else, its body is deactivated and kept
+ * on a free list, so steady fire does not build bodies and fixtures. Entities and components
+ * come from the engine and are recycled too when it is a PooledEngine.
+ */
+public class ProjectileFactory implements EntityListener {
     private static final float BULLET_SPEED_MULTIPLIER = 20.0f; // Adjust for desired bullet speed
+    private static final float BULLET_RADIUS = GameUnits.Bullet.RADIUS;
+    public static final float BULLET_LIFETIME = 2.0f;           // Seconds before an unused bullet despawns
+    private static final int MAX_POOLED_BODIES = 4096;
+
     private final Engine engine;
-    
-    public ProjectileFactory(Engine engine) {
+    private final World world;
+    private final Array<Body> freeBodies = new Array<>(false, 256);
+    private boolean pooling = true;
+    private final Vec2 scratch = new Vec2();
+
+    // Statistics
+    private long createdCount;
+    private long reusedCount;
+
+    public ProjectileFactory(Engine engine, World world) {
         this.engine = engine;
+        this.world = world;
+        engine.addEntityListener(Family.all(ProjectileComponent.class, CollisionComponent.class).get(), this);
     }
-    
+
     public Entity createBullet(Vector2f position, Vector2f direction, float speed, float damage, Entity owner) {
         Entity bullet = engine.createEntity();
-        
+        float rotation = (float) Math.atan2(direction.y, direction.x);
+
         // Add transform
         TransformComponent transform = engine.createComponent(TransformComponent.class);
         transform.setPosition(position);
-        // Set rotation to match direction
-        transform.setRotation((float) Math.atan2(direction.y, direction.x));
+        transform.setRotation(rotation);  // Match direction
         bullet.add(transform);
-        
+
         // Add projectile component
         ProjectileComponent projectile = engine.createComponent(ProjectileComponent.class);
         projectile.init(damage, owner);
         bullet.add(projectile);
-        
-        // Add collision (small circle for bullets)
+
+        // Add lifetime, counted down by LifetimeSystem
+        LifetimeComponent lifetime = engine.createComponent(LifetimeComponent.class);
+        lifetime.init(BULLET_LIFETIME);
+        bullet.add(lifetime);
+
+        // Add collision (small circle for bullets), on a recycled body when one is free
         CollisionComponent collision = engine.createComponent(CollisionComponent.class);
-        float radius = 5.0f;  // Small bullet size
-        collision.init(bullet, radius, CollisionFilters.CATEGORY_BULLET, CollisionFilters.MASK_BULLET);
+        collision.init(bullet, BULLET_RADIUS, CollisionFilters.CATEGORY_BULLET, CollisionFilters.MASK_BULLET);
         collision.setBodyType(BodyType.DYNAMIC);
         collision.setDensity(0.1f);  // Very light
         collision.setFriction(0.0f);  // No friction
@@ -49,39 +79,77 @@ public class ProjectileFactory {
         collision.setLinearDamping(0.0f);  // No drag
         collision.setAngularDamping(0.0f);  // No rotation drag
         collision.setBullet(true);  // Enable continuous collision detection
+        collision.setPooled(pooling);
+        if (freeBodies.size > 0) {
+            collision.attachBody(freeBodies.pop());
+            reusedCount++;
+        } else {
+            collision.createBody(world, position, rotation);
+            collision.getBody().setFixedRotation(true);  // Disable rotation
+            createdCount++;
+        }
         bullet.add(collision);
-        
+
+        // Place the body and give it its velocity before it joins the world
+        Body body = collision.getBody();
+        scratch.set(position.x, position.y);
+        body.setTransform(scratch, rotation);
+        scratch.set(direction.x * speed * BULLET_SPEED_MULTIPLIER, direction.y * speed * BULLET_SPEED_MULTIPLIER);
+        body.setLinearVelocity(scratch);
+        body.setAngularVelocity(0.0f);
+        body.setActive(true);
+        body.setAwake(true);
+
         // Add rendering components
         ShapeComponent shape = engine.createComponent(ShapeComponent.class);
-        shape.init(radius);  // Circle shape
+        shape.init(BULLET_RADIUS);  // Circle shape
         bullet.add(shape);
-        
+
         RenderLayer layer = engine.createComponent(RenderLayer.class);
-        layer.setLayer(RenderLayer.GAME_OBJECTS + 1);  // Render above tanks
+        layer.setLayer(RenderLayer.GAME_OBJECTS + 2);  // Render above tanks and their turrets
         bullet.add(layer);
-        
+
         ColorComponent color = engine.createComponent(ColorComponent.class);
         color.init(RenderingConstants.BULLET_FILL_COLOR);
         color.setOutline(RenderingConstants.BULLET_OUTLINE_COLOR, 1.0f);
         bullet.add(color);
-        
-        // Add all components before applying initial velocity
+
         engine.addEntity(bullet);
-        
-        // Apply initial velocity through physics
-        CollisionComponent collisionComp = bullet.getComponent(CollisionComponent.class);
-        if (collisionComp.getBody() != null) {
-            float mass = collisionComp.getBody().getMass();
-            Vec2 impulse = new Vec2(
-                direction.x * speed * BULLET_SPEED_MULTIPLIER * mass,
-                direction.y * speed * BULLET_SPEED_MULTIPLIER * mass
-            );
-            collisionComp.getBody().setLinearVelocity(new Vec2(impulse.x, impulse.y));
-            // Disable rotation
-            collisionComp.getBody().setFixedRotation(true);
-        }
-        
-        Logger.debug("Created bullet at position: {} with direction: {}", position, direction);
         return bullet;
     }
-} 
\ No newline at end of file
+
+    @Override
+    public void entityAdded(Entity entity) {
+        // Bullets are set up in createBullet
+    }
+
+    @Override
+    public void entityRemoved(Entity entity) {
+        CollisionComponent collision = entity.getComponent(CollisionComponent.class);
+        if (!collision.isPooled() || collision.getBody() == null) {
+            return;  // PhysicsSystem destroys the body
+        }
+        Body body = collision.detachBody();
+        collision.setPooled(false);
+        if (freeBodies.size >= MAX_POOLED_BODIES) {
+            world.destroyBody(body);
+            return;
+        }
+        body.setActive(false);
+        body.setUserData(null);  // The component may be reset and reused by another entity
+        freeBodies.add(body);
+    }
+
+    /**
+     * When disabled, removed bullets have their bodies destroyed and every shot creates a new body.
+     * Already pooled bodies are still handed out.
+     */
+    public void setPooling(boolean pooling) {
+        this.pooling = pooling;
+    }
+
+    public boolean isPooling() { return pooling; }
+    public int getFreeCount() { return freeBodies.size; }
+    public long getCreatedCount() { return createdCount; }
+    public long getReusedCount() { return reusedCount; }
+}
@@ -5,6 +5,7 @@ import com.badlogic.ashley.core.Entity;
 import com.badlogic.ashley.core.Family;
 import org.tinylog.Logger;
 import com.ur91k.jdiep.ecs.components.camera.CameraTargetComponent;
+import com.ur91k.jdiep.ecs.components.gameplay.HealthComponent;
 import com.ur91k.jdiep.ecs.components.gameplay.PlayerComponent;
 import com.ur91k.jdiep.ecs.components.gameplay.PlayerControlledComponent;
 import com.ur91k.jdiep.ecs.components.gameplay.TankBodyComponent;
@@ -24,6 +25,7 @@ import com.ur91k.jdiep.debug.ImGuiDebugManager;
 import com.ur91k.jdiep.game.config.GameUnits;
 
 public class TankFactory {
+    private static final float TANK_MAX_HEALTH = 100.0f;
     private final Engine engine;
     private final ImGuiDebugManager debugManager;
     
@@ -31,6 +33,13 @@ public class TankFactory {
         this.engine = engine;
         this.debugManager = debugManager;
         
+        // Headless servers run without a debug window
+        if (debugManager != null) {
+            registerDebugCallbacks();
+        }
+    }
+    
+    private void registerDebugCallbacks() {
         // Set initial physics values in debug window
         debugManager.setTankPhysicsValues(
             12.0f,    // acceleration (m/s²)
@@ -146,6 +155,11 @@ public class TankFactory {
         TankControllerComponent controller = engine.createComponent(TankControllerComponent.class);
         tank.add(controller);
         
+        // Add health, damaged by bullets and hard impacts
+        HealthComponent health = engine.createComponent(HealthComponent.class);
+        health.init(TANK_MAX_HEALTH);
+        tank.add(health);
+        
         // Add collision component with Box2D-friendly values
         CollisionComponent collision = engine.createComponent(CollisionComponent.class);
         float radius = body.getRadius();  // Use TankScaling radius based on mass
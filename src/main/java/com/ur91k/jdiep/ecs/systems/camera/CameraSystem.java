@@ -19,6 +19,7 @@ public class CameraSystem extends IteratingSystem {
     private final ComponentMapper<CollisionComponent> collisionMapper;
     private final Input input;
     private static final float MIN_VELOCITY = 0.01f;  // Velocity threshold for stopping
+    private final Vector2f targetPos = new Vector2f();  // Scratch, reused every update
 
     public CameraSystem(Input input) {
         super(Family.all(CameraComponent.class, TransformComponent.class).get());
@@ -44,19 +45,17 @@ public class CameraSystem extends IteratingSystem {
         if (camera.hasTarget()) {
             Entity target = camera.getTarget();
             if (target != null) {
-                Vector2f targetPos;
-                
                 // Try to get position from physics body first
                 if (collisionMapper.has(target)) {
                     CollisionComponent collision = collisionMapper.get(target);
                     if (collision.getBody() != null) {
                         Vec2 bodyPos = collision.getBody().getPosition();
-                        targetPos = new Vector2f(bodyPos.x, bodyPos.y);
+                        targetPos.set(bodyPos.x, bodyPos.y);
                     } else {
-                        targetPos = transformMapper.get(target).getPosition();
+                        targetPos.set(transformMapper.get(target).getPosition());
                     }
                 } else {
-                    targetPos = transformMapper.get(target).getPosition();
+                    targetPos.set(transformMapper.get(target).getPosition());
                 }
                 
                 Vector2f cameraPos = transform.getPosition();
@@ -87,7 +86,8 @@ public class CameraSystem extends IteratingSystem {
                     velocity.zero();
                 }
                 
-                transform.setPosition(cameraPos);
+                // cameraPos is the transform's own vector, already updated in place
+                transform.markChanged();
             }
         }
     }
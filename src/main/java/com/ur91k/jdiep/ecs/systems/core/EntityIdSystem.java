@@ -0,0 +1,98 @@
+package com.ur91k.jdiep.ecs.systems.core;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+
+import java.util.Arrays;
+
+/**
+ * Gives every entity a small integer id so systems can keep per-entity data in flat arrays
+ * instead of maps, and so entities can be referenced over the network.
+ * The id is stored in Entity.flags; 0 means no id has been assigned.
+ * Ids of removed entities are reused, with a generation counter to tell the owners apart.
+ */
+public class EntityIdSystem extends EntitySystem implements EntityListener {
+    public static final int NO_ID = 0;
+    private static final int INITIAL_CAPACITY = 256;
+
+    private Entity[] entities = new Entity[INITIAL_CAPACITY];
+    private int[] generations = new int[INITIAL_CAPACITY];
+    private int[] freeIds = new int[INITIAL_CAPACITY];
+    private int freeCount = 0;
+    private int nextId = 1;  // 0 is reserved for NO_ID
+
+    public EntityIdSystem() {
+        // Ids are only assigned from listener callbacks
+        setProcessing(false);
+    }
+
+    public static int getId(Entity entity) {
+        return entity.flags;
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        // Lowest priority value is notified first, so ids exist before other listeners run
+        engine.addEntityListener(Family.all().get(), Integer.MIN_VALUE, this);
+        ImmutableArray<Entity> existing = engine.getEntities();
+        for (int i = 0; i < existing.size(); i++) {
+            entityAdded(existing.get(i));
+        }
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        engine.removeEntityListener(this);
+    }
+
+    @Override
+    public void entityAdded(Entity entity) {
+        int id = freeCount > 0 ? freeIds[--freeCount] : nextId++;
+        ensureCapacity(id + 1);
+        entities[id] = entity;
+        entity.flags = id;
+    }
+
+    @Override
+    public void entityRemoved(Entity entity) {
+        int id = entity.flags;
+        if (id == NO_ID || id >= nextId || entities[id] != entity) return;
+
+        // Flags are left intact so later removal listeners can still look up their data
+        entities[id] = null;
+        generations[id]++;
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+        }
+        freeIds[freeCount++] = id;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= entities.length) return;
+        int newCapacity = Math.max(capacity, entities.length * 2);
+        entities = Arrays.copyOf(entities, newCapacity);
+        generations = Arrays.copyOf(generations, newCapacity);
+    }
+
+    public Entity getEntity(int id) {
+        return id > NO_ID && id < nextId ? entities[id] : null;
+    }
+
+    /**
+     * Incremented every time an id is released, so a reused id can be told apart from its previous owner.
+     */
+    public int getGeneration(int id) {
+        return id < nextId ? generations[id] : 0;
+    }
+
+    /**
+     * One past the highest id handed out so far. Arrays indexed by id need at least this length.
+     */
+    public int getIdLimit() {
+        return nextId;
+    }
+}
@@ -0,0 +1,153 @@
+package com.ur91k.jdiep.ecs.systems.gameplay;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.ur91k.jdiep.ecs.components.gameplay.DroneComponent;
+import com.ur91k.jdiep.ecs.components.gameplay.FoodComponent;
+import com.ur91k.jdiep.ecs.components.gameplay.HealthComponent;
+import com.ur91k.jdiep.ecs.components.gameplay.ProjectileComponent;
+import com.ur91k.jdiep.ecs.components.gameplay.TankBodyComponent;
+import com.ur91k.jdiep.ecs.components.physics.CollisionFilters;
+import com.ur91k.jdiep.ecs.systems.core.EntityIdSystem;
+import com.ur91k.jdiep.ecs.systems.physics.ContactEventBuffer;
+import com.ur91k.jdiep.ecs.systems.physics.PhysicsSystem;
+
+/**
+ * Drains the contacts PhysicsSystem recorded during the last step and applies their
+ * gameplay effects: bullet damage and despawn, food pickup, and impact damage between
+ * tanks and drones. Should run right after PhysicsSystem.
+ */
+public class CollisionHandlingSystem extends EntitySystem {
+    private static final float IMPACT_DAMAGE_PER_IMPULSE = 0.1f;
+    private static final short BODY_CATEGORIES = CollisionFilters.CATEGORY_TANK | CollisionFilters.CATEGORY_DRONE;
+
+    private final ComponentMapper<HealthComponent> healthMapper;
+    private final ComponentMapper<ProjectileComponent> projectileMapper;
+    private final ComponentMapper<FoodComponent> foodMapper;
+    private final ComponentMapper<TankBodyComponent> tankMapper;
+    private final ComponentMapper<DroneComponent> droneMapper;
+    private EntityIdSystem idSystem;
+    private ContactEventBuffer contacts;
+    private float time;
+
+    // Counters for the last update
+    private int handledContacts;
+    private int bulletHits;
+    private int foodPickups;
+
+    public CollisionHandlingSystem() {
+        this.healthMapper = ComponentMapper.getFor(HealthComponent.class);
+        this.projectileMapper = ComponentMapper.getFor(ProjectileComponent.class);
+        this.foodMapper = ComponentMapper.getFor(FoodComponent.class);
+        this.tankMapper = ComponentMapper.getFor(TankBodyComponent.class);
+        this.droneMapper = ComponentMapper.getFor(DroneComponent.class);
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        idSystem = engine.getSystem(EntityIdSystem.class);
+        PhysicsSystem physicsSystem = engine.getSystem(PhysicsSystem.class);
+        if (idSystem == null || physicsSystem == null) {
+            throw new IllegalStateException("CollisionHandlingSystem requires EntityIdSystem and PhysicsSystem");
+        }
+        contacts = physicsSystem.getContacts();
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        time += deltaTime;
+        handledContacts = 0;
+        bulletHits = 0;
+        foodPickups = 0;
+
+        int count = contacts.size();
+        for (int i = 0; i < count; i++) {
+            Entity a = resolve(contacts.getIdA(i), contacts.getGenerationA(i));
+            Entity b = resolve(contacts.getIdB(i), contacts.getGenerationB(i));
+            if (a == null || b == null) {
+                continue;  // Removed since the step, or already consumed by an earlier contact
+            }
+
+            short categoryA = contacts.getCategoryA(i);
+            short categoryB = contacts.getCategoryB(i);
+            if (contacts.getType(i) == ContactEventBuffer.BEGIN) {
+                handleBegin(a, categoryA, b, categoryB);
+            } else {
+                handleImpact(a, categoryA, b, categoryB, contacts.getImpulse(i));
+            }
+            handledContacts++;
+        }
+        contacts.consume(count);
+    }
+
+    private Entity resolve(int id, int generation) {
+        if (idSystem.getGeneration(id) != generation) return null;
+        Entity entity = idSystem.getEntity(id);
+        return entity == null || entity.isScheduledForRemoval() ? null : entity;
+    }
+
+    private void handleBegin(Entity a, short categoryA, Entity b, short categoryB) {
+        if (categoryA == CollisionFilters.CATEGORY_BULLET) {
+            handleBulletHit(a, b, categoryB);
+        } else if (categoryB == CollisionFilters.CATEGORY_BULLET) {
+            handleBulletHit(b, a, categoryA);
+        } else if (categoryA == CollisionFilters.CATEGORY_FOOD && categoryB == CollisionFilters.CATEGORY_TANK) {
+            handleFoodPickup(a, b);
+        } else if (categoryB == CollisionFilters.CATEGORY_FOOD && categoryA == CollisionFilters.CATEGORY_TANK) {
+            handleFoodPickup(b, a);
+        }
+    }
+
+    private void handleBulletHit(Entity bullet, Entity target, short targetCategory) {
+        ProjectileComponent projectile = projectileMapper.get(bullet);
+        if (projectile == null || target == projectile.getOwner()) {
+            return;  // Bullets spawn inside their owner
+        }
+
+        if (targetCategory != CollisionFilters.CATEGORY_WALL) {
+            HealthComponent health = healthMapper.get(target);
+            if (health != null) {
+                health.damage(projectile.getDamage(), time);
+            }
+            bulletHits++;
+            if (projectile.isPiercing()) {
+                projectile.onHit();
+                return;
+            }
+        }
+        getEngine().removeEntity(bullet);
+    }
+
+    private void handleFoodPickup(Entity food, Entity tank) {
+        TankBodyComponent tankBody = tankMapper.get(tank);
+        FoodComponent foodComponent = foodMapper.get(food);
+        if (tankBody == null || foodComponent == null) return;
+
+        tankBody.addExperience(foodComponent.getExperienceValue());
+        getEngine().removeEntity(food);
+        foodPickups++;
+    }
+
+    private void handleImpact(Entity a, short categoryA, Entity b, short categoryB, float impulse) {
+        // Only body collisions between tanks and drones hurt; walls, food and bullets are handled elsewhere
+        if ((categoryA & BODY_CATEGORIES) == 0 || (categoryB & BODY_CATEGORIES) == 0) return;
+        if (isOwnDrone(a, b) || isOwnDrone(b, a)) return;
+
+        float damage = impulse * IMPACT_DAMAGE_PER_IMPULSE;
+        HealthComponent healthA = healthMapper.get(a);
+        HealthComponent healthB = healthMapper.get(b);
+        if (healthA != null) healthA.damage(damage, time);
+        if (healthB != null) healthB.damage(damage, time);
+    }
+
+    private boolean isOwnDrone(Entity drone, Entity other) {
+        DroneComponent droneComponent = droneMapper.get(drone);
+        return droneComponent != null && droneComponent.getOwner() == other;
+    }
+
+    public int getHandledContacts() { return handledContacts; }
+    public int getBulletHits() { return bulletHits; }
+    public int getFoodPickups() { return foodPickups; }
+}
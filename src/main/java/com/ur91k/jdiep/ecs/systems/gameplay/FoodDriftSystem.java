@@ -1,97 +1,238 @@
 package com.ur91k.jdiep.ecs.systems.gameplay;
 
 import com.badlogic.ashley.core.*;
-import com.badlogic.ashley.systems.IteratingSystem;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.ur91k.jdiep.core.utils.ValueNoise;
 import com.ur91k.jdiep.ecs.components.gameplay.FoodComponent;
 import com.ur91k.jdiep.ecs.components.physics.CollisionComponent;
+import com.ur91k.jdiep.ecs.systems.core.EntityIdSystem;
 import org.jbox2d.common.Vec2;
 import org.jbox2d.dynamics.Body;
 import org.jbox2d.dynamics.World;
 
-import java.util.HashMap;
-import java.util.Random;
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
 
-public class FoodDriftSystem extends IteratingSystem {
-    private final World physicsWorld;
-    private final Random random = new Random();
+/**
+ * Pushes food around with a force and spin taken from a seeded noise field over
+ * position and time, so nearby food drifts together and a given seed always
+ * replays the same way.
+ *
+ * Each update runs in three passes: body state is gathered into flat arrays, forces
+ * are computed from those arrays alone, then applied to the bodies. Only the middle
+ * pass touches no Box2D state, so it is the one split across cores for large food fields,
+ * as fixed size chunk tasks that are allocated once and reused every tick.
+ */
+public class FoodDriftSystem extends EntitySystem implements EntityListener {
     private static final float DRIFT_FORCE = 12f;
+    private static final float MAX_DRIFT_SPEED = 3.0f;      // Drift force fades out towards this speed
     private static final float MAX_ANGULAR_VELOCITY = 0.6f;
     private static final float TORQUE_MAGNITUDE = 0.2f;
-    private static final float NOISE_SCALE = 0.3f;
-    private static final float DIRECTION_CHANGE_RATE = 0.1f;
-    private static final float ANGULAR_CHANGE_RATE = 0.02f;  // How quickly to change rotation direction
-    
+    private static final float FIELD_FREQUENCY = 0.05f;     // Noise cells per meter
+    private static final float FIELD_SPEED = 0.1f;          // Noise cells per second
+    private static final float PHASE_SPREAD = 0.5f;         // Per-food offset along noise time
+    private static final float SPIN_OFFSET = 173.3f;        // Samples spin away from direction
+    private static final float TWO_PI = (float) (Math.PI * 2);
+    private static final int PARALLEL_THRESHOLD = 4096;     // Below this, threading costs more than it saves
+    private static final int CHUNK_SIZE = 1024;
+
+    private final World physicsWorld;
+    private final Family family;
     private final ComponentMapper<CollisionComponent> collisionMapper;
-    private final HashMap<Entity, Float> targetAngles;  // Target angle for each entity
-    private final HashMap<Entity, Float> targetAngularVels;  // Target angular velocity for each entity
-    
+    private ImmutableArray<Entity> entities;
+    private ValueNoise noise = new ValueNoise(0L);
+    private long ticks;  // Time is ticks * deltaTime, so it does not drift like a running float sum
+    private boolean parallel = true;
+
+    private float[] phases = new float[256];  // Noise time offset, by entity id
+
+    // Batch arrays, indexed by position in the entity list
+    private Body[] bodies = new Body[0];
+    private float[] posX = new float[0];
+    private float[] posY = new float[0];
+    private float[] velX = new float[0];
+    private float[] velY = new float[0];
+    private float[] angularVel = new float[0];
+    private float[] phase = new float[0];
+    private float[] forceX = new float[0];
+    private float[] forceY = new float[0];
+    private float[] torque = new float[0];
+    private final Vec2 force = new Vec2();
+
+    // Force pass chunks, reused every tick, and the values they read
+    private ChunkTask[] chunkTasks = new ChunkTask[0];
+    private float chunkFieldTime;
+    private float chunkDeltaTime;
+
+    /** Computes the forces of one chunk of the batch arrays. */
+    private final class ChunkTask extends RecursiveAction {
+        int from;
+        int to;
+
+        @Override
+        protected void compute() {
+            computeForces(from, to, chunkFieldTime, chunkDeltaTime);
+        }
+    }
+
     public FoodDriftSystem(World physicsWorld) {
-        super(Family.all(FoodComponent.class, CollisionComponent.class).get());
         this.physicsWorld = physicsWorld;
+        this.family = Family.all(FoodComponent.class, CollisionComponent.class).get();
         this.collisionMapper = ComponentMapper.getFor(CollisionComponent.class);
-        this.targetAngles = new HashMap<>();
-        this.targetAngularVels = new HashMap<>();
     }
-    
+
+    /**
+     * Selects the noise field. The same seed and tick sequence reproduce the same drift.
+     */
+    public void setSeed(long seed) {
+        noise = new ValueNoise(seed);
+    }
+
+    /**
+     * Allows the force pass to run on the common ForkJoin pool for large food fields.
+     * Results are identical either way.
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
     @Override
-    public void update(float deltaTime) {
-        super.update(deltaTime);  // Process every frame
+    public void addedToEngine(Engine engine) {
+        if (engine.getSystem(EntityIdSystem.class) == null) {
+            throw new IllegalStateException("FoodDriftSystem requires an EntityIdSystem");
+        }
+        entities = engine.getEntitiesFor(family);
+        engine.addEntityListener(family, this);
+        for (Entity entity : entities) {
+            entityAdded(entity);
+        }
     }
-    
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        engine.removeEntityListener(this);
+        entities = null;
+    }
+
+    @Override
+    public void entityAdded(Entity entity) {
+        int id = EntityIdSystem.getId(entity);
+        if (id >= phases.length) {
+            phases = Arrays.copyOf(phases, Math.max(id + 1, phases.length * 2));
+        }
+        // Derived from the id so neighbours do not move in lockstep, without a shared Random
+        phases[id] = ((id * 0x9E3779B9) >>> 8) * (PHASE_SPREAD / (1 << 24));
+    }
+
     @Override
-    protected void processEntity(Entity entity, float deltaTime) {
-        CollisionComponent collision = collisionMapper.get(entity);
-        Body body = collision.getBody();
-        
-        if (body != null) {
-            // Initialize or get target angle for this entity
-            Float targetAngle = targetAngles.computeIfAbsent(entity, 
-                k -> random.nextFloat() * (float)(Math.PI * 2));
-            
-            // Initialize or update target angular velocity
-            Float targetAngularVel = targetAngularVels.computeIfAbsent(entity,
-                k -> (random.nextFloat() * 2 - 1) * MAX_ANGULAR_VELOCITY);
-            
-            // Occasionally change target angular velocity
-            if (random.nextFloat() < ANGULAR_CHANGE_RATE) {
-                targetAngularVel = (random.nextFloat() * 2 - 1) * MAX_ANGULAR_VELOCITY;
-                targetAngularVels.put(entity, targetAngularVel);
+    public void entityRemoved(Entity entity) {
+        // Slots are overwritten when the id is reused, nothing to release
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        float time = (float) (ticks++ * (double) deltaTime);
+        int count = entities.size();
+        ensureBatchCapacity(count);
+
+        // Gather body state
+        for (int i = 0; i < count; i++) {
+            Entity entity = entities.get(i);
+            Body body = collisionMapper.get(entity).getBody();
+            bodies[i] = body;
+            if (body == null) continue;
+
+            Vec2 position = body.getPosition();
+            Vec2 velocity = body.getLinearVelocity();
+            posX[i] = position.x;
+            posY[i] = position.y;
+            velX[i] = velocity.x;
+            velY[i] = velocity.y;
+            angularVel[i] = body.getAngularVelocity();
+            phase[i] = phases[EntityIdSystem.getId(entity)];
+        }
+
+        // Compute forces, independent per food
+        float fieldTime = time * FIELD_SPEED;
+        if (parallel && count >= PARALLEL_THRESHOLD) {
+            computeForcesParallel(count, fieldTime, deltaTime);
+        } else {
+            computeForces(0, count, fieldTime, deltaTime);
+        }
+
+        // Apply forces
+        for (int i = 0; i < count; i++) {
+            Body body = bodies[i];
+            if (body == null) continue;
+            force.set(forceX[i], forceY[i]);
+            body.applyForceToCenter(force);
+            body.applyTorque(torque[i]);
+            bodies[i] = null;  // Do not hold on to bodies of removed food
+        }
+    }
+
+    /**
+     * Forks every chunk but the first to the common pool, computes the first here, then joins the rest.
+     */
+    private void computeForcesParallel(int count, float fieldTime, float deltaTime) {
+        int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        if (chunkTasks.length < chunks) {
+            int previous = chunkTasks.length;
+            chunkTasks = Arrays.copyOf(chunkTasks, Math.max(chunks, previous * 2));
+            for (int i = previous; i < chunkTasks.length; i++) {
+                chunkTasks[i] = new ChunkTask();
+            }
+        }
+        chunkFieldTime = fieldTime;
+        chunkDeltaTime = deltaTime;  // Published to the workers by fork()
+
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            ChunkTask task = chunkTasks[chunk];
+            task.reinitialize();
+            task.from = chunk * CHUNK_SIZE;
+            task.to = Math.min(count, (chunk + 1) * CHUNK_SIZE);
+            if (chunk > 0) {
+                task.fork();
             }
-            
-            // Smoothly change target angle
-            targetAngle += (random.nextFloat() - 0.5f) * DIRECTION_CHANGE_RATE;
-            targetAngles.put(entity, targetAngle);
-            
-            // Add some perlin-like noise to the movement
-            float noiseOffsetX = (random.nextFloat() - 0.5f) * NOISE_SCALE;
-            float noiseOffsetY = (random.nextFloat() - 0.5f) * NOISE_SCALE;
-            
-            // Calculate smooth force direction
-            Vec2 force = new Vec2(
-                (float)Math.cos(targetAngle) * DRIFT_FORCE + noiseOffsetX,
-                (float)Math.sin(targetAngle) * DRIFT_FORCE + noiseOffsetY
-            );
-            
+        }
+        chunkTasks[0].invoke();
+        for (int chunk = chunks - 1; chunk > 0; chunk--) {
+            chunkTasks[chunk].join();
+        }
+    }
+
+    private void computeForces(int from, int to, float fieldTime, float deltaTime) {
+        ValueNoise field = noise;
+        for (int i = from; i < to; i++) {
+            float x = posX[i] * FIELD_FREQUENCY;
+            float y = posY[i] * FIELD_FREQUENCY;
+            float z = fieldTime + phase[i];
+
             // Scale force based on current velocity for natural movement
-            Vec2 velocity = body.getLinearVelocity();
-            float speed = velocity.length();
-            float forceFactor = Math.max(0, 1 - speed / 3.0f);
-            force.mulLocal(forceFactor * deltaTime);
-            
-            // Apply force at slightly offset positions for natural rotation
-            Vec2 forcePoint = body.getWorldCenter().clone();
-            forcePoint.addLocal(new Vec2(
-                (random.nextFloat() - 0.5f) * 0.1f,
-                (random.nextFloat() - 0.5f) * 0.1f
-            ));
-            
-            body.applyForce(force, forcePoint);
-            
-            // Smooth angular velocity transition
-            float currentAngularVel = body.getAngularVelocity();
-            float angularDiff = targetAngularVel - currentAngularVel;
-            float torque = angularDiff * TORQUE_MAGNITUDE;
-            body.applyTorque(torque);
+            float speed = (float) Math.sqrt(velX[i] * velX[i] + velY[i] * velY[i]);
+            float forceFactor = Math.max(0, 1 - speed / MAX_DRIFT_SPEED) * DRIFT_FORCE * deltaTime;
+            float angle = field.sample(x, y, z) * TWO_PI;
+            forceX[i] = (float) Math.cos(angle) * forceFactor;
+            forceY[i] = (float) Math.sin(angle) * forceFactor;
+
+            // Smoothly steer angular velocity towards the field's spin
+            float targetAngularVel = field.sample(x + SPIN_OFFSET, y, z) * MAX_ANGULAR_VELOCITY;
+            torque[i] = (targetAngularVel - angularVel[i]) * TORQUE_MAGNITUDE;
         }
     }
-} 
\ No newline at end of file
+
+    private void ensureBatchCapacity(int count) {
+        if (bodies.length >= count) return;
+        int size = Math.max(count, bodies.length * 2);
+        bodies = Arrays.copyOf(bodies, size);
+        posX = Arrays.copyOf(posX, size);
+        posY = Arrays.copyOf(posY, size);
+        velX = Arrays.copyOf(velX, size);
+        velY = Arrays.copyOf(velY, size);
+        angularVel = Arrays.copyOf(angularVel, size);
+        phase = Arrays.copyOf(phase, size);
+        forceX = Arrays.copyOf(forceX, size);
+        forceY = Arrays.copyOf(forceY, size);
+        torque = Arrays.copyOf(torque, size);
+    }
+}
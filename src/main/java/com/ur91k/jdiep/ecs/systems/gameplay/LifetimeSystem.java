@@ -0,0 +1,41 @@
+package com.ur91k.jdiep.ecs.systems.gameplay;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import com.ur91k.jdiep.ecs.components.gameplay.LifetimeComponent;
+
+/**
+ * Counts down LifetimeComponents and removes entities once they expire.
+ * Pooled entities such as bullets are recycled by their factory on removal.
+ */
+public class LifetimeSystem extends IteratingSystem {
+    private final ComponentMapper<LifetimeComponent> lifetimeMapper;
+    private int expiredCount;  // Entities removed by the last update
+
+    public LifetimeSystem() {
+        super(Family.all(LifetimeComponent.class).get());
+        this.lifetimeMapper = ComponentMapper.getFor(LifetimeComponent.class);
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        expiredCount = 0;
+        super.update(deltaTime);
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        LifetimeComponent lifetime = lifetimeMapper.get(entity);
+        lifetime.update(deltaTime);
+        if (lifetime.isExpired()) {
+            getEngine().removeEntity(entity);
+            expiredCount++;
+        }
+    }
+
+    public int getExpiredCount() {
+        return expiredCount;
+    }
+}
@@ -0,0 +1,159 @@
+package com.ur91k.jdiep.ecs.systems.network;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.ur91k.jdiep.ecs.components.gameplay.HealthComponent;
+import com.ur91k.jdiep.ecs.components.network.NetworkTransformComponent;
+import com.ur91k.jdiep.ecs.components.rendering.ShapeComponent;
+import com.ur91k.jdiep.ecs.components.transform.TransformComponent;
+import com.ur91k.jdiep.network.NetworkProtocol;
+import com.ur91k.jdiep.network.SnapshotClient;
+import com.ur91k.jdiep.network.WorldSnapshot;
+import org.joml.Vector2f;
+
+import java.util.Arrays;
+
+/**
+ * Client side: mirrors server entities from received snapshots.
+ * New positions go through NetworkTransformComponent and are interpolated into the transform.
+ */
+public class NetworkReceiveSystem extends EntitySystem {
+    private static final float DEFAULT_MAX_HEALTH = 100.0f;
+
+    private final SnapshotClient client;
+    private final WorldSnapshot snapshot = new WorldSnapshot();
+    private final ComponentMapper<TransformComponent> transformMapper;
+    private final ComponentMapper<NetworkTransformComponent> networkMapper;
+    private final ComponentMapper<HealthComponent> healthMapper;
+    private final Vector2f tempPosition = new Vector2f();
+
+    // Local entities indexed by server id
+    private Entity[] entities = new Entity[256];
+    private int[] generations = new int[256];
+    private int idLimit = 0;
+    private float time = 0;
+
+    public NetworkReceiveSystem(SnapshotClient client) {
+        this.client = client;
+        this.transformMapper = ComponentMapper.getFor(TransformComponent.class);
+        this.networkMapper = ComponentMapper.getFor(NetworkTransformComponent.class);
+        this.healthMapper = ComponentMapper.getFor(HealthComponent.class);
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        time += deltaTime;
+
+        if (client.poll(snapshot)) {
+            applySnapshot();
+        }
+
+        // Move every mirrored entity along its interpolation path
+        for (int id = 1; id < idLimit; id++) {
+            Entity entity = entities[id];
+            if (entity == null) continue;
+            NetworkTransformComponent network = networkMapper.get(entity);
+            transformMapper.get(entity).setPosition(network.getInterpolatedPosition(time, tempPosition));
+        }
+    }
+
+    private void applySnapshot() {
+        ensureCapacity(snapshot.getIdLimit());
+
+        for (int id = 1; id < snapshot.getIdLimit(); id++) {
+            if (!snapshot.isPresent(id)) continue;
+
+            Entity entity = entities[id];
+            if (entity != null && generations[id] != snapshot.getGeneration(id)) {
+                // The server reused the id for a different entity
+                getEngine().removeEntity(entity);
+                entity = null;
+            }
+
+            tempPosition.set(
+                NetworkProtocol.dequantizePosition(snapshot.getX(id)),
+                NetworkProtocol.dequantizePosition(snapshot.getY(id)));
+
+            if (entity == null) {
+                entity = createEntity(id);
+                entities[id] = entity;
+                generations[id] = snapshot.getGeneration(id);
+            } else {
+                networkMapper.get(entity).setNetworkPosition(tempPosition, time);
+            }
+
+            transformMapper.get(entity).setRotation(NetworkProtocol.dequantizeAngle(snapshot.getAngle(id)));
+            HealthComponent health = healthMapper.get(entity);
+            health.setHealth(health.getMaxHealth() * snapshot.getHealth(id) / NetworkProtocol.HEALTH_FULL);
+        }
+
+        // Remove entities the server no longer has
+        for (int id = 1; id < idLimit; id++) {
+            if (entities[id] != null && !snapshot.isPresent(id)) {
+                getEngine().removeEntity(entities[id]);
+                entities[id] = null;
+            }
+        }
+        idLimit = Math.max(idLimit, snapshot.getIdLimit());
+    }
+
+    private Entity createEntity(int id) {
+        Entity entity = getEngine().createEntity();
+
+        TransformComponent transform = getEngine().createComponent(TransformComponent.class);
+        transform.setPosition(tempPosition);
+        entity.add(transform);
+
+        NetworkTransformComponent network = getEngine().createComponent(NetworkTransformComponent.class);
+        network.init(tempPosition, time);
+        entity.add(network);
+
+        entity.add(createShape(id));
+
+        HealthComponent health = getEngine().createComponent(HealthComponent.class);
+        health.init(DEFAULT_MAX_HEALTH);
+        entity.add(health);
+
+        getEngine().addEntity(entity);
+        return entity;
+    }
+
+    private ShapeComponent createShape(int id) {
+        ShapeComponent shape = getEngine().createComponent(ShapeComponent.class);
+        float width = NetworkProtocol.dequantizePosition(snapshot.getShapeWidth(id));
+        float height = NetworkProtocol.dequantizePosition(snapshot.getShapeHeight(id));
+        int[] vertices = snapshot.getShapeVertices(id);
+
+        ShapeComponent.ShapeType type = ShapeComponent.ShapeType.values()[snapshot.getShapeType(id)];
+        if (type == ShapeComponent.ShapeType.POLYGON && vertices != null) {
+            Vector2f[] polygon = new Vector2f[vertices.length / 2];
+            for (int i = 0; i < polygon.length; i++) {
+                polygon[i] = new Vector2f(
+                    NetworkProtocol.dequantizePosition(vertices[i * 2]),
+                    NetworkProtocol.dequantizePosition(vertices[i * 2 + 1]));
+            }
+            shape.init(polygon);
+        } else if (type == ShapeComponent.ShapeType.RECTANGLE) {
+            shape.init(width, height);
+        } else {
+            shape.init(width / 2);
+        }
+        return shape;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= entities.length) return;
+        int n = Math.max(capacity, entities.length * 2);
+        entities = Arrays.copyOf(entities, n);
+        generations = Arrays.copyOf(generations, n);
+    }
+
+    public int getEntityCount() {
+        int count = 0;
+        for (int id = 1; id < idLimit; id++) {
+            if (entities[id] != null) count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,106 @@
+package com.ur91k.jdiep.ecs.systems.network;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import com.ur91k.jdiep.ecs.components.gameplay.HealthComponent;
+import com.ur91k.jdiep.ecs.components.rendering.ShapeComponent;
+import com.ur91k.jdiep.ecs.components.transform.TransformComponent;
+import com.ur91k.jdiep.ecs.systems.core.EntityIdSystem;
+import com.ur91k.jdiep.network.NetworkProtocol;
+import com.ur91k.jdiep.network.ReplicationServer;
+import com.ur91k.jdiep.network.WorldSnapshot;
+import org.joml.Vector2f;
+
+import java.util.Arrays;
+
+/**
+ * Server side: captures replicated entities into a snapshot each tick and broadcasts it.
+ * Should run after all simulation systems.
+ */
+public class SnapshotCaptureSystem extends IteratingSystem {
+    private final ReplicationServer server;
+    private final ComponentMapper<TransformComponent> transformMapper;
+    private final ComponentMapper<ShapeComponent> shapeMapper;
+    private final ComponentMapper<HealthComponent> healthMapper;
+    private EntityIdSystem idSystem;
+    private WorldSnapshot snapshot;
+    private WorldSnapshot previous;
+    private int[] capturedVersions = new int[256];  // Transform version quantized into the previous snapshot, by id
+
+    public SnapshotCaptureSystem(ReplicationServer server) {
+        super(Family.all(TransformComponent.class, ShapeComponent.class).get());
+        this.server = server;
+        this.transformMapper = ComponentMapper.getFor(TransformComponent.class);
+        this.shapeMapper = ComponentMapper.getFor(ShapeComponent.class);
+        this.healthMapper = ComponentMapper.getFor(HealthComponent.class);
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        super.addedToEngine(engine);
+        idSystem = engine.getSystem(EntityIdSystem.class);
+        if (idSystem == null) {
+            throw new IllegalStateException("SnapshotCaptureSystem requires an EntityIdSystem");
+        }
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        snapshot = server.beginSnapshot();
+        previous = server.getPreviousSnapshot();
+        super.update(deltaTime);
+        server.broadcast();
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        int id = EntityIdSystem.getId(entity);
+        TransformComponent transform = transformMapper.get(entity);
+        HealthComponent health = healthMapper.get(entity);
+
+        int generation = idSystem.getGeneration(id);
+        int healthByte = health == null ? NetworkProtocol.HEALTH_FULL
+            : Math.round(health.getHealthPercentage() * NetworkProtocol.HEALTH_FULL);
+
+        if (id >= capturedVersions.length) {
+            capturedVersions = Arrays.copyOf(capturedVersions, Math.max(id + 1, capturedVersions.length * 2));
+        }
+        if (previous != null && previous.isPresent(id) && previous.getGeneration(id) == generation
+                && capturedVersions[id] == transform.getVersion()) {
+            // Unchanged since the last snapshot, reuse the quantized values
+            snapshot.setState(id, generation, previous.getX(id), previous.getY(id), previous.getAngle(id), healthByte);
+        } else {
+            Vector2f position = transform.getPosition();
+            snapshot.setState(id, generation,
+                NetworkProtocol.quantizePosition(position.x),
+                NetworkProtocol.quantizePosition(position.y),
+                NetworkProtocol.quantizeAngle(transform.getRotation()),
+                healthByte);
+            capturedVersions[id] = transform.getVersion();
+        }
+
+        // Shapes do not change after spawning, so only quantize them once
+        if (!snapshot.copyShape(id, previous)) {
+            captureShape(id, shapeMapper.get(entity));
+        }
+    }
+
+    private void captureShape(int id, ShapeComponent shape) {
+        int[] vertices = null;
+        if (shape.getType() == ShapeComponent.ShapeType.POLYGON) {
+            Vector2f[] polygon = shape.getVertices();
+            vertices = new int[polygon.length * 2];
+            for (int i = 0; i < polygon.length; i++) {
+                vertices[i * 2] = NetworkProtocol.quantizePosition(polygon[i].x);
+                vertices[i * 2 + 1] = NetworkProtocol.quantizePosition(polygon[i].y);
+            }
+        }
+        snapshot.setShape(id, shape.getType().ordinal(),
+            NetworkProtocol.quantizePosition(shape.getWidth()),
+            NetworkProtocol.quantizePosition(shape.getHeight()),
+            vertices);
+    }
+}
@@ -0,0 +1,95 @@
+package com.ur91k.jdiep.ecs.systems.physics;
+
+/**
+ * Fixed size ring of contact records, filled from Box2D callbacks during the world step
+ * and drained afterwards. Records are stored as parallel primitive arrays so recording
+ * never allocates. When the ring is full new records are dropped and counted.
+ */
+public class ContactEventBuffer {
+    public static final byte BEGIN = 0;    // Fixtures started touching
+    public static final byte IMPACT = 1;   // Solved contact with a significant normal impulse
+
+    private final int capacity;
+    private final int mask;
+    private final byte[] types;
+    private final int[] idA;
+    private final int[] generationA;
+    private final short[] categoryA;
+    private final int[] idB;
+    private final int[] generationB;
+    private final short[] categoryB;
+    private final float[] impulses;
+
+    private long head;  // Next record to read
+    private long tail;  // Next record to write
+    private long dropped;
+
+    /**
+     * @param capacity rounded up to a power of two
+     */
+    public ContactEventBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.types = new byte[size];
+        this.idA = new int[size];
+        this.generationA = new int[size];
+        this.categoryA = new short[size];
+        this.idB = new int[size];
+        this.generationB = new int[size];
+        this.categoryB = new short[size];
+        this.impulses = new float[size];
+    }
+
+    public boolean add(byte type, int idA, int generationA, short categoryA,
+                       int idB, int generationB, short categoryB, float impulse) {
+        if (tail - head == capacity) {
+            dropped++;
+            return false;
+        }
+        int i = (int) (tail & mask);
+        this.types[i] = type;
+        this.idA[i] = idA;
+        this.generationA[i] = generationA;
+        this.categoryA[i] = categoryA;
+        this.idB[i] = idB;
+        this.generationB[i] = generationB;
+        this.categoryB[i] = categoryB;
+        this.impulses[i] = impulse;
+        tail++;
+        return true;
+    }
+
+    /**
+     * Number of unread records. Records are read by index from 0 to size() - 1,
+     * then released with consume().
+     */
+    public int size() {
+        return (int) (tail - head);
+    }
+
+    public void consume(int count) {
+        head += Math.min(count, size());
+    }
+
+    public void clear() {
+        head = tail;
+    }
+
+    private int slot(int index) {
+        return (int) ((head + index) & mask);
+    }
+
+    public byte getType(int index) { return types[slot(index)]; }
+    public int getIdA(int index) { return idA[slot(index)]; }
+    public int getGenerationA(int index) { return generationA[slot(index)]; }
+    public short getCategoryA(int index) { return categoryA[slot(index)]; }
+    public int getIdB(int index) { return idB[slot(index)]; }
+    public int getGenerationB(int index) { return generationB[slot(index)]; }
+    public short getCategoryB(int index) { return categoryB[slot(index)]; }
+    public float getImpulse(int index) { return impulses[slot(index)]; }
+
+    public int getCapacity() { return capacity; }
+    public long getTotalRecorded() { return tail; }
+    public long getDroppedCount() { return dropped; }
+}
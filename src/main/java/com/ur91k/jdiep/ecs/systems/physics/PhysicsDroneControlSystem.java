@@ -1,24 +1,40 @@
 package com.ur91k.jdiep.ecs.systems.physics;
 
 import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Engine;
 import com.badlogic.ashley.core.Entity;
 import com.badlogic.ashley.core.Family;
 import com.badlogic.ashley.systems.IteratingSystem;
+import com.badlogic.gdx.utils.IntArray;
 import com.ur91k.jdiep.ecs.components.gameplay.DroneComponent;
 import com.ur91k.jdiep.ecs.components.gameplay.DroneControllerComponent;
+import com.ur91k.jdiep.ecs.components.gameplay.FoodComponent;
 import com.ur91k.jdiep.ecs.components.physics.CollisionComponent;
 import com.ur91k.jdiep.ecs.components.transform.TransformComponent;
+import com.ur91k.jdiep.ecs.systems.spatial.SpatialIndexSystem;
 import org.jbox2d.common.Vec2;
 import org.joml.Vector2f;
 
+/**
+ * Steers drones with forces. A drone chases the nearest food within its target range
+ * of the owner, found through the spatial index, and orbits the owner otherwise.
+ */
 public class PhysicsDroneControlSystem extends IteratingSystem {
     private final ComponentMapper<DroneComponent> droneMapper;
     private final ComponentMapper<DroneControllerComponent> controllerMapper;
     private final ComponentMapper<CollisionComponent> collisionMapper;
     private final ComponentMapper<TransformComponent> transformMapper;
+    private final ComponentMapper<FoodComponent> foodMapper;
+    private SpatialIndexSystem spatialIndex;  // Null when running without an index, drones only orbit
     
     private float orbitTime = 0;  // Track time for orbital movement
     
+    // Scratch values, reused every update
+    private final Vector2f direction = new Vector2f();
+    private final Vec2 force = new Vec2();
+    private final Vector2f target = new Vector2f();
+    private final IntArray nearbyIds = new IntArray();
+    
     public PhysicsDroneControlSystem() {
         super(Family.all(
             DroneComponent.class,
@@ -31,6 +47,19 @@ public class PhysicsDroneControlSystem extends IteratingSystem {
         this.controllerMapper = ComponentMapper.getFor(DroneControllerComponent.class);
         this.collisionMapper = ComponentMapper.getFor(CollisionComponent.class);
         this.transformMapper = ComponentMapper.getFor(TransformComponent.class);
+        this.foodMapper = ComponentMapper.getFor(FoodComponent.class);
+    }
+    
+    @Override
+    public void addedToEngine(Engine engine) {
+        super.addedToEngine(engine);
+        spatialIndex = engine.getSystem(SpatialIndexSystem.class);
+    }
+    
+    @Override
+    public void removedFromEngine(Engine engine) {
+        super.removedFromEngine(engine);
+        spatialIndex = null;
     }
     
     @Override
@@ -50,16 +79,18 @@ public class PhysicsDroneControlSystem extends IteratingSystem {
         
         Vector2f ownerPos = ownerTransform.getPosition();
         
-        // Calculate orbital position
+        // Chase food near the owner, otherwise fall back to orbiting
         orbitTime += deltaTime * controller.getOrbitSpeed();
-        float orbitX = ownerPos.x + (float)Math.cos(orbitTime) * controller.getOrbitRadius();
-        float orbitY = ownerPos.y + (float)Math.sin(orbitTime) * controller.getOrbitRadius();
-        controller.setTargetPosition(new Vector2f(orbitX, orbitY));
+        if (!findTarget(ownerPos, controller.getTargetRange(), target)) {
+            target.set(
+                ownerPos.x + (float)Math.cos(orbitTime) * controller.getOrbitRadius(),
+                ownerPos.y + (float)Math.sin(orbitTime) * controller.getOrbitRadius());
+        }
+        controller.setTargetPosition(target);
         
         // Get current position and calculate direction to target
         Vector2f currentPos = transform.getPosition();
-        Vector2f targetPos = controller.getTargetPosition();
-        Vector2f direction = new Vector2f(targetPos).sub(currentPos);
+        direction.set(target.x - currentPos.x, target.y - currentPos.y);
         float distance = direction.length();
         
         // Apply forces if not at target position
@@ -68,7 +99,7 @@ public class PhysicsDroneControlSystem extends IteratingSystem {
             
             // Calculate force based on distance (stronger when further away)
             float forceMagnitude = Math.min(controller.getMaxForce(), distance * 10);
-            Vec2 force = new Vec2(direction.x * forceMagnitude, direction.y * forceMagnitude);
+            force.set(direction.x * forceMagnitude, direction.y * forceMagnitude);
             
             // Apply force through physics
             org.jbox2d.dynamics.Body body = collision.getBody();
@@ -89,6 +120,35 @@ public class PhysicsDroneControlSystem extends IteratingSystem {
         }
     }
     
+    /**
+     * Finds the food closest to the owner within range. Writes its position to out and returns
+     * true, or returns false when there is none or no spatial index to ask.
+     */
+    private boolean findTarget(Vector2f ownerPos, float range, Vector2f out) {
+        if (spatialIndex == null || range <= 0) {
+            return false;
+        }
+        nearbyIds.clear();
+        spatialIndex.queryRadius(ownerPos.x, ownerPos.y, range, nearbyIds);
+        
+        float bestDistanceSq = range * range;
+        boolean found = false;
+        for (int i = 0; i < nearbyIds.size; i++) {
+            Entity candidate = spatialIndex.getEntity(nearbyIds.get(i));
+            if (candidate == null || foodMapper.get(candidate) == null) {
+                continue;
+            }
+            Vector2f position = transformMapper.get(candidate).getPosition();
+            float distanceSq = position.distanceSquared(ownerPos);
+            if (distanceSq <= bestDistanceSq) {
+                bestDistanceSq = distanceSq;
+                out.set(position);
+                found = true;
+            }
+        }
+        return found;
+    }
+    
     // Normalize angle to [-π, π]
     private float normalizeAngle(float angle) {
         while (angle > Math.PI) angle -= 2 * Math.PI;
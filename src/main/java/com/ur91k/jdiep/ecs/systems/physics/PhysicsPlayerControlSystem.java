@@ -5,6 +5,7 @@ import com.badlogic.ashley.core.Entity;
 import com.badlogic.ashley.core.Family;
 import com.badlogic.ashley.systems.IteratingSystem;
 import com.ur91k.jdiep.core.window.Input;
+import com.ur91k.jdiep.debug.GraphBuffer;
 import com.ur91k.jdiep.debug.ImGuiDebugManager;
 import com.ur91k.jdiep.ecs.components.gameplay.PlayerControlledComponent;
 import com.ur91k.jdiep.ecs.components.gameplay.TankControllerComponent;
@@ -22,6 +23,20 @@ public class PhysicsPlayerControlSystem extends IteratingSystem {
     private final ComponentMapper<TransformComponent> transformMapper;
     private final ImGuiDebugManager debugManager;
     
+    // Debug graphs, null without a debug manager
+    private GraphBuffer linearVelocityXGraph;
+    private GraphBuffer linearVelocityYGraph;
+    private GraphBuffer speedGraph;
+    private GraphBuffer angularVelocityGraph;
+    private GraphBuffer angleDifferenceGraph;
+    private GraphBuffer torqueGraph;
+    private GraphBuffer forceGraph;
+    
+    // Scratch values, reused every update
+    private final Vector2f moveDir = new Vector2f();
+    private final Vector2f mousePos = new Vector2f();
+    private final Vec2 impulse = new Vec2();
+    
     public PhysicsPlayerControlSystem(Input input, ImGuiDebugManager debugManager) {
         super(Family.all(
             PlayerControlledComponent.class,
@@ -35,6 +50,16 @@ public class PhysicsPlayerControlSystem extends IteratingSystem {
         this.collisionMapper = ComponentMapper.getFor(CollisionComponent.class);
         this.controllerMapper = ComponentMapper.getFor(TankControllerComponent.class);
         this.transformMapper = ComponentMapper.getFor(TransformComponent.class);
+        
+        if (debugManager != null) {
+            linearVelocityXGraph = debugManager.registerGraph("Linear Velocity X");
+            linearVelocityYGraph = debugManager.registerGraph("Linear Velocity Y");
+            speedGraph = debugManager.registerGraph("Speed");
+            angularVelocityGraph = debugManager.registerGraph("Angular Velocity");
+            angleDifferenceGraph = debugManager.registerGraph("Angle Difference");
+            torqueGraph = debugManager.registerGraph("Applied Torque");
+            forceGraph = debugManager.registerGraph("Applied Force");
+        }
     }
     
     @Override
@@ -53,7 +78,7 @@ public class PhysicsPlayerControlSystem extends IteratingSystem {
         Vec2 center = body.getWorldCenter();
         
         // Handle movement input
-        Vector2f moveDir = new Vector2f();
+        moveDir.zero();
         if (input.isKeyPressed(GLFW_KEY_W)) moveDir.y += 1;
         if (input.isKeyPressed(GLFW_KEY_S)) moveDir.y -= 1;
         if (input.isKeyPressed(GLFW_KEY_A)) moveDir.x -= 1;
@@ -66,15 +91,14 @@ public class PhysicsPlayerControlSystem extends IteratingSystem {
         if (moveDir.length() > 0) {
             moveDir.normalize();
             float force = controller.getMaxForce();
-            Vec2 impulse = new Vec2(moveDir.x * force * deltaTime, moveDir.y * force * deltaTime);
+            impulse.set(moveDir.x * force * deltaTime, moveDir.y * force * deltaTime);
             body.applyLinearImpulse(impulse, center);
         }
         
         // Handle aiming with mouse
-        Vector2f mousePos = input.getWorldMousePosition();
+        input.getWorldMousePosition(mousePos);
         Vector2f entityPos = transform.getPosition();
-        Vector2f aimDir = new Vector2f(mousePos).sub(entityPos);
-        float targetAngle = (float) Math.atan2(aimDir.y, aimDir.x);
+        float targetAngle = (float) Math.atan2(mousePos.y - entityPos.y, mousePos.x - entityPos.x);
         
         // Update controller's target angle
         controller.setTargetAngle(targetAngle);
@@ -97,13 +121,13 @@ public class PhysicsPlayerControlSystem extends IteratingSystem {
             Vec2 velocity = body.getLinearVelocity();
             float angularVelocity = body.getAngularVelocity();
             
-            debugManager.addGraphValue("Linear Velocity X", velocity.x);
-            debugManager.addGraphValue("Linear Velocity Y", velocity.y);
-            debugManager.addGraphValue("Speed", velocity.length());
-            debugManager.addGraphValue("Angular Velocity", angularVelocity);
-            debugManager.addGraphValue("Angle Difference", angleDiff);
-            debugManager.addGraphValue("Applied Torque", torque);
-            debugManager.addGraphValue("Applied Force", moveDir.length() * controller.getMaxForce());
+            linearVelocityXGraph.add(velocity.x);
+            linearVelocityYGraph.add(velocity.y);
+            speedGraph.add(velocity.length());
+            angularVelocityGraph.add(angularVelocity);
+            angleDifferenceGraph.add(angleDiff);
+            torqueGraph.add(torque);
+            forceGraph.add(moveDir.length() * controller.getMaxForce());
         }
     }
     
@@ -1,27 +1,57 @@
 package com.ur91k.jdiep.ecs.systems.physics;
 
 import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Engine;
 import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
 import com.badlogic.ashley.core.Family;
 import com.badlogic.ashley.systems.IteratingSystem;
 import com.ur91k.jdiep.ecs.components.physics.CollisionComponent;
 import com.ur91k.jdiep.ecs.components.transform.TransformComponent;
+import com.ur91k.jdiep.ecs.systems.core.EntityIdSystem;
 import org.jbox2d.callbacks.ContactImpulse;
 import org.jbox2d.callbacks.ContactListener;
 import org.jbox2d.collision.Manifold;
 import org.jbox2d.common.Vec2;
 import org.jbox2d.dynamics.Body;
+import org.jbox2d.dynamics.BodyType;
+import org.jbox2d.dynamics.Fixture;
 import org.jbox2d.dynamics.World;
 import org.jbox2d.dynamics.contacts.Contact;
 import org.joml.Vector2f;
 
-public class PhysicsSystem extends IteratingSystem implements ContactListener {
+import java.util.Arrays;
+
+/**
+ * Steps the Box2D world and copies body state back into transforms.
+ * Contacts are only recorded into a ContactEventBuffer during the step; gameplay reactions
+ * happen later in CollisionHandlingSystem, outside the solver. Bodies are destroyed when
+ * their entity is removed from the engine, or deactivated if the entity is pooled.
+ *
+ * The pose each body had before the latest sync is kept as well, so renderers can draw
+ * bodies between two ticks with getInterpolatedPosition() and getInterpolatedRotation().
+ */
+public class PhysicsSystem extends IteratingSystem implements ContactListener, EntityListener {
     private static final float TIME_STEP = 1.0f / 60.0f;
     private static final int VELOCITY_ITERATIONS = 6;
     private static final int POSITION_ITERATIONS = 2;
+    private static final int CONTACT_BUFFER_CAPACITY = 4096;
+    public static final float IMPACT_THRESHOLD = 0.5f;  // Smallest normal impulse recorded as an impact
     
     private final World world;
+    private final ContactEventBuffer contacts = new ContactEventBuffer(CONTACT_BUFFER_CAPACITY);
+    private EntityIdSystem idSystem;
     private float accumulator;
+    private boolean dirtyTracking = true;  // Only sync awake, non-static bodies
+    private int syncedBodies;
+    private long lastStepNanos;
+    
+    // Pose before the last sync and the sync it was taken in, by entity id
+    private float[] previousX = new float[256];
+    private float[] previousY = new float[256];
+    private float[] previousAngle = new float[256];
+    private int[] syncedTick = new int[256];
+    private int tick;
     
     private final ComponentMapper<TransformComponent> transformMapper;
     private final ComponentMapper<CollisionComponent> collisionMapper;
@@ -40,18 +70,137 @@ public class PhysicsSystem extends IteratingSystem implements ContactListener {
         this.collisionMapper = ComponentMapper.getFor(CollisionComponent.class);
     }
     
+    @Override
+    public void addedToEngine(Engine engine) {
+        super.addedToEngine(engine);
+        idSystem = engine.getSystem(EntityIdSystem.class);
+        if (idSystem == null) {
+            throw new IllegalStateException("PhysicsSystem requires an EntityIdSystem");
+        }
+        engine.addEntityListener(getFamily(), this);
+    }
+    
+    @Override
+    public void entityAdded(Entity entity) {
+        // Bodies are created lazily on the next sync
+        clearPreviousPose(entity);
+    }
+    
+    @Override
+    public void entityRemoved(Entity entity) {
+        clearPreviousPose(entity);  // The id may be reused by an entity without a body
+        CollisionComponent collision = collisionMapper.get(entity);
+        if (collision.isPooled()) {
+            // Kept for reuse, only taken out of the simulation
+            Body body = collision.getBody();
+            if (body != null) {
+                body.setActive(false);
+            }
+        } else {
+            collision.destroyBody(world);
+        }
+    }
+    
     @Override
     public void update(float deltaTime) {
+        stepWorld(deltaTime);
+        
+        // Update entity transforms from physics bodies
+        syncTransforms();
+    }
+    
+    /**
+     * Advances the Box2D world by as many fixed steps as deltaTime covers.
+     */
+    public void stepWorld(float deltaTime) {
         // Fixed timestep physics simulation
         accumulator += deltaTime;
         
+        long start = System.nanoTime();
         while (accumulator >= TIME_STEP) {
             world.step(TIME_STEP, VELOCITY_ITERATIONS, POSITION_ITERATIONS);
             accumulator -= TIME_STEP;
         }
-        
-        // Update entity transforms from physics bodies
-        super.update(deltaTime);
+        lastStepNanos = System.nanoTime() - start;
+    }
+    
+    /**
+     * Creates missing bodies and copies body state into transforms. Called by update() after stepping.
+     */
+    public void syncTransforms() {
+        syncedBodies = 0;
+        tick++;
+        super.update(0);
+    }
+    
+    /**
+     * Position between the pose before the last sync (alpha 0) and the current transform
+     * (alpha 1). Entities whose body was not synced in the last tick are returned as they are.
+     */
+    public Vector2f getInterpolatedPosition(Entity entity, float alpha, Vector2f dest) {
+        Vector2f current = transformMapper.get(entity).getPosition();
+        int id = EntityIdSystem.getId(entity);
+        if (id >= syncedTick.length || syncedTick[id] != tick) {
+            return dest.set(current);
+        }
+        return dest.set(
+            previousX[id] + (current.x - previousX[id]) * alpha,
+            previousY[id] + (current.y - previousY[id]) * alpha);
+    }
+    
+    /**
+     * Rotation counterpart of getInterpolatedPosition(). Box2D angles are not wrapped,
+     * so a plain lerp takes the short way.
+     */
+    public float getInterpolatedRotation(Entity entity, float alpha) {
+        float current = transformMapper.get(entity).getRotation();
+        int id = EntityIdSystem.getId(entity);
+        if (id >= syncedTick.length || syncedTick[id] != tick) {
+            return current;
+        }
+        return previousAngle[id] + (current - previousAngle[id]) * alpha;
+    }
+    
+    private void clearPreviousPose(Entity entity) {
+        int id = EntityIdSystem.getId(entity);
+        if (id < syncedTick.length) {
+            syncedTick[id] = -1;
+        }
+    }
+    
+    private void ensurePoseCapacity(int id) {
+        if (id < syncedTick.length) return;
+        int size = Math.max(id + 1, syncedTick.length * 2);
+        previousX = Arrays.copyOf(previousX, size);
+        previousY = Arrays.copyOf(previousY, size);
+        previousAngle = Arrays.copyOf(previousAngle, size);
+        syncedTick = Arrays.copyOf(syncedTick, size);
+    }
+    
+    /**
+     * When enabled (the default), transforms of static and sleeping bodies are left untouched.
+     * Disabling syncs every body every tick, for comparison.
+     */
+    public void setDirtyTracking(boolean dirtyTracking) {
+        this.dirtyTracking = dirtyTracking;
+    }
+    
+    public boolean isDirtyTracking() {
+        return dirtyTracking;
+    }
+    
+    /**
+     * Number of bodies copied into transforms by the last sync.
+     */
+    public int getSyncedBodyCount() {
+        return syncedBodies;
+    }
+    
+    /**
+     * Time the Box2D steps of the last stepWorld() took, without the transform sync.
+     */
+    public long getLastStepNanos() {
+        return lastStepNanos;
     }
     
     @Override
@@ -60,29 +209,50 @@ public class PhysicsSystem extends IteratingSystem implements ContactListener {
         CollisionComponent collision = collisionMapper.get(entity);
         
         Body body = collision.getBody();
+        boolean created = false;
         if (body == null) {
             // Create physics body if it doesn't exist
             collision.createBody(world, transform.getPosition(), transform.getRotation());
             body = collision.getBody();
+            created = true;
         }
         
-        // Update transform from physics body
+        boolean awake = body.isAwake();
+        if (dirtyTracking && !created) {
+            // Static bodies never move, sleeping ones have not moved since the sync after they fell asleep
+            if (body.getType() == BodyType.STATIC) {
+                return;
+            }
+            if (!awake && !collision.isAwakeAtLastSync()) {
+                return;
+            }
+        }
+        collision.setAwakeAtLastSync(awake);
+        syncedBodies++;
+        
+        // Keep the pose being replaced; a new body has no earlier pose to come from
         Vec2 position = body.getPosition();
-        transform.setPosition(new Vector2f(position.x, position.y));
+        int id = EntityIdSystem.getId(entity);
+        ensurePoseCapacity(id);
+        if (created) {
+            previousX[id] = position.x;
+            previousY[id] = position.y;
+            previousAngle[id] = body.getAngle();
+        } else {
+            previousX[id] = transform.getPosition().x;
+            previousY[id] = transform.getPosition().y;
+            previousAngle[id] = transform.getRotation();
+        }
+        syncedTick[id] = tick;
+        
+        // Update transform from physics body, writing into the existing vector
+        transform.setPosition(position.x, position.y);
         transform.setRotation(body.getAngle());
     }
     
     @Override
     public void beginContact(Contact contact) {
-        // Get the colliding entities
-        CollisionComponent compA = (CollisionComponent) contact.getFixtureA().getBody().getUserData();
-        CollisionComponent compB = (CollisionComponent) contact.getFixtureB().getBody().getUserData();
-        
-        if (compA != null && compB != null) {
-            // Handle collision events here
-            // You can get the entities and other components to handle gameplay logic
-            // For example: damage dealing, projectile hits, etc.
-        }
+        recordContact(ContactEventBuffer.BEGIN, contact, 0.0f);
     }
     
     @Override
@@ -97,7 +267,38 @@ public class PhysicsSystem extends IteratingSystem implements ContactListener {
     
     @Override
     public void postSolve(Contact contact, ContactImpulse impulse) {
-        // Handle post-collision effects if needed
+        // Called every step for touching contacts, so only hard hits are recorded
+        float normalImpulse = 0.0f;
+        for (int i = 0; i < impulse.count; i++) {
+            normalImpulse = Math.max(normalImpulse, impulse.normalImpulses[i]);
+        }
+        if (normalImpulse >= IMPACT_THRESHOLD) {
+            recordContact(ContactEventBuffer.IMPACT, contact, normalImpulse);
+        }
+    }
+    
+    private void recordContact(byte type, Contact contact, float impulse) {
+        Fixture fixtureA = contact.getFixtureA();
+        Fixture fixtureB = contact.getFixtureB();
+        Object dataA = fixtureA.getBody().getUserData();
+        Object dataB = fixtureB.getBody().getUserData();
+        if (!(dataA instanceof CollisionComponent) || !(dataB instanceof CollisionComponent)) {
+            return;
+        }
+        
+        int idA = EntityIdSystem.getId(((CollisionComponent) dataA).getEntity());
+        int idB = EntityIdSystem.getId(((CollisionComponent) dataB).getEntity());
+        contacts.add(type,
+            idA, idSystem.getGeneration(idA), (short) fixtureA.getFilterData().categoryBits,
+            idB, idSystem.getGeneration(idB), (short) fixtureB.getFilterData().categoryBits,
+            impulse);
+    }
+    
+    /**
+     * Contacts recorded during world steps, waiting to be handled.
+     */
+    public ContactEventBuffer getContacts() {
+        return contacts;
     }
     
     public void setGravity(float x, float y) {
@@ -109,7 +310,9 @@ public class PhysicsSystem extends IteratingSystem implements ContactListener {
     }
     
     @Override
-    public void removedFromEngine(com.badlogic.ashley.core.Engine engine) {
+    public void removedFromEngine(Engine engine) {
+        engine.removeEntityListener(this);
+        
         // Clean up physics bodies when system is removed
         for (Entity entity : getEntities()) {
             CollisionComponent collision = collisionMapper.get(entity);
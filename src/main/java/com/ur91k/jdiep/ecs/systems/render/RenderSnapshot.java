@@ -0,0 +1,245 @@
+package com.ur91k.jdiep.ecs.systems.render;
+
+import com.ur91k.jdiep.ecs.components.rendering.ShapeComponent;
+
+import java.util.Arrays;
+
+/**
+ * Everything the renderer needs from one simulation tick, copied out of the engine so it can be
+ * drawn on another thread. Entries are stored as parallel arrays in draw order, with the pose
+ * from the previous tick next to the current one so frames can interpolate between them.
+ * Written by RenderSnapshotSystem and handed over through RenderStateBuffer.
+ */
+public class RenderSnapshot {
+    public static final byte CIRCLE = 0;
+    public static final byte RECTANGLE = 1;
+    public static final byte POLYGON = 2;
+
+    private int count;
+
+    // Per entry, previous and current pose
+    private float[] previousX = new float[256];
+    private float[] previousY = new float[256];
+    private float[] previousRotation = new float[256];
+    private float[] x = new float[256];
+    private float[] y = new float[256];
+    private float[] rotation = new float[256];
+
+    // Per entry, what to draw
+    private int[] layer = new int[256];
+    private byte[] shape = new byte[256];
+    private float[] width = new float[256];   // Radius for circles
+    private float[] height = new float[256];
+    private int[] polygonShape = new int[256];  // PolygonShapes id, -1 for circles and rectangles
+    private float[] colors = new float[256 * 8];  // Fill then outline, RGBA each
+    private boolean[] outline = new boolean[256];
+
+    // Text labels, drawn over every entry. Screen space labels are placed at their offset alone
+    private int labelCount;
+    private String[] labelText = new String[16];
+    private boolean[] labelScreenSpace = new boolean[16];
+    private float[] labelPreviousX = new float[16];
+    private float[] labelPreviousY = new float[16];
+    private float[] labelX = new float[16];
+    private float[] labelY = new float[16];
+    private float[] labelOffsets = new float[16 * 2];  // Screen pixels
+    private float[] labelColors = new float[16 * 4];
+    private float[] labelScale = new float[16];
+
+    // Camera
+    private boolean hasCamera;
+    private float previousCameraX, previousCameraY;
+    private float cameraX, cameraY;
+    private float zoom = 1.0f;
+
+    // Timing, for interpolating between publishes
+    private long tick;
+    private long publishNanos;
+    private long tickNanos;
+
+    // Entities left out because they were off screen
+    private int culledCount;
+
+    public void clear() {
+        count = 0;
+        Arrays.fill(labelText, 0, labelCount, null);  // Let label strings go
+        labelCount = 0;
+        hasCamera = false;
+        culledCount = 0;
+    }
+
+    /**
+     * Appends an entry and returns its index. Colors and the polygon shape are set separately.
+     */
+    public int add(int entryLayer, byte entryShape, float entryWidth, float entryHeight,
+                   float prevX, float prevY, float prevRotation,
+                   float currentX, float currentY, float currentRotation) {
+        if (count == x.length) {
+            grow(count * 2);
+        }
+        int i = count++;
+        layer[i] = entryLayer;
+        shape[i] = entryShape;
+        width[i] = entryWidth;
+        height[i] = entryHeight;
+        previousX[i] = prevX;
+        previousY[i] = prevY;
+        previousRotation[i] = prevRotation;
+        x[i] = currentX;
+        y[i] = currentY;
+        rotation[i] = currentRotation;
+        polygonShape[i] = -1;
+        outline[i] = false;
+        return i;
+    }
+
+    public void setFill(int i, float r, float g, float b, float a) {
+        int c = i * 8;
+        colors[c] = r;
+        colors[c + 1] = g;
+        colors[c + 2] = b;
+        colors[c + 3] = a;
+    }
+
+    public void setOutline(int i, float r, float g, float b, float a) {
+        int c = i * 8 + 4;
+        colors[c] = r;
+        colors[c + 1] = g;
+        colors[c + 2] = b;
+        colors[c + 3] = a;
+        outline[i] = true;
+    }
+
+    public void setPolygonShape(int i, int shape) {
+        polygonShape[i] = shape;
+    }
+
+    /**
+     * Appends a label at a world position and returns its index. Offset and color are set separately.
+     */
+    public int addLabel(String text, boolean screenSpace, float scale,
+                        float prevX, float prevY, float currentX, float currentY) {
+        if (labelCount == labelText.length) {
+            growLabels(labelCount * 2);
+        }
+        int i = labelCount++;
+        labelText[i] = text;
+        labelScreenSpace[i] = screenSpace;
+        labelScale[i] = scale;
+        labelPreviousX[i] = prevX;
+        labelPreviousY[i] = prevY;
+        labelX[i] = currentX;
+        labelY[i] = currentY;
+        return i;
+    }
+
+    public void setLabelOffset(int i, float offsetX, float offsetY) {
+        labelOffsets[i * 2] = offsetX;
+        labelOffsets[i * 2 + 1] = offsetY;
+    }
+
+    public void setLabelColor(int i, float r, float g, float b, float a) {
+        int c = i * 4;
+        labelColors[c] = r;
+        labelColors[c + 1] = g;
+        labelColors[c + 2] = b;
+        labelColors[c + 3] = a;
+    }
+
+    public void setCamera(float prevX, float prevY, float currentX, float currentY, float cameraZoom) {
+        hasCamera = true;
+        previousCameraX = prevX;
+        previousCameraY = prevY;
+        cameraX = currentX;
+        cameraY = currentY;
+        zoom = cameraZoom;
+    }
+
+    void setTiming(long snapshotTick, long snapshotPublishNanos, long snapshotTickNanos) {
+        tick = snapshotTick;
+        publishNanos = snapshotPublishNanos;
+        tickNanos = snapshotTickNanos;
+    }
+
+    public void setCulledCount(int culledCount) {
+        this.culledCount = culledCount;
+    }
+
+    private void grow(int capacity) {
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        previousRotation = Arrays.copyOf(previousRotation, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        rotation = Arrays.copyOf(rotation, capacity);
+        layer = Arrays.copyOf(layer, capacity);
+        shape = Arrays.copyOf(shape, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        polygonShape = Arrays.copyOf(polygonShape, capacity);
+        colors = Arrays.copyOf(colors, capacity * 8);
+        outline = Arrays.copyOf(outline, capacity);
+    }
+
+    private void growLabels(int capacity) {
+        labelText = Arrays.copyOf(labelText, capacity);
+        labelScreenSpace = Arrays.copyOf(labelScreenSpace, capacity);
+        labelPreviousX = Arrays.copyOf(labelPreviousX, capacity);
+        labelPreviousY = Arrays.copyOf(labelPreviousY, capacity);
+        labelX = Arrays.copyOf(labelX, capacity);
+        labelY = Arrays.copyOf(labelY, capacity);
+        labelOffsets = Arrays.copyOf(labelOffsets, capacity * 2);
+        labelColors = Arrays.copyOf(labelColors, capacity * 4);
+        labelScale = Arrays.copyOf(labelScale, capacity);
+    }
+
+    /**
+     * How far the given time is from this snapshot's publish towards the next one, in [0, 1].
+     */
+    public float getAlpha(long nowNanos) {
+        if (tickNanos <= 0) return 1.0f;
+        float alpha = (float) (nowNanos - publishNanos) / tickNanos;
+        return Math.max(0.0f, Math.min(1.0f, alpha));
+    }
+
+    public float getX(int i, float alpha) { return previousX[i] + (x[i] - previousX[i]) * alpha; }
+    public float getY(int i, float alpha) { return previousY[i] + (y[i] - previousY[i]) * alpha; }
+
+    public float getRotation(int i, float alpha) { return previousRotation[i] + (rotation[i] - previousRotation[i]) * alpha; }
+
+    public float getCameraX(float alpha) { return previousCameraX + (cameraX - previousCameraX) * alpha; }
+    public float getCameraY(float alpha) { return previousCameraY + (cameraY - previousCameraY) * alpha; }
+
+    /**
+     * Maps a ShapeComponent type to the byte stored per entry.
+     */
+    public static byte shapeOf(ShapeComponent.ShapeType type) {
+        switch (type) {
+            case RECTANGLE: return RECTANGLE;
+            case POLYGON: return POLYGON;
+            default: return CIRCLE;
+        }
+    }
+
+    public int size() { return count; }
+    public int getLayer(int i) { return layer[i]; }
+    public byte getShape(int i) { return shape[i]; }
+    public float getWidth(int i) { return width[i]; }
+    public float getHeight(int i) { return height[i]; }
+    public int getPolygonShape(int i) { return polygonShape[i]; }
+    public boolean hasOutline(int i) { return outline[i]; }
+    public float getColor(int i, int channel) { return colors[i * 8 + channel]; }
+    public int getLabelCount() { return labelCount; }
+    public String getLabelText(int i) { return labelText[i]; }
+    public boolean isLabelScreenSpace(int i) { return labelScreenSpace[i]; }
+    public float getLabelScale(int i) { return labelScale[i]; }
+    public float getLabelX(int i, float alpha) { return labelPreviousX[i] + (labelX[i] - labelPreviousX[i]) * alpha; }
+    public float getLabelY(int i, float alpha) { return labelPreviousY[i] + (labelY[i] - labelPreviousY[i]) * alpha; }
+    public float getLabelOffsetX(int i) { return labelOffsets[i * 2]; }
+    public float getLabelOffsetY(int i) { return labelOffsets[i * 2 + 1]; }
+    public float getLabelColor(int i, int channel) { return labelColors[i * 4 + channel]; }
+    public boolean hasCamera() { return hasCamera; }
+    public float getZoom() { return zoom; }
+    public long getTick() { return tick; }
+    public int getCulledCount() { return culledCount; }
+}
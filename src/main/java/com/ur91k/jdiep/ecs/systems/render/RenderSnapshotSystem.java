@@ -0,0 +1,253 @@
+package com.ur91k.jdiep.ecs.systems.render;
+
+import com.badlogic.ashley.core.*;
+import com.badlogic.ashley.systems.SortedIteratingSystem;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.utils.Array;
+import com.ur91k.jdiep.ecs.components.camera.CameraComponent;
+import com.ur91k.jdiep.ecs.components.debug.LabelComponent;
+import com.ur91k.jdiep.ecs.components.rendering.ColorComponent;
+import com.ur91k.jdiep.ecs.components.rendering.ShapeComponent;
+import com.ur91k.jdiep.ecs.components.transform.TransformComponent;
+import com.ur91k.jdiep.ecs.systems.physics.PhysicsSystem;
+import com.ur91k.jdiep.ecs.systems.spatial.SpatialIndexSystem;
+import com.ur91k.jdiep.graphics.core.RenderLayer;
+import org.joml.Vector2f;
+import org.joml.Vector4f;
+
+import java.util.Comparator;
+
+/**
+ * Copies what RenderingSystem draws into a RenderSnapshot at the end of every simulation tick
+ * and publishes it through a RenderStateBuffer, so the render thread never reads the engine.
+ * Runs last in the simulation group, after the camera has moved.
+ */
+public class RenderSnapshotSystem extends SortedIteratingSystem {
+    // Extra world space around the view so outlines and shapes entering the screen are not cut off
+    private static final float CULL_MARGIN = 1.0f;
+
+    private final RenderStateBuffer buffer;
+    private final ComponentMapper<TransformComponent> transformMapper;
+    private final ComponentMapper<ShapeComponent> shapeMapper;
+    private final ComponentMapper<ColorComponent> colorMapper;
+    private final ComponentMapper<RenderLayer> layerMapper;
+    private final ComponentMapper<CameraComponent> cameraMapper;
+    private final ComponentMapper<LabelComponent> labelMapper;
+    private final Family cameraFamily = Family.all(CameraComponent.class, TransformComponent.class).get();
+    private final Family labelFamily = Family.all(LabelComponent.class).get();
+    private RenderSnapshot snapshot;
+    private long tick;
+
+    // View rectangle in world space covering the camera at the last two ticks, expanded by CULL_MARGIN
+    private boolean culling = false;
+    private float viewMinX, viewMinY, viewMaxX, viewMaxY;
+    private int capturedCount;
+    private int culledCount;
+
+    // Camera position at the previous tick, the start of this tick's interpolation
+    private boolean hasPreviousCamera;
+    private float previousCameraX, previousCameraY;
+
+    // Entities on screen when a spatial index is available, sorted by layer before capture
+    private SpatialIndexSystem spatialIndex;
+    private final Array<Entity> visibleEntities = new Array<>();
+    private final Comparator<Entity> layerComparator;
+
+    // Previous tick pose of physics bodies
+    private PhysicsSystem physicsSystem;
+
+    // Scratch values, reused every update
+    private final Vector2f previousPosition = new Vector2f();
+    private final Vector4f color = new Vector4f();
+    private final Vector2f offset = new Vector2f();
+
+    public RenderSnapshotSystem(RenderStateBuffer buffer) {
+        super(Family.all(TransformComponent.class, ShapeComponent.class, ColorComponent.class, RenderLayer.class).get(),
+              (e1, e2) -> {
+                  RenderLayer l1 = e1.getComponent(RenderLayer.class);
+                  RenderLayer l2 = e2.getComponent(RenderLayer.class);
+                  return Float.compare(l1.getLayer(), l2.getLayer());
+              });
+
+        this.buffer = buffer;
+        this.transformMapper = ComponentMapper.getFor(TransformComponent.class);
+        this.shapeMapper = ComponentMapper.getFor(ShapeComponent.class);
+        this.colorMapper = ComponentMapper.getFor(ColorComponent.class);
+        this.layerMapper = ComponentMapper.getFor(RenderLayer.class);
+        this.cameraMapper = ComponentMapper.getFor(CameraComponent.class);
+        this.labelMapper = ComponentMapper.getFor(LabelComponent.class);
+        this.layerComparator = (e1, e2) -> Integer.compare(
+            layerMapper.get(e1).getLayer(), layerMapper.get(e2).getLayer());
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        super.addedToEngine(engine);
+        spatialIndex = engine.getSystem(SpatialIndexSystem.class);
+        physicsSystem = engine.getSystem(PhysicsSystem.class);
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        super.removedFromEngine(engine);
+        spatialIndex = null;
+        physicsSystem = null;
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        snapshot = buffer.getWriteSnapshot();
+        snapshot.clear();
+
+        // Camera, and the area it shows between the previous tick and this one
+        ImmutableArray<Entity> cameras = getEngine().getEntitiesFor(cameraFamily);
+        float viewWidth = buffer.getViewWidth();
+        if (cameras.size() > 0 && viewWidth > 0) {
+            Entity camera = cameras.first();
+            CameraComponent cameraComp = cameraMapper.get(camera);
+            Vector2f cameraPos = transformMapper.get(camera).getPosition();
+            if (!hasPreviousCamera) {
+                previousCameraX = cameraPos.x;
+                previousCameraY = cameraPos.y;
+                hasPreviousCamera = true;
+            }
+            snapshot.setCamera(previousCameraX, previousCameraY, cameraPos.x, cameraPos.y, cameraComp.getZoom());
+
+            float halfWidth = viewWidth / 2 / cameraComp.getZoom() + CULL_MARGIN;
+            float halfHeight = buffer.getViewHeight() / 2 / cameraComp.getZoom() + CULL_MARGIN;
+            viewMinX = Math.min(cameraPos.x, previousCameraX) - halfWidth;
+            viewMinY = Math.min(cameraPos.y, previousCameraY) - halfHeight;
+            viewMaxX = Math.max(cameraPos.x, previousCameraX) + halfWidth;
+            viewMaxY = Math.max(cameraPos.y, previousCameraY) + halfHeight;
+            culling = true;
+
+            previousCameraX = cameraPos.x;
+            previousCameraY = cameraPos.y;
+        } else {
+            culling = false;  // No camera or no view yet, capture everything
+            hasPreviousCamera = false;
+        }
+
+        capturedCount = 0;
+        culledCount = 0;
+        if (culling && spatialIndex != null) {
+            captureVisibleEntities(deltaTime);
+        } else {
+            super.update(deltaTime);
+        }
+        snapshot.setCulledCount(culledCount);
+        captureLabels();
+
+        buffer.publish(tick++, (long) (deltaTime * 1_000_000_000L));
+        snapshot = null;
+    }
+
+    /**
+     * Captures only what the spatial index reports inside the view, so cost follows what is on screen.
+     */
+    private void captureVisibleEntities(float deltaTime) {
+        visibleEntities.clear();
+        spatialIndex.queryAabb(viewMinX, viewMinY, viewMaxX, viewMaxY, visibleEntities);
+
+        // The index also holds entities that are not drawable
+        Family family = getFamily();
+        int count = 0;
+        for (int i = 0; i < visibleEntities.size; i++) {
+            Entity entity = visibleEntities.get(i);
+            if (family.matches(entity)) {
+                visibleEntities.set(count++, entity);
+            }
+        }
+        visibleEntities.truncate(count);
+        visibleEntities.sort(layerComparator);
+
+        for (int i = 0; i < visibleEntities.size; i++) {
+            processEntity(visibleEntities.get(i), deltaTime);
+        }
+        culledCount = getEntities().size() - capturedCount;
+    }
+
+    /**
+     * Copies label text, resolving dynamic text here on the simulation thread, and where to draw it.
+     * Labels are few and debug only, so they are not culled.
+     */
+    private void captureLabels() {
+        ImmutableArray<Entity> labels = getEngine().getEntitiesFor(labelFamily);
+        for (int i = 0; i < labels.size(); i++) {
+            Entity entity = labels.get(i);
+            LabelComponent label = labelMapper.get(entity);
+            String text = label.getText();
+            if (text == null || text.isEmpty()) continue;
+
+            TransformComponent transform = transformMapper.get(entity);
+            boolean screenSpace = label.isScreenSpace();
+            if (!screenSpace && transform == null) continue;  // World labels need somewhere to be
+
+            float x = 0, y = 0;
+            previousPosition.zero();
+            if (!screenSpace) {
+                x = transform.getPosition().x;
+                y = transform.getPosition().y;
+                if (physicsSystem != null) {
+                    physicsSystem.getInterpolatedPosition(entity, 0.0f, previousPosition);
+                } else {
+                    previousPosition.set(x, y);
+                }
+            }
+            int l = snapshot.addLabel(text, screenSpace, label.getScale(), previousPosition.x, previousPosition.y, x, y);
+            label.getOffset(offset);
+            snapshot.setLabelOffset(l, offset.x, offset.y);
+            label.getColor(color);
+            snapshot.setLabelColor(l, color.x, color.y, color.z, color.w);
+        }
+    }
+
+    private boolean isVisible(TransformComponent transform, ShapeComponent shape) {
+        Vector2f position = transform.getPosition();
+        float radius = shape.getBoundingRadius();
+        return position.x + radius >= viewMinX && position.x - radius <= viewMaxX
+            && position.y + radius >= viewMinY && position.y - radius <= viewMaxY;
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        TransformComponent transform = transformMapper.get(entity);
+        ShapeComponent shape = shapeMapper.get(entity);
+        ColorComponent colorComp = colorMapper.get(entity);
+
+        if (culling && !isVisible(transform, shape)) {
+            culledCount++;
+            return;
+        }
+        capturedCount++;
+
+        // Physics bodies move between the last two ticks, everything else is drawn where it is
+        Vector2f position = transform.getPosition();
+        float rotation = transform.getRotation();
+        float previousRotation = rotation;
+        if (physicsSystem != null) {
+            physicsSystem.getInterpolatedPosition(entity, 0.0f, previousPosition);
+            previousRotation = physicsSystem.getInterpolatedRotation(entity, 0.0f);
+        } else {
+            previousPosition.set(position);
+        }
+
+        byte type = RenderSnapshot.shapeOf(shape.getType());
+        float width = type == RenderSnapshot.CIRCLE ? shape.getWidth() / 2 : shape.getWidth();
+        int i = snapshot.add(layerMapper.get(entity).getLayer(), type, width, shape.getHeight(),
+            previousPosition.x, previousPosition.y, previousRotation, position.x, position.y, rotation);
+
+        colorComp.getFillColor(color);
+        snapshot.setFill(i, color.x, color.y, color.z, color.w);
+        if (colorComp.hasOutline()) {
+            colorComp.getOutlineColor(color);
+            snapshot.setOutline(i, color.x, color.y, color.z, color.w);
+        }
+
+        if (type == RenderSnapshot.POLYGON) {
+            snapshot.setPolygonShape(i, shape.getPolygonShape());
+        }
+    }
+
+    public int getCapturedCount() { return capturedCount; }
+}
@@ -0,0 +1,62 @@
+package com.ur91k.jdiep.ecs.systems.render;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Triple buffer handing RenderSnapshots from the simulation thread to the render thread
+ * without locks. The writer fills its back snapshot and swaps it with the shared middle one;
+ * the reader swaps its front snapshot with the middle one when a newer one was published.
+ * Neither side ever waits, and each snapshot is owned by exactly one side at a time.
+ */
+public class RenderStateBuffer {
+    private static final int INDEX_MASK = 0b011;
+    private static final int FRESH = 0b100;  // Set when the middle snapshot has not been read yet
+
+    private final RenderSnapshot[] snapshots = {
+        new RenderSnapshot(), new RenderSnapshot(), new RenderSnapshot()
+    };
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;   // Simulation thread only
+    private int front = 2;  // Render thread only
+    private long publishedCount;
+
+    // Visible world area at zoom 1, reported by the render thread for culling at capture
+    private volatile float viewWidth;
+    private volatile float viewHeight;
+
+    /**
+     * The snapshot to fill for the next publish. Simulation thread only.
+     */
+    public RenderSnapshot getWriteSnapshot() {
+        return snapshots[back];
+    }
+
+    /**
+     * Makes the write snapshot available to the reader, replacing a previous one it has not taken yet.
+     */
+    public void publish(long tick, long tickNanos) {
+        snapshots[back].setTiming(tick, System.nanoTime(), tickNanos);
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+        publishedCount++;
+    }
+
+    /**
+     * The latest published snapshot, or the one returned last time when nothing new was published.
+     * Render thread only; the snapshot stays valid until the next call.
+     */
+    public RenderSnapshot acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return snapshots[front];
+    }
+
+    public void setViewSize(float width, float height) {
+        this.viewWidth = width;
+        this.viewHeight = height;
+    }
+
+    public float getViewWidth() { return viewWidth; }
+    public float getViewHeight() { return viewHeight; }
+    public long getPublishedCount() { return publishedCount; }
+}
@@ -1,147 +1,133 @@
 package com.ur91k.jdiep.ecs.systems.render;
 
-import com.badlogic.ashley.core.*;
-import com.badlogic.ashley.systems.SortedIteratingSystem;
-import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.ashley.core.EntitySystem;
 import com.ur91k.jdiep.core.window.Input;
-import com.ur91k.jdiep.ecs.components.camera.CameraComponent;
-import com.ur91k.jdiep.ecs.components.rendering.ColorComponent;
-import com.ur91k.jdiep.ecs.components.rendering.ShapeComponent;
-import com.ur91k.jdiep.ecs.components.transform.TransformComponent;
-import com.ur91k.jdiep.graphics.core.RenderLayer;
 import com.ur91k.jdiep.graphics.core.Renderer;
 import com.ur91k.jdiep.game.config.GameUnits;
 import org.joml.Matrix4f;
 import org.joml.Vector2f;
+import org.joml.Vector4f;
 
-import java.util.Comparator;
-
-public class RenderingSystem extends SortedIteratingSystem {
+/**
+ * Draws the latest RenderSnapshot on the render thread. Never touches entities, so it can run
+ * while the simulation thread updates the engine; frames interpolate between the snapshot's
+ * previous and current tick by the time passed since it was published.
+ */
+public class RenderingSystem extends EntitySystem {
     private final Renderer renderer;
     private final Input input;
-    private final ComponentMapper<TransformComponent> transformMapper;
-    private final ComponentMapper<ShapeComponent> shapeMapper;
-    private final ComponentMapper<ColorComponent> colorMapper;
-    private final ComponentMapper<RenderLayer> layerMapper;
-    private final ComponentMapper<CameraComponent> cameraMapper;
-    private Matrix4f viewMatrix = new Matrix4f();
-    
-    public RenderingSystem(Renderer renderer, Input input) {
-        super(Family.all(TransformComponent.class, ShapeComponent.class, ColorComponent.class, RenderLayer.class).get(),
-              (e1, e2) -> {
-                  RenderLayer l1 = e1.getComponent(RenderLayer.class);
-                  RenderLayer l2 = e2.getComponent(RenderLayer.class);
-                  return Float.compare(l1.getLayer(), l2.getLayer());
-              });
-        
+    private final RenderStateBuffer buffer;
+    private final Matrix4f viewMatrix = new Matrix4f();
+    private int drawnCount;
+    private long lastTick = -1;
+    private long repeatedFrames;  // Frames drawn from a snapshot that was already drawn
+
+    // Scratch values, reused every frame
+    private final Vector2f position = new Vector2f();
+    private final Vector2f dimensions = new Vector2f();
+    private final Vector4f fillColor = new Vector4f();
+    private final Vector4f outlineColor = new Vector4f();
+
+    public RenderingSystem(Renderer renderer, Input input, RenderStateBuffer buffer) {
         this.renderer = renderer;
         this.input = input;
-        this.transformMapper = ComponentMapper.getFor(TransformComponent.class);
-        this.shapeMapper = ComponentMapper.getFor(ShapeComponent.class);
-        this.colorMapper = ComponentMapper.getFor(ColorComponent.class);
-        this.layerMapper = ComponentMapper.getFor(RenderLayer.class);
-        this.cameraMapper = ComponentMapper.getFor(CameraComponent.class);
+        this.buffer = buffer;
     }
-    
+
     @Override
     public void update(float deltaTime) {
-        // Find active camera and update view matrix
-        ImmutableArray<Entity> cameras = getEngine().getEntitiesFor(
-            Family.all(CameraComponent.class, TransformComponent.class).get()
-        );
-        
-        if (cameras.size() > 0) {
-            Entity camera = cameras.first();
-            CameraComponent cameraComp = cameraMapper.get(camera);
-            TransformComponent cameraTransform = transformMapper.get(camera);
-            
+        // Let capture cull against what this window shows
+        buffer.setViewSize(renderer.getViewWidth(), renderer.getViewHeight());
+
+        RenderSnapshot snapshot = buffer.acquire();
+        float alpha = snapshot.getAlpha(System.nanoTime());
+        if (snapshot.getTick() == lastTick) {
+            repeatedFrames++;
+        }
+        lastTick = snapshot.getTick();
+
+        if (snapshot.hasCamera()) {
             // Update view matrix
-            viewMatrix = new Matrix4f()
-                .scale(cameraComp.getZoom())  // Apply zoom first
-                .translate(-cameraTransform.getPosition().x, -cameraTransform.getPosition().y, 0);  // Then translate
-            
+            viewMatrix.identity()
+                .scale(snapshot.getZoom())  // Apply zoom first
+                .translate(-snapshot.getCameraX(alpha), -snapshot.getCameraY(alpha), 0);  // Then translate
+
             renderer.setView(viewMatrix);
             input.setViewMatrix(viewMatrix);  // Update input system with same view matrix
         }
-        
+
+        renderer.beginFrame();
+
         // Draw background grid
         renderer.drawGrid();
-        
-        // Draw entities
-        super.update(deltaTime);
+
+        // Draw entries, already culled and sorted by layer
+        drawnCount = snapshot.size();
+        for (int i = 0; i < drawnCount; i++) {
+            drawEntry(snapshot, i, alpha);
+        }
+        renderer.getStats().recordCulling(drawnCount, snapshot.getCulledCount());
+
+        // Labels are queued here and drawn over every layer when the frame ends
+        for (int i = 0; i < snapshot.getLabelCount(); i++) {
+            drawLabel(snapshot, i, alpha);
+        }
+
+        // Flush shapes still queued by the batcher, then the labels
+        renderer.endFrame();
     }
-    
-    @Override
-    protected void processEntity(Entity entity, float deltaTime) {
-        TransformComponent transform = transformMapper.get(entity);
-        ShapeComponent shape = shapeMapper.get(entity);
-        ColorComponent color = colorMapper.get(entity);
-        
-        // Draw shape
-        if (shape.getType() == ShapeComponent.ShapeType.CIRCLE) {
-            float radius = shape.getRadius();
-            if (color.hasOutline()) {
-                // Draw outline
-                renderer.drawCircle(
-                    transform.getPosition(),
-                    radius,
-                    color.getOutlineColor(),
-                    GameUnits.DEFAULT_LINE_THICKNESS,
-                    false
-                );
+
+    private void drawEntry(RenderSnapshot snapshot, int i, float alpha) {
+        position.set(snapshot.getX(i, alpha), snapshot.getY(i, alpha));
+        float rotation = snapshot.getRotation(i, alpha);
+        boolean hasOutline = snapshot.hasOutline(i);
+        fillColor.set(snapshot.getColor(i, 0), snapshot.getColor(i, 1), snapshot.getColor(i, 2), snapshot.getColor(i, 3));
+        if (hasOutline) {
+            outlineColor.set(snapshot.getColor(i, 4), snapshot.getColor(i, 5), snapshot.getColor(i, 6), snapshot.getColor(i, 7));
+        }
+
+        // Entries arrive sorted by layer, so batches are flushed once per layer
+        renderer.setLayer(snapshot.getLayer(i));
+
+        // Draw shape, outline and fill together
+        byte shape = snapshot.getShape(i);
+        if (shape == RenderSnapshot.CIRCLE) {
+            float radius = snapshot.getWidth(i);
+            if (hasOutline) {
+                renderer.drawCircle(position, radius, fillColor, outlineColor, GameUnits.DEFAULT_LINE_THICKNESS);
+            } else {
+                renderer.drawCircle(position, radius, fillColor, GameUnits.DEFAULT_LINE_THICKNESS, true);
             }
-            // Draw fill
-            renderer.drawCircle(
-                transform.getPosition(),
-                radius,
-                color.getFillColor(),
-                GameUnits.DEFAULT_LINE_THICKNESS,
-                true
-            );
-        } else if (shape.getType() == ShapeComponent.ShapeType.RECTANGLE) {
-            Vector2f dimensions = shape.getDimensions();
-            if (color.hasOutline()) {
-                // Draw outline
-                renderer.drawRectangle(
-                    transform.getPosition(),
-                    dimensions,
-                    transform.getRotation(),
-                    color.getOutlineColor(),
-                    GameUnits.DEFAULT_LINE_THICKNESS,
-                    false
-                );
+        } else if (shape == RenderSnapshot.RECTANGLE) {
+            dimensions.set(snapshot.getWidth(i), snapshot.getHeight(i));
+            if (hasOutline) {
+                renderer.drawRectangle(position, dimensions, rotation, fillColor, outlineColor, GameUnits.DEFAULT_LINE_THICKNESS);
+            } else {
+                renderer.drawRectangle(position, dimensions, rotation, fillColor, GameUnits.DEFAULT_LINE_THICKNESS, true);
             }
-            // Draw fill
-            renderer.drawRectangle(
-                transform.getPosition(),
-                dimensions,
-                transform.getRotation(),
-                color.getFillColor(),
-                GameUnits.DEFAULT_LINE_THICKNESS,
-                true
-            );
-        } else if (shape.getType() == ShapeComponent.ShapeType.POLYGON) {
-            Vector2f[] vertices = shape.getVertices();
-            if (color.hasOutline()) {
-                // Draw outline
-                renderer.drawPolygon(
-                    transform.getPosition(),
-                    vertices,
-                    transform.getRotation(),
-                    color.getOutlineColor(),
-                    GameUnits.DEFAULT_LINE_THICKNESS,
-                    false
-                );
+        } else if (shape == RenderSnapshot.POLYGON) {
+            int polygon = snapshot.getPolygonShape(i);
+            if (hasOutline) {
+                renderer.drawPolygon(position, polygon, rotation, fillColor, outlineColor, GameUnits.DEFAULT_LINE_THICKNESS);
+            } else {
+                renderer.drawPolygon(position, polygon, rotation, fillColor, GameUnits.DEFAULT_LINE_THICKNESS, true);
             }
-            // Draw fill
-            renderer.drawPolygon(
-                transform.getPosition(),
-                vertices,
-                transform.getRotation(),
-                color.getFillColor(),
-                GameUnits.DEFAULT_LINE_THICKNESS,
-                true
-            );
         }
     }
-} 
\ No newline at end of file
+
+    private void drawLabel(RenderSnapshot snapshot, int i, float alpha) {
+        if (snapshot.isLabelScreenSpace(i)) {
+            position.zero();
+        } else {
+            position.set(snapshot.getLabelX(i, alpha), snapshot.getLabelY(i, alpha));
+            renderer.worldToScreen(position, position);
+        }
+        position.add(snapshot.getLabelOffsetX(i), snapshot.getLabelOffsetY(i));
+        fillColor.set(snapshot.getLabelColor(i, 0), snapshot.getLabelColor(i, 1),
+            snapshot.getLabelColor(i, 2), snapshot.getLabelColor(i, 3));
+        renderer.drawText(snapshot.getLabelText(i), position, fillColor, snapshot.getLabelScale(i));
+    }
+
+    public int getDrawnCount() { return drawnCount; }
+    public long getRepeatedFrames() { return repeatedFrames; }
+}
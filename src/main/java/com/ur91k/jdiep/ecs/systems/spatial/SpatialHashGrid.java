@@ -0,0 +1,256 @@
+package com.ur91k.jdiep.ecs.systems.spatial;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongMap;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid that hashes entity ids by the cells their bounding circle overlaps.
+ *
+ * Updates are incremental: an entry only moves between cells when the range of cells
+ * it covers changes. Entries covering too many cells (world walls and the like) are kept
+ * in a separate list that every query checks. Queries do not allocate.
+ */
+public class SpatialHashGrid {
+    private static final int MAX_CELLS_PER_ENTRY = 64;
+    private static final int INITIAL_CAPACITY = 256;
+
+    private static class Cell {
+        int[] ids = new int[8];
+        int size;
+
+        void add(int id) {
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            ids[size++] = id;
+        }
+
+        void remove(int id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private final float cellSize;
+    private final float inverseCellSize;
+    private final LongMap<Cell> cells = new LongMap<>();
+    private final IntArray largeIds = new IntArray();
+
+    // Per-entry state indexed by id
+    private boolean[] present = new boolean[INITIAL_CAPACITY];
+    private boolean[] large = new boolean[INITIAL_CAPACITY];
+    private float[] x = new float[INITIAL_CAPACITY];
+    private float[] y = new float[INITIAL_CAPACITY];
+    private float[] radius = new float[INITIAL_CAPACITY];
+    private int[] minCellX = new int[INITIAL_CAPACITY];
+    private int[] minCellY = new int[INITIAL_CAPACITY];
+    private int[] maxCellX = new int[INITIAL_CAPACITY];
+    private int[] maxCellY = new int[INITIAL_CAPACITY];
+    private int[] queryStamp = new int[INITIAL_CAPACITY];  // Dedupes entries found in several cells
+    private int currentStamp = 0;
+    private int size = 0;
+
+    public SpatialHashGrid(float cellSize) {
+        if (cellSize <= 0) throw new IllegalArgumentException("Cell size must be positive");
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1.0f / cellSize;
+    }
+
+    /**
+     * Inserts or moves an entry.
+     */
+    public void update(int id, float x, float y, float radius) {
+        ensureCapacity(id + 1);
+        int newMinX = cellCoord(x - radius);
+        int newMinY = cellCoord(y - radius);
+        int newMaxX = cellCoord(x + radius);
+        int newMaxY = cellCoord(y + radius);
+
+        if (present[id]) {
+            if (newMinX == minCellX[id] && newMinY == minCellY[id]
+                    && newMaxX == maxCellX[id] && newMaxY == maxCellY[id]) {
+                // Same cells, only the stored bounds change
+                this.x[id] = x;
+                this.y[id] = y;
+                this.radius[id] = radius;
+                return;
+            }
+            unlink(id);
+        } else {
+            present[id] = true;
+            size++;
+        }
+
+        this.x[id] = x;
+        this.y[id] = y;
+        this.radius[id] = radius;
+        minCellX[id] = newMinX;
+        minCellY[id] = newMinY;
+        maxCellX[id] = newMaxX;
+        maxCellY[id] = newMaxY;
+
+        long cellCount = (long) (newMaxX - newMinX + 1) * (newMaxY - newMinY + 1);
+        if (cellCount > MAX_CELLS_PER_ENTRY) {
+            large[id] = true;
+            largeIds.add(id);
+            return;
+        }
+        large[id] = false;
+        for (int cx = newMinX; cx <= newMaxX; cx++) {
+            for (int cy = newMinY; cy <= newMaxY; cy++) {
+                long key = key(cx, cy);
+                Cell cell = cells.get(key);
+                if (cell == null) {
+                    cell = new Cell();
+                    cells.put(key, cell);
+                }
+                cell.add(id);
+            }
+        }
+    }
+
+    public void remove(int id) {
+        if (id >= present.length || !present[id]) return;
+        unlink(id);
+        present[id] = false;
+        size--;
+    }
+
+    private void unlink(int id) {
+        if (large[id]) {
+            largeIds.removeValue(id);
+            return;
+        }
+        for (int cx = minCellX[id]; cx <= maxCellX[id]; cx++) {
+            for (int cy = minCellY[id]; cy <= maxCellY[id]; cy++) {
+                Cell cell = cells.get(key(cx, cy));
+                if (cell != null) cell.remove(id);
+            }
+        }
+    }
+
+    public void clear() {
+        cells.clear();
+        largeIds.clear();
+        Arrays.fill(present, false);
+        size = 0;
+    }
+
+    /**
+     * Appends the ids of all entries whose bounding circle overlaps the given circle.
+     * @return number of ids appended
+     */
+    public int queryRadius(float centerX, float centerY, float queryRadius, IntArray out) {
+        int stamp = nextStamp();
+        int start = out.size;
+        int minX = cellCoord(centerX - queryRadius);
+        int minY = cellCoord(centerY - queryRadius);
+        int maxX = cellCoord(centerX + queryRadius);
+        int maxY = cellCoord(centerY + queryRadius);
+
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                Cell cell = cells.get(key(cx, cy));
+                if (cell == null) continue;
+                for (int i = 0; i < cell.size; i++) {
+                    int id = cell.ids[i];
+                    if (queryStamp[id] == stamp) continue;
+                    queryStamp[id] = stamp;
+                    if (overlapsCircle(id, centerX, centerY, queryRadius)) out.add(id);
+                }
+            }
+        }
+        for (int i = 0; i < largeIds.size; i++) {
+            int id = largeIds.get(i);
+            if (overlapsCircle(id, centerX, centerY, queryRadius)) out.add(id);
+        }
+        return out.size - start;
+    }
+
+    /**
+     * Appends the ids of all entries whose bounding circle overlaps the given box.
+     * @return number of ids appended
+     */
+    public int queryAabb(float minX, float minY, float maxX, float maxY, IntArray out) {
+        int stamp = nextStamp();
+        int start = out.size;
+        int minCx = cellCoord(minX);
+        int minCy = cellCoord(minY);
+        int maxCx = cellCoord(maxX);
+        int maxCy = cellCoord(maxY);
+
+        for (int cx = minCx; cx <= maxCx; cx++) {
+            for (int cy = minCy; cy <= maxCy; cy++) {
+                Cell cell = cells.get(key(cx, cy));
+                if (cell == null) continue;
+                for (int i = 0; i < cell.size; i++) {
+                    int id = cell.ids[i];
+                    if (queryStamp[id] == stamp) continue;
+                    queryStamp[id] = stamp;
+                    if (overlapsBox(id, minX, minY, maxX, maxY)) out.add(id);
+                }
+            }
+        }
+        for (int i = 0; i < largeIds.size; i++) {
+            int id = largeIds.get(i);
+            if (overlapsBox(id, minX, minY, maxX, maxY)) out.add(id);
+        }
+        return out.size - start;
+    }
+
+    private boolean overlapsCircle(int id, float centerX, float centerY, float queryRadius) {
+        float dx = x[id] - centerX;
+        float dy = y[id] - centerY;
+        float r = radius[id] + queryRadius;
+        return dx * dx + dy * dy <= r * r;
+    }
+
+    private boolean overlapsBox(int id, float minX, float minY, float maxX, float maxY) {
+        // Distance from the circle center to the closest point of the box
+        float dx = x[id] - Math.max(minX, Math.min(x[id], maxX));
+        float dy = y[id] - Math.max(minY, Math.min(y[id], maxY));
+        return dx * dx + dy * dy <= radius[id] * radius[id];
+    }
+
+    private int nextStamp() {
+        if (++currentStamp == Integer.MAX_VALUE) {
+            Arrays.fill(queryStamp, 0);
+            currentStamp = 1;
+        }
+        return currentStamp;
+    }
+
+    private int cellCoord(float value) {
+        return (int) Math.floor(value * inverseCellSize);
+    }
+
+    private static long key(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= present.length) return;
+        int n = Math.max(capacity, present.length * 2);
+        present = Arrays.copyOf(present, n);
+        large = Arrays.copyOf(large, n);
+        x = Arrays.copyOf(x, n);
+        y = Arrays.copyOf(y, n);
+        radius = Arrays.copyOf(radius, n);
+        minCellX = Arrays.copyOf(minCellX, n);
+        minCellY = Arrays.copyOf(minCellY, n);
+        maxCellX = Arrays.copyOf(maxCellX, n);
+        maxCellY = Arrays.copyOf(maxCellY, n);
+        queryStamp = Arrays.copyOf(queryStamp, n);
+    }
+
+    public boolean contains(int id) { return id < present.length && present[id]; }
+    public float getX(int id) { return x[id]; }
+    public float getY(int id) { return y[id]; }
+    public float getRadius(int id) { return radius[id]; }
+    public float getCellSize() { return cellSize; }
+    public int size() { return size; }
+}
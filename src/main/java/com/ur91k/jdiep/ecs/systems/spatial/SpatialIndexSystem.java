@@ -0,0 +1,142 @@
+package com.ur91k.jdiep.ecs.systems.spatial;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.ur91k.jdiep.ecs.components.rendering.ShapeComponent;
+import com.ur91k.jdiep.ecs.components.transform.TransformComponent;
+import com.ur91k.jdiep.ecs.systems.core.EntityIdSystem;
+import org.joml.Vector2f;
+
+import java.util.Arrays;
+
+/**
+ * Keeps a spatial hash of every entity with a transform and shape, so systems can ask
+ * which entities are near a point without walking all of them.
+ * Positions are refreshed every update; should run right after physics has synced transforms.
+ */
+public class SpatialIndexSystem extends IteratingSystem implements EntityListener {
+    public static final float DEFAULT_CELL_SIZE = 8.0f;  // Meters, a few tank widths
+
+    private final SpatialHashGrid grid;
+    private final ComponentMapper<TransformComponent> transformMapper;
+    private final ComponentMapper<ShapeComponent> shapeMapper;
+    private final IntArray queryIds = new IntArray();
+    private EntityIdSystem idSystem;
+    private int[] indexedVersions = new int[256];  // Transform version last written to the grid, by id
+
+    public SpatialIndexSystem() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    public SpatialIndexSystem(float cellSize) {
+        super(Family.all(TransformComponent.class, ShapeComponent.class).get());
+        this.grid = new SpatialHashGrid(cellSize);
+        this.transformMapper = ComponentMapper.getFor(TransformComponent.class);
+        this.shapeMapper = ComponentMapper.getFor(ShapeComponent.class);
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        super.addedToEngine(engine);
+        idSystem = engine.getSystem(EntityIdSystem.class);
+        if (idSystem == null) {
+            throw new IllegalStateException("SpatialIndexSystem requires an EntityIdSystem");
+        }
+        engine.addEntityListener(getFamily(), this);
+        for (Entity entity : getEntities()) {
+            entityAdded(entity);
+        }
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        super.removedFromEngine(engine);
+        engine.removeEntityListener(this);
+        grid.clear();
+    }
+
+    @Override
+    public void entityAdded(Entity entity) {
+        // Index right away so queries in the same tick can find it
+        index(entity, EntityIdSystem.getId(entity));
+    }
+
+    @Override
+    public void entityRemoved(Entity entity) {
+        grid.remove(EntityIdSystem.getId(entity));
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        int id = EntityIdSystem.getId(entity);
+        // Entities that have not moved keep their cells
+        if (id < indexedVersions.length && grid.contains(id)
+                && indexedVersions[id] == transformMapper.get(entity).getVersion()) {
+            return;
+        }
+        index(entity, id);
+    }
+    
+    private void index(Entity entity, int id) {
+        TransformComponent transform = transformMapper.get(entity);
+        Vector2f position = transform.getPosition();
+        grid.update(id, position.x, position.y, shapeMapper.get(entity).getBoundingRadius());
+        if (id >= indexedVersions.length) {
+            indexedVersions = Arrays.copyOf(indexedVersions, Math.max(id + 1, indexedVersions.length * 2));
+        }
+        indexedVersions[id] = transform.getVersion();
+    }
+
+    /**
+     * Appends the ids of entities overlapping the circle. Use getEntity(id) to resolve them.
+     */
+    public int queryRadius(float x, float y, float radius, IntArray out) {
+        return grid.queryRadius(x, y, radius, out);
+    }
+
+    /**
+     * Appends the ids of entities overlapping the box. Use getEntity(id) to resolve them.
+     */
+    public int queryAabb(float minX, float minY, float maxX, float maxY, IntArray out) {
+        return grid.queryAabb(minX, minY, maxX, maxY, out);
+    }
+
+    /**
+     * Appends the entities overlapping the circle.
+     */
+    public int queryRadius(float x, float y, float radius, Array<Entity> out) {
+        queryIds.clear();
+        grid.queryRadius(x, y, radius, queryIds);
+        return resolve(out);
+    }
+
+    /**
+     * Appends the entities overlapping the box.
+     */
+    public int queryAabb(float minX, float minY, float maxX, float maxY, Array<Entity> out) {
+        queryIds.clear();
+        grid.queryAabb(minX, minY, maxX, maxY, queryIds);
+        return resolve(out);
+    }
+
+    private int resolve(Array<Entity> out) {
+        for (int i = 0; i < queryIds.size; i++) {
+            out.add(idSystem.getEntity(queryIds.get(i)));
+        }
+        return queryIds.size;
+    }
+
+    public Entity getEntity(int id) {
+        return idSystem.getEntity(id);
+    }
+
+    public SpatialHashGrid getGrid() {
+        return grid;
+    }
+}
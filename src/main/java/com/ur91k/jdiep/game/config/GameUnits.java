@@ -41,6 +41,11 @@ public class GameUnits {
         public static final float LARGE_SIDE_LENGTH = 4.80f;
     }
     
+    // Bullet dimensions (in meters)
+    public static class Bullet {
+        public static final float RADIUS = 1.0f;
+    }
+    
     // Drone dimensions (in meters)
     public static class Drone {
         public static final float SIDE_LENGTH = 1.0f;
@@ -38,6 +38,9 @@ public class RenderingConstants {
     public static final Vector4f BULLET_FILL_COLOR = new Vector4f(0.8f, 0.2f, 0.2f, 1.0f);  // Red
     public static final Vector4f BULLET_OUTLINE_COLOR = new Vector4f(0.6f, 0.1f, 0.1f, 1.0f);
     
+    // Label colors
+    public static final Vector4f LABEL_COLOR = rgb(0x555555);
+    
     // Layer constants
     public static final float LAYER_SPACING = 0.01f;  // Space between layers
     
@@ -0,0 +1,51 @@
+package com.ur91k.jdiep.graphics.core;
+
+import org.joml.Matrix4f;
+import org.lwjgl.BufferUtils;
+
+import java.nio.FloatBuffer;
+
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL30.glBindBufferBase;
+import static org.lwjgl.opengl.GL31.GL_UNIFORM_BUFFER;
+
+/**
+ * Uniform buffer holding the projection and view matrices shared by every world space shader.
+ * Shaders declare it as
+ *
+ *     layout (std140) uniform Frame { mat4 projection; mat4 view; };
+ *
+ * and are bound to it once with ShaderProgram.bindUniformBlock(BLOCK_NAME, BINDING). The
+ * matrices are uploaded only when they change, not for every draw.
+ */
+public class FrameUniforms {
+    public static final String BLOCK_NAME = "Frame";
+    public static final int BINDING = 0;
+    private static final int FLOATS = 32;  // Two std140 mat4s
+
+    private final int ubo;
+    private final FloatBuffer buffer = BufferUtils.createFloatBuffer(FLOATS);
+    private final RenderStats stats;
+
+    public FrameUniforms(RenderStats stats) {
+        this.stats = stats;
+        this.ubo = glGenBuffers();
+        glBindBuffer(GL_UNIFORM_BUFFER, ubo);
+        glBufferData(GL_UNIFORM_BUFFER, (long) FLOATS * Float.BYTES, GL_DYNAMIC_DRAW);
+        glBindBuffer(GL_UNIFORM_BUFFER, 0);
+        glBindBufferBase(GL_UNIFORM_BUFFER, BINDING, ubo);
+    }
+
+    public void update(Matrix4f projection, Matrix4f view) {
+        projection.get(0, buffer);
+        view.get(16, buffer);
+        glBindBuffer(GL_UNIFORM_BUFFER, ubo);
+        glBufferSubData(GL_UNIFORM_BUFFER, 0, buffer);
+        glBindBuffer(GL_UNIFORM_BUFFER, 0);
+        stats.recordGlCalls(3);
+    }
+
+    public void cleanup() {
+        glDeleteBuffers(ubo);
+    }
+}
@@ -7,8 +7,10 @@ import org.lwjgl.BufferUtils;
 import com.ur91k.jdiep.graphics.config.RenderingConstants;
 import com.ur91k.jdiep.core.window.Input;
 import com.ur91k.jdiep.game.config.GameUnits;
+import com.ur91k.jdiep.graphics.text.TextRenderer;
 
 import java.nio.FloatBuffer;
+import java.util.Arrays;
 
 import static org.lwjgl.opengl.GL11.*;
 import static org.lwjgl.opengl.GL15.*;
@@ -17,21 +19,44 @@ import static org.lwjgl.opengl.GL30.*;
 
 public class OpenGLRenderer implements Renderer {
     private final ShaderProgram shader;
+    private final ShaderProgram gridShader;
     private final Matrix4f projection;
     private final Matrix4f view;
     private final int vao;
-    private final int vbo;
-    private final int gridVao;
-    private final int gridVbo;
-    private static final int GRID_SIZE = 1024;
-    private static final int CIRCLE_SEGMENTS = 32;
+    private final StreamBuffer stream;  // Every per-frame vertex, shared with the batcher and text
+    private final int gridVao;  // Empty, the grid's vertices come from gl_VertexID
+    private final FrameUniforms frameUniforms;
+    private static final int IMMEDIATE_BUFFER_FLOATS = 2048;  // Fits the finest circle outline, grows for larger polygons
+    private static final long STREAM_SEGMENT_BYTES = 1024 * 1024;  // Per frame, grows if a frame needs more
     private static final float GRID_SPACING = GameUnits.GRID_CELL_SIZE;  // 1 meter per grid cell
     private static final float BASE_VIEW_HEIGHT = GameUnits.pixelsToMeters(720.0f);  // Convert default height to meters
     private static final float MAX_ASPECT_RATIO = 16.0f / 9.0f;  // Maximum allowed aspect ratio
     private final Input input;
+    private final RenderStats stats = new RenderStats();
+    private final ShapeBatcher batcher;
+    private final TextRenderer textRenderer;
+    private boolean batching = true;
     private int windowWidth;
     private int windowHeight;
     private float aspectRatio;
+    private float viewWidth;   // Visible world size at zoom 1
+    private float viewHeight;
+
+    // Immediate path circles: unit circle per level of detail, computed once, and reused scratch space
+    private final float[][] unitCircleX = new float[ShapeGeometry.CIRCLE_LODS][];
+    private final float[][] unitCircleY = new float[ShapeGeometry.CIRCLE_LODS][];
+    private final Vector2f[][] circlePoints = new Vector2f[ShapeGeometry.CIRCLE_LODS][];
+    private FloatBuffer immediateVertices = BufferUtils.createFloatBuffer(IMMEDIATE_BUFFER_FLOATS);
+
+    // Immediate path rectangles and polygons: world space points, and outline normals and miters
+    private Vector2f[] immediatePoints = new Vector2f[0];
+    private final Vector2f prevNormal = new Vector2f();
+    private final Vector2f currNormal = new Vector2f();
+    private final Vector2f nextNormal = new Vector2f();
+    private final Vector2f miter = new Vector2f();
+    private final Vector2f nextMiter = new Vector2f();
+    private float pixelsPerUnit;
+    private final Vector4f clipSpace = new Vector4f();
 
     public OpenGLRenderer(int windowWidth, int windowHeight, Input input) {
         this.input = input;
@@ -50,6 +75,9 @@ public class OpenGLRenderer implements Renderer {
             viewWidth = viewHeight * rawAspectRatio;
         }
         
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+        
         // Initialize projection matrix
         this.projection = new Matrix4f().ortho(
             -viewWidth/2.0f, viewWidth/2.0f,
@@ -58,27 +86,57 @@ public class OpenGLRenderer implements Renderer {
         );
         this.view = new Matrix4f();
 
+        // Projection and view are shared by every shader through one uniform buffer
+        this.frameUniforms = new FrameUniforms(stats);
+        frameUniforms.update(projection, view);
+
         // Load shader
         ClassLoader classLoader = getClass().getClassLoader();
         this.shader = new ShaderProgram(
             classLoader.getResourceAsStream("shaders/game_vertex.glsl"),
-            classLoader.getResourceAsStream("shaders/game_fragment.glsl")
+            classLoader.getResourceAsStream("shaders/game_fragment.glsl"),
+            stats
         );
+        shader.bindUniformBlock(FrameUniforms.BLOCK_NAME, FrameUniforms.BINDING);
 
-        // Create VAO/VBO for shape rendering
+        // Create VAO for shape rendering, its vertices are streamed
+        this.stream = new StreamBuffer(STREAM_SEGMENT_BYTES, stats);
         this.vao = glGenVertexArrays();
-        this.vbo = glGenBuffers();
-
         glBindVertexArray(vao);
-        glBindBuffer(GL_ARRAY_BUFFER, vbo);
-        glBufferData(GL_ARRAY_BUFFER, 1024 * Float.BYTES, GL_DYNAMIC_DRAW);
         glEnableVertexAttribArray(0);
-        glVertexAttribPointer(0, 2, GL_FLOAT, false, 0, 0);
+        glBindVertexArray(0);
 
-        // Create grid VAO/VBO
+        // Grid is drawn procedurally from a screen covering triangle
+        this.gridShader = new ShaderProgram(
+            classLoader.getResourceAsStream("shaders/grid_vertex.glsl"),
+            classLoader.getResourceAsStream("shaders/grid_fragment.glsl"),
+            stats
+        );
+        gridShader.bindUniformBlock(FrameUniforms.BLOCK_NAME, FrameUniforms.BINDING);
+        gridShader.use();
+        gridShader.setVector4f("color", RenderingConstants.GRID_COLOR);  // Constant, kept by the program
+        gridShader.setFloat("spacing", GRID_SPACING);
         this.gridVao = glGenVertexArrays();
-        this.gridVbo = glGenBuffers();
-        setupGrid();
+
+        // Batched shape rendering reads the same frame uniforms
+        this.batcher = new ShapeBatcher(stream, stats);
+        updatePixelsPerUnit();
+
+        // Labels, streamed through the same ring and drawn over the shapes at the end of the frame
+        this.textRenderer = new TextRenderer(windowWidth, windowHeight, stream, stats);
+
+        for (int lod = 0; lod < ShapeGeometry.CIRCLE_LODS; lod++) {
+            int segments = ShapeGeometry.CIRCLE_LOD_SEGMENTS[lod];
+            unitCircleX[lod] = new float[segments];
+            unitCircleY[lod] = new float[segments];
+            circlePoints[lod] = new Vector2f[segments];
+            for (int i = 0; i < segments; i++) {
+                double angle = 2.0 * Math.PI * i / segments;
+                unitCircleX[lod][i] = (float) Math.cos(angle);
+                unitCircleY[lod][i] = (float) Math.sin(angle);
+                circlePoints[lod][i] = new Vector2f();
+            }
+        }
 
         // Enable anti-aliasing
         glEnable(GL_LINE_SMOOTH);
@@ -108,6 +166,9 @@ public class OpenGLRenderer implements Renderer {
             viewWidth = viewHeight * rawAspectRatio;
         }
         
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+        
         // Update projection matrix
         projection.identity().ortho(
             -viewWidth/2.0f, viewWidth/2.0f,
@@ -115,6 +176,10 @@ public class OpenGLRenderer implements Renderer {
             -1, 1
         );
         
+        frameUniforms.update(projection, view);
+        updatePixelsPerUnit();
+        textRenderer.handleResize(newWidth, newHeight);
+
         // Update viewport to use full window
         glViewport(0, 0, newWidth, newHeight);
         
@@ -124,50 +189,67 @@ public class OpenGLRenderer implements Renderer {
         }
     }
 
-    private void setupGrid() {
-        // Generate grid vertices
-        // Each line needs 2 vertices (start and end), each vertex needs 2 floats (x,y)
-        // Total lines = (GRID_SIZE + 1) * 2 (horizontal + vertical)
-        int totalVertices = (GRID_SIZE + 1) * 2 * 2 * 2;  // (grid + 1) * (h+v) * verts * coords
-        FloatBuffer gridBuffer = BufferUtils.createFloatBuffer(totalVertices);
-        float extent = GRID_SIZE * GRID_SPACING / 2;
-        
-        // Vertical lines
-        for (int i = 0; i <= GRID_SIZE; i++) {
-            float x = -extent + i * GRID_SPACING;
-            gridBuffer.put(x).put(-extent);
-            gridBuffer.put(x).put(extent);
+    /**
+     * Draws grid lines across the whole screen in one pass. The fragment shader finds each
+     * pixel's world position from the inverse view projection and keeps those within a pixel
+     * of a line, so the cost does not depend on zoom or world size.
+     */
+    public void drawGrid() {
+        gridShader.use();
+        glBindVertexArray(gridVao);
+        glDrawArrays(GL_TRIANGLES, 0, 3);
+        stats.recordDraw(3);
+        stats.recordGlCalls(2);
+    }
+
+    @Override
+    public void beginFrame() {
+        stats.reset();
+    }
+
+    @Override
+    public void endFrame() {
+        if (batching) {
+            batcher.end();
         }
-        
-        // Horizontal lines
-        for (int i = 0; i <= GRID_SIZE; i++) {
-            float y = -extent + i * GRID_SPACING;
-            gridBuffer.put(-extent).put(y);
-            gridBuffer.put(extent).put(y);
+        // Text is written to this frame's stream segment too, so it has to be drawn before the fence
+        textRenderer.flush();
+        stream.endFrame();
+    }
+
+    @Override
+    public void setLayer(int layer) {
+        if (batching) {
+            batcher.setLayer(layer);
         }
-        gridBuffer.flip();
+    }
 
-        glBindVertexArray(gridVao);
-        glBindBuffer(GL_ARRAY_BUFFER, gridVbo);
-        glBufferData(GL_ARRAY_BUFFER, gridBuffer, GL_STATIC_DRAW);
-        glEnableVertexAttribArray(0);
-        glVertexAttribPointer(0, 2, GL_FLOAT, false, 0, 0);
+    @Override
+    public void setBatching(boolean batching) {
+        if (this.batching && !batching) {
+            batcher.end();  // Draw anything already queued before switching paths
+        }
+        this.batching = batching;
     }
 
-    public void drawGrid() {
-        shader.use();
-        shader.setMatrix4f("projection", projection);
-        shader.setMatrix4f("view", view);
-        shader.setMatrix4f("model", new Matrix4f());
-        shader.setVector4f("color", RenderingConstants.GRID_COLOR);
+    @Override
+    public boolean isBatching() {
+        return batching;
+    }
 
-        // Grid lines should always be 1 pixel wide
-        glLineWidth(1.0f);
+    @Override
+    public float getViewWidth() {
+        return viewWidth;
+    }
 
-        glDisable(GL_LINE_SMOOTH);
-        glBindVertexArray(gridVao);
-        glDrawArrays(GL_LINES, 0, GRID_SIZE * 4);
-        glEnable(GL_LINE_SMOOTH);
+    @Override
+    public float getViewHeight() {
+        return viewHeight;
+    }
+
+    @Override
+    public RenderStats getStats() {
+        return stats;
     }
 
     @Override
@@ -185,47 +267,61 @@ public class OpenGLRenderer implements Renderer {
         drawPolygon(position, vertices, rotation, color, GameUnits.DEFAULT_LINE_THICKNESS, true);
     }
 
-    private void generateOutlineTriangles(FloatBuffer buffer, Vector2f[] vertices, float lineWidth) {
+    /**
+     * Streams the vertices of one unbatched shape and draws them.
+     */
+    private void drawImmediate(int mode, FloatBuffer vertices, int vertexCount) {
+        long offset = stream.write(vertices);
+        glBindVertexArray(vao);
+        glVertexAttribPointer(0, 2, GL_FLOAT, false, 0, offset);  // Stream is still bound from the write
+        glDrawArrays(mode, 0, vertexCount);
+        stats.recordDraw(vertexCount);
+        stats.recordGlCalls(3);
+    }
+
+    /**
+     * Reused vertex buffer for one immediate shape, cleared, grown first if it holds fewer floats.
+     */
+    private FloatBuffer immediateFor(int floats) {
+        if (immediateVertices.capacity() < floats) {
+            immediateVertices = BufferUtils.createFloatBuffer(Math.max(floats, immediateVertices.capacity() * 2));
+        }
+        immediateVertices.clear();
+        return immediateVertices;
+    }
+
+    /**
+     * Reused world space points for one immediate shape; only the first count are meaningful.
+     */
+    private Vector2f[] immediatePointsFor(int count) {
+        if (immediatePoints.length < count) {
+            int previous = immediatePoints.length;
+            immediatePoints = Arrays.copyOf(immediatePoints, Math.max(count, previous * 2));
+            for (int i = previous; i < immediatePoints.length; i++) {
+                immediatePoints[i] = new Vector2f();
+            }
+        }
+        return immediatePoints;
+    }
+
+    private void generateOutlineTriangles(FloatBuffer buffer, Vector2f[] vertices, int count, float lineWidth) {
         float halfWidth = lineWidth / 2.0f;
         
         // Handle all polygons with the same approach
-        for (int i = 0; i < vertices.length; i++) {
+        for (int i = 0; i < count; i++) {
             Vector2f curr = vertices[i];
-            Vector2f next = vertices[(i + 1) % vertices.length];
-            Vector2f prev = vertices[(i + vertices.length - 1) % vertices.length];
-            
-            // Calculate edge directions
-            Vector2f currEdge = new Vector2f(next).sub(new Vector2f(curr));
-            Vector2f prevEdge = new Vector2f(curr).sub(new Vector2f(prev));
-            
-            // Calculate unit normals for the edges
-            Vector2f currNormal = new Vector2f(-currEdge.y, currEdge.x).normalize();
-            Vector2f prevNormal = new Vector2f(-prevEdge.y, prevEdge.x).normalize();
-            
-            // Calculate miter by averaging the normals
-            Vector2f miter = new Vector2f(
-                (prevNormal.x + currNormal.x),
-                (prevNormal.y + currNormal.y)
-            ).normalize();
-            
-            // Calculate next vertex's miter
-            Vector2f nextEdge = new Vector2f(vertices[(i + 2) % vertices.length]).sub(new Vector2f(next));
-            Vector2f nextNormal = new Vector2f(-nextEdge.y, nextEdge.x).normalize();
-            Vector2f nextMiter = new Vector2f(
-                (currNormal.x + nextNormal.x),
-                (currNormal.y + nextNormal.y)
-            ).normalize();
+            Vector2f next = vertices[(i + 1) % count];
+            Vector2f prev = vertices[(i + count - 1) % count];
+            Vector2f afterNext = vertices[(i + 2) % count];
             
-            // Scale miter length to maintain consistent thickness
-            float angle = (float)Math.acos(Math.max(-1.0f, Math.min(1.0f, 
-                prevNormal.x * currNormal.x + prevNormal.y * currNormal.y)));
-            float scale = (float)(1.0f / Math.cos(angle / 2.0f));
-            miter.mul(scale);
+            // Unit normals of the previous, current and next edges
+            prevNormal.set(-(curr.y - prev.y), curr.x - prev.x).normalize();
+            currNormal.set(-(next.y - curr.y), next.x - curr.x).normalize();
+            nextNormal.set(-(afterNext.y - next.y), afterNext.x - next.x).normalize();
             
-            float nextAngle = (float)Math.acos(Math.max(-1.0f, Math.min(1.0f,
-                currNormal.x * nextNormal.x + currNormal.y * nextNormal.y)));
-            float nextScale = (float)(1.0f / Math.cos(nextAngle / 2.0f));
-            nextMiter.mul(nextScale);
+            // Miters average the normals, scaled to keep a consistent thickness
+            miter.set(prevNormal).add(currNormal).normalize().mul(miterScale(prevNormal, currNormal));
+            nextMiter.set(currNormal).add(nextNormal).normalize().mul(miterScale(currNormal, nextNormal));
             
             // First triangle (start of edge)
             buffer.put(curr.x + miter.x * halfWidth);
@@ -245,56 +341,107 @@ public class OpenGLRenderer implements Renderer {
         }
     }
 
+    /**
+     * Miter length for unit normals a and b of adjacent edges: 1 / cos of half the angle between them.
+     */
+    private static float miterScale(Vector2f a, Vector2f b) {
+        float angle = (float)Math.acos(Math.max(-1.0f, Math.min(1.0f, a.x * b.x + a.y * b.y)));
+        return (float)(1.0f / Math.cos(angle / 2.0f));
+    }
+
+    @Override
+    public void drawCircle(Vector2f position, float radius, Vector4f fillColor, Vector4f outlineColor, float lineWidth) {
+        if (batching) {
+            batcher.addCircle(position, radius, fillColor, outlineColor, lineWidth);
+        } else {
+            Renderer.super.drawCircle(position, radius, fillColor, outlineColor, lineWidth);
+        }
+    }
+
+    @Override
+    public void drawRectangle(Vector2f position, Vector2f dimensions, float rotation, Vector4f fillColor, Vector4f outlineColor, float lineWidth) {
+        if (batching) {
+            batcher.addRectangle(position, dimensions, rotation, fillColor, outlineColor, lineWidth);
+        } else {
+            Renderer.super.drawRectangle(position, dimensions, rotation, fillColor, outlineColor, lineWidth);
+        }
+    }
+
+    @Override
+    public void drawPolygon(Vector2f position, Vector2f[] vertices, float rotation, Vector4f fillColor, Vector4f outlineColor, float lineWidth) {
+        if (batching) {
+            batcher.addPolygon(position, vertices, rotation, fillColor, outlineColor, lineWidth);
+        } else {
+            Renderer.super.drawPolygon(position, vertices, rotation, fillColor, outlineColor, lineWidth);
+        }
+    }
+
+    @Override
+    public void drawPolygon(Vector2f position, int shape, float rotation, Vector4f color, float lineWidth, boolean filled) {
+        if (batching) {
+            batcher.addPolygon(position, shape, rotation, color, lineWidth, filled);
+        } else {
+            Renderer.super.drawPolygon(position, shape, rotation, color, lineWidth, filled);
+        }
+    }
+
+    @Override
+    public void drawPolygon(Vector2f position, int shape, float rotation, Vector4f fillColor, Vector4f outlineColor, float lineWidth) {
+        if (batching) {
+            batcher.addPolygon(position, shape, rotation, fillColor, outlineColor, lineWidth);
+        } else {
+            Renderer.super.drawPolygon(position, shape, rotation, fillColor, outlineColor, lineWidth);
+        }
+    }
+
     @Override
     public void drawCircle(Vector2f position, float radius, Vector4f color, float lineWidth, boolean filled) {
+        if (batching) {
+            batcher.addCircle(position, radius, color, lineWidth, filled);
+            return;
+        }
+
         shader.use();
-        shader.setMatrix4f("projection", projection);
-        shader.setMatrix4f("view", view);
-        shader.setMatrix4f("model", new Matrix4f());
         shader.setVector4f("color", color);
         
+        // Same level of detail as the batched path, from the precomputed unit circle
+        int lod = ShapeGeometry.circleLod(radius * pixelsPerUnit);
+        int segments = ShapeGeometry.CIRCLE_LOD_SEGMENTS[lod];
+        float[] unitX = unitCircleX[lod];
+        float[] unitY = unitCircleY[lod];
+        FloatBuffer vertices = immediateFor(segments * 6 * 2);
+        
         if (filled) {
-            // Generate circle vertices for filled circle
-            FloatBuffer vertices = BufferUtils.createFloatBuffer(CIRCLE_SEGMENTS * 2);
-            for (int i = 0; i < CIRCLE_SEGMENTS; i++) {
-                float angle = (float) (2.0f * Math.PI * i / CIRCLE_SEGMENTS);
-                vertices.put(position.x + radius * (float)Math.cos(angle));
-                vertices.put(position.y + radius * (float)Math.sin(angle));
+            for (int i = 0; i < segments; i++) {
+                vertices.put(position.x + radius * unitX[i]);
+                vertices.put(position.y + radius * unitY[i]);
             }
             vertices.flip();
             
-            glBindVertexArray(vao);
-            glBindBuffer(GL_ARRAY_BUFFER, vbo);
-            glBufferSubData(GL_ARRAY_BUFFER, 0, vertices);
-            glDrawArrays(GL_TRIANGLE_FAN, 0, CIRCLE_SEGMENTS);
+            drawImmediate(GL_TRIANGLE_FAN, vertices, segments);
         } else {
             // Convert circle to polygon points
-            Vector2f[] circlePoints = new Vector2f[CIRCLE_SEGMENTS];
-            for (int i = 0; i < CIRCLE_SEGMENTS; i++) {
-                float angle = (float) (2.0f * Math.PI * i / CIRCLE_SEGMENTS);
-                float x = position.x + radius * (float)Math.cos(angle);
-                float y = position.y + radius * (float)Math.sin(angle);
-                circlePoints[i] = new Vector2f(x, y);
+            Vector2f[] points = circlePoints[lod];
+            for (int i = 0; i < segments; i++) {
+                points[i].set(position.x + radius * unitX[i], position.y + radius * unitY[i]);
             }
             
             // Generate outline using unified method
-            FloatBuffer vertices = BufferUtils.createFloatBuffer(CIRCLE_SEGMENTS * 6 * 2); // 6 vertices per edge (2 triangles)
-            generateOutlineTriangles(vertices, circlePoints, lineWidth);
+            generateOutlineTriangles(vertices, points, segments, lineWidth);
             vertices.flip();
             
-            glBindVertexArray(vao);
-            glBindBuffer(GL_ARRAY_BUFFER, vbo);
-            glBufferSubData(GL_ARRAY_BUFFER, 0, vertices);
-            glDrawArrays(GL_TRIANGLES, 0, CIRCLE_SEGMENTS * 6);
+            drawImmediate(GL_TRIANGLES, vertices, segments * 6);
         }
     }
 
     @Override
     public void drawRectangle(Vector2f position, Vector2f dimensions, float rotation, Vector4f color, float lineWidth, boolean filled) {
+        if (batching) {
+            batcher.addRectangle(position, dimensions, rotation, color, lineWidth, filled);
+            return;
+        }
+
         shader.use();
-        shader.setMatrix4f("projection", projection);
-        shader.setMatrix4f("view", view);
-        shader.setMatrix4f("model", new Matrix4f());
         shader.setVector4f("color", color);
         
         float halfWidth = dimensions.x / 2.0f;
@@ -303,94 +450,120 @@ public class OpenGLRenderer implements Renderer {
         float sin = (float)Math.sin(rotation);
         
         // Generate rectangle corners
-        Vector2f[] corners = new Vector2f[4];
-        corners[0] = new Vector2f(position.x + (-halfWidth * cos - halfHeight * sin),
-                                position.y + (-halfWidth * sin + halfHeight * cos)); // Top-left
-        corners[1] = new Vector2f(position.x + (halfWidth * cos - halfHeight * sin),
-                                position.y + (halfWidth * sin + halfHeight * cos));  // Top-right
-        corners[2] = new Vector2f(position.x + (halfWidth * cos + halfHeight * sin),
-                                position.y + (halfWidth * sin - halfHeight * cos));  // Bottom-right
-        corners[3] = new Vector2f(position.x + (-halfWidth * cos + halfHeight * sin),
-                                position.y + (-halfWidth * sin - halfHeight * cos)); // Bottom-left
+        Vector2f[] corners = immediatePointsFor(4);
+        corners[0].set(position.x + (-halfWidth * cos - halfHeight * sin),
+                       position.y + (-halfWidth * sin + halfHeight * cos)); // Top-left
+        corners[1].set(position.x + (halfWidth * cos - halfHeight * sin),
+                       position.y + (halfWidth * sin + halfHeight * cos));  // Top-right
+        corners[2].set(position.x + (halfWidth * cos + halfHeight * sin),
+                       position.y + (halfWidth * sin - halfHeight * cos));  // Bottom-right
+        corners[3].set(position.x + (-halfWidth * cos + halfHeight * sin),
+                       position.y + (-halfWidth * sin - halfHeight * cos)); // Bottom-left
         
         if (filled) {
-            FloatBuffer vertices = BufferUtils.createFloatBuffer(8);
-            for (Vector2f corner : corners) {
-                vertices.put(corner.x);
-                vertices.put(corner.y);
+            FloatBuffer vertices = immediateFor(8);
+            for (int i = 0; i < 4; i++) {
+                vertices.put(corners[i].x);
+                vertices.put(corners[i].y);
             }
             vertices.flip();
             
-            glBindVertexArray(vao);
-            glBindBuffer(GL_ARRAY_BUFFER, vbo);
-            glBufferSubData(GL_ARRAY_BUFFER, 0, vertices);
-            glDrawArrays(GL_TRIANGLE_FAN, 0, 4);
+            drawImmediate(GL_TRIANGLE_FAN, vertices, 4);
         } else {
             // Generate outline using unified method
-            FloatBuffer vertices = BufferUtils.createFloatBuffer(4 * 6 * 2); // 4 edges, 6 vertices per edge
-            generateOutlineTriangles(vertices, corners, lineWidth);
+            FloatBuffer vertices = immediateFor(4 * 6 * 2); // 4 edges, 6 vertices per edge
+            generateOutlineTriangles(vertices, corners, 4, lineWidth);
             vertices.flip();
             
-            glBindVertexArray(vao);
-            glBindBuffer(GL_ARRAY_BUFFER, vbo);
-            glBufferSubData(GL_ARRAY_BUFFER, 0, vertices);
-            glDrawArrays(GL_TRIANGLES, 0, 24); // 4 edges * 6 vertices
+            drawImmediate(GL_TRIANGLES, vertices, 24);
         }
     }
 
     @Override
     public void drawPolygon(Vector2f position, Vector2f[] vertices, float rotation, Vector4f color, float lineWidth, boolean filled) {
+        if (batching) {
+            batcher.addPolygon(position, vertices, rotation, color, lineWidth, filled);
+            return;
+        }
+
         shader.use();
-        shader.setMatrix4f("projection", projection);
-        shader.setMatrix4f("view", view);
-        shader.setMatrix4f("model", new Matrix4f());
         shader.setVector4f("color", color);
         
         float cos = (float)Math.cos(rotation);
         float sin = (float)Math.sin(rotation);
         
         // Transform vertices to world space
-        Vector2f[] worldVertices = new Vector2f[vertices.length];
+        Vector2f[] worldVertices = immediatePointsFor(vertices.length);
         for (int i = 0; i < vertices.length; i++) {
             float x = vertices[i].x * cos - vertices[i].y * sin + position.x;
             float y = vertices[i].x * sin + vertices[i].y * cos + position.y;
-            worldVertices[i] = new Vector2f(x, y);
+            worldVertices[i].set(x, y);
         }
         
         if (filled) {
-            FloatBuffer transformedVertices = BufferUtils.createFloatBuffer(vertices.length * 2);
-            for (Vector2f vertex : worldVertices) {
-                transformedVertices.put(vertex.x);
-                transformedVertices.put(vertex.y);
+            FloatBuffer transformedVertices = immediateFor(vertices.length * 2);
+            for (int i = 0; i < vertices.length; i++) {
+                transformedVertices.put(worldVertices[i].x);
+                transformedVertices.put(worldVertices[i].y);
             }
             transformedVertices.flip();
             
-            glBindVertexArray(vao);
-            glBindBuffer(GL_ARRAY_BUFFER, vbo);
-            glBufferSubData(GL_ARRAY_BUFFER, 0, transformedVertices);
-            glDrawArrays(GL_TRIANGLE_FAN, 0, vertices.length);
+            drawImmediate(GL_TRIANGLE_FAN, transformedVertices, vertices.length);
         } else {
             // Generate outline using unified method
-            FloatBuffer transformedVertices = BufferUtils.createFloatBuffer(vertices.length * 6 * 2);
-            generateOutlineTriangles(transformedVertices, worldVertices, lineWidth);
+            FloatBuffer transformedVertices = immediateFor(vertices.length * 6 * 2);
+            generateOutlineTriangles(transformedVertices, worldVertices, vertices.length, lineWidth);
             transformedVertices.flip();
             
-            glBindVertexArray(vao);
-            glBindBuffer(GL_ARRAY_BUFFER, vbo);
-            glBufferSubData(GL_ARRAY_BUFFER, 0, transformedVertices);
-            glDrawArrays(GL_TRIANGLES, 0, vertices.length * 6);
+            drawImmediate(GL_TRIANGLES, transformedVertices, vertices.length * 6);
         }
     }
 
+    /**
+     * Per-frame vertex stream, for other renderers drawing in the same frame such as TextRenderer.
+     * Their draws must be issued before endFrame(), which fences the frame's segment.
+     */
+    public StreamBuffer getStreamBuffer() {
+        return stream;
+    }
+
+    @Override
+    public void drawText(String text, Vector2f screenPosition, Vector4f color, float scale) {
+        textRenderer.renderText(text, screenPosition, color, scale);
+    }
+
+    @Override
+    public Vector2f worldToScreen(Vector2f worldPosition, Vector2f dest) {
+        // Clip space is projection * view * position, as in the shaders
+        clipSpace.set(worldPosition.x, worldPosition.y, 0, 1).mul(view).mul(projection);
+        return dest.set(
+            (clipSpace.x / clipSpace.w + 1.0f) * 0.5f * windowWidth,
+            (1.0f - clipSpace.y / clipSpace.w) * 0.5f * windowHeight);
+    }
+
     public void setView(Matrix4f view) {
         this.view.set(view);
+        frameUniforms.update(projection, view);
+        updatePixelsPerUnit();
+    }
+
+    /**
+     * Screen pixels per world unit at the current zoom; the projection keeps pixels square,
+     * so the vertical scale holds for both axes.
+     */
+    private void updatePixelsPerUnit() {
+        pixelsPerUnit = windowHeight / viewHeight * view.m00();
+        batcher.setPixelsPerUnit(pixelsPerUnit);
     }
 
     public void cleanup() {
+        batcher.cleanup();
+        textRenderer.cleanup();
         shader.cleanup();
-        glDeleteBuffers(vbo);
+        gridShader.cleanup();
+        frameUniforms.cleanup();
+        stream.cleanup();
         glDeleteVertexArrays(vao);
-        glDeleteBuffers(gridVbo);
         glDeleteVertexArrays(gridVao);
     }
 } 
\ No newline at end of file
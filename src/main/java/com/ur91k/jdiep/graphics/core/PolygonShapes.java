@@ -0,0 +1,121 @@
+package com.ur91k.jdiep.graphics.core;
+
+import org.joml.Vector2f;
+
+import java.util.Arrays;
+
+/**
+ * Process-wide table of polygon outlines by id. ShapeComponent registers its vertices once
+ * when it is initialized; snapshots and renderers pass the id from then on, so drawing a polygon
+ * needs neither its vertex array nor a lookup by content. Identical outlines share an id.
+ * Local vertices and miters are computed at registration and never change.
+ *
+ * Registration is synchronized and copies the table, so any thread can read an id it was given.
+ */
+public final class PolygonShapes {
+    /** Registered outline: local x, y pairs, the matching miters, and the vertices as given. */
+    private static final class Entry {
+        final int hash;
+        final float[] local;
+        final float[] miters;
+        final Vector2f[] vertices;
+
+        Entry(int hash, float[] local, float[] miters, Vector2f[] vertices) {
+            this.hash = hash;
+            this.local = local;
+            this.miters = miters;
+            this.vertices = vertices;
+        }
+    }
+
+    private static volatile Entry[] entries = new Entry[0];
+
+    private PolygonShapes() {
+    }
+
+    /**
+     * Id of the outline with exactly these local vertices, registering it the first time it is seen.
+     * The array is copied, callers may reuse it.
+     */
+    public static synchronized int register(Vector2f[] vertices) {
+        int n = vertices.length;
+        int hash = n;
+        for (Vector2f vertex : vertices) {
+            hash = hash * 31 + Float.floatToIntBits(vertex.x);
+            hash = hash * 31 + Float.floatToIntBits(vertex.y);
+        }
+
+        Entry[] current = entries;
+        for (int id = 0; id < current.length; id++) {
+            if (current[id].hash == hash && sameVertices(current[id].local, vertices)) {
+                return id;
+            }
+        }
+
+        float[] local = new float[n * 2];
+        Vector2f[] copy = new Vector2f[n];
+        for (int i = 0; i < n; i++) {
+            local[i * 2] = vertices[i].x;
+            local[i * 2 + 1] = vertices[i].y;
+            copy[i] = new Vector2f(vertices[i]);
+        }
+        float[] miters = new float[n * 2];
+        computeMiters(local, n, miters);
+
+        Entry[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = new Entry(hash, local, miters, copy);
+        entries = grown;
+        return current.length;
+    }
+
+    private static boolean sameVertices(float[] local, Vector2f[] vertices) {
+        if (local.length != vertices.length * 2) return false;
+        for (int i = 0; i < vertices.length; i++) {
+            if (local[i * 2] != vertices[i].x || local[i * 2 + 1] != vertices[i].y) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Miter offset for each of the first n x, y pairs of points, scaled so an outline extruded
+     * along them keeps a constant thickness along both adjacent edges.
+     */
+    static void computeMiters(float[] points, int n, float[] miters) {
+        for (int i = 0; i < n; i++) {
+            int v = i * 2;
+            int prev = (i + n - 1) % n * 2;
+            int next = (i + 1) % n * 2;
+
+            float prevNx = -(points[v + 1] - points[prev + 1]);
+            float prevNy = points[v] - points[prev];
+            float prevLen = (float) Math.sqrt(prevNx * prevNx + prevNy * prevNy);
+            float currNx = -(points[next + 1] - points[v + 1]);
+            float currNy = points[next] - points[v];
+            float currLen = (float) Math.sqrt(currNx * currNx + currNy * currNy);
+            if (prevLen > 0) { prevNx /= prevLen; prevNy /= prevLen; }
+            if (currLen > 0) { currNx /= currLen; currNy /= currLen; }
+
+            float mx = prevNx + currNx;
+            float my = prevNy + currNy;
+            float mLen = (float) Math.sqrt(mx * mx + my * my);
+            if (mLen > 0) { mx /= mLen; my /= mLen; }
+
+            // 1 / cos(angle / 2) with cos(angle) = dot(prevNormal, currNormal)
+            float dot = Math.max(-1.0f, Math.min(1.0f, prevNx * currNx + prevNy * currNy));
+            float scale = 1.0f / (float) Math.sqrt(Math.max((1.0f + dot) * 0.5f, 1e-4f));
+            miters[v] = mx * scale;
+            miters[v + 1] = my * scale;
+        }
+    }
+
+    /** Local x, y pairs of the outline. Shared, do not modify. */
+    public static float[] getLocalVertices(int id) { return entries[id].local; }
+
+    /** Unit miters matching getLocalVertices(). Shared, do not modify. */
+    public static float[] getMiters(int id) { return entries[id].miters; }
+
+    /** The outline as registered. Shared, do not modify. */
+    public static Vector2f[] getVertices(int id) { return entries[id].vertices; }
+
+    public static int getCount() { return entries.length; }
+}
@@ -1,8 +1,9 @@
 package com.ur91k.jdiep.graphics.core;
 
 import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool.Poolable;
 
-public class RenderLayer implements Component {
+public class RenderLayer implements Component, Poolable {
     public static final int BACKGROUND = 0;
     public static final int GAME_OBJECTS = 100;
     public static final int EFFECTS = 200;
@@ -19,6 +20,11 @@ public class RenderLayer implements Component {
         this.layer = layer;
     }
 
+    @Override
+    public void reset() {
+        this.layer = GAME_OBJECTS;
+    }
+
     public int getLayer() {
         return layer;
     }
@@ -0,0 +1,57 @@
+package com.ur91k.jdiep.graphics.core;
+
+/**
+ * Per-frame counters filled in by the renderer.
+ * Values are reset at the start of every frame and read by the debug UI.
+ */
+public class RenderStats {
+    private int drawCalls;
+    private int vertices;
+    private int instances;
+    private int drawnEntities;
+    private int culledEntities;
+    private int glCalls;  // Every GL call of the frame: binds, uploads, uniforms and draws
+    private long streamedBytes;  // Written to the stream buffer
+
+    public void reset() {
+        drawCalls = 0;
+        vertices = 0;
+        instances = 0;
+        drawnEntities = 0;
+        culledEntities = 0;
+        glCalls = 0;
+        streamedBytes = 0;
+    }
+
+    public void recordGlCalls(int count) {
+        glCalls += count;
+    }
+
+    public void recordStreamed(long bytes) {
+        streamedBytes += bytes;
+    }
+
+    public void recordDraw(int vertexCount) {
+        drawCalls++;
+        vertices += vertexCount;
+    }
+
+    public void recordInstancedDraw(int vertexCount, int instanceCount) {
+        drawCalls++;
+        vertices += vertexCount * instanceCount;
+        instances += instanceCount;
+    }
+
+    public void recordCulling(int drawn, int culled) {
+        drawnEntities = drawn;
+        culledEntities = culled;
+    }
+
+    public int getDrawCalls() { return drawCalls; }
+    public int getVertices() { return vertices; }
+    public int getInstances() { return instances; }
+    public int getDrawnEntities() { return drawnEntities; }
+    public int getCulledEntities() { return culledEntities; }
+    public int getGlCalls() { return glCalls; }
+    public long getStreamedBytes() { return streamedBytes; }
+}
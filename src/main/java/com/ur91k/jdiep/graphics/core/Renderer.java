@@ -24,6 +24,51 @@ public interface Renderer {
     void drawRectangle(Vector2f position, Vector2f dimensions, float rotation, Vector4f color, float lineWidth, boolean filled);
     void drawPolygon(Vector2f position, Vector2f[] vertices, float rotation, Vector4f color, float lineWidth, boolean filled);
     
+    // Filled shapes with an outline; the pair is drawn together, outline first so the fill covers its inner half
+    default void drawCircle(Vector2f position, float radius, Vector4f fillColor, Vector4f outlineColor, float lineWidth) {
+        drawCircle(position, radius, outlineColor, lineWidth, false);
+        drawCircle(position, radius, fillColor, lineWidth, true);
+    }
+    
+    default void drawRectangle(Vector2f position, Vector2f dimensions, float rotation, Vector4f fillColor, Vector4f outlineColor, float lineWidth) {
+        drawRectangle(position, dimensions, rotation, outlineColor, lineWidth, false);
+        drawRectangle(position, dimensions, rotation, fillColor, lineWidth, true);
+    }
+    
+    default void drawPolygon(Vector2f position, Vector2f[] vertices, float rotation, Vector4f fillColor, Vector4f outlineColor, float lineWidth) {
+        drawPolygon(position, vertices, rotation, outlineColor, lineWidth, false);
+        drawPolygon(position, vertices, rotation, fillColor, lineWidth, true);
+    }
+    
+    // Polygons registered with PolygonShapes, drawn by id without passing their vertices
+    default void drawPolygon(Vector2f position, int shape, float rotation, Vector4f color, float lineWidth, boolean filled) {
+        drawPolygon(position, PolygonShapes.getVertices(shape), rotation, color, lineWidth, filled);
+    }
+    
+    default void drawPolygon(Vector2f position, int shape, float rotation, Vector4f fillColor, Vector4f outlineColor, float lineWidth) {
+        drawPolygon(position, PolygonShapes.getVertices(shape), rotation, fillColor, outlineColor, lineWidth);
+    }
+    
+    // Text in screen pixels from the top left corner, queued and drawn over every shape when the frame ends
+    void drawText(String text, Vector2f screenPosition, Vector4f color, float scale);
+    
+    // Screen pixel, from the top left corner, that a world position is drawn at through the current projection and view
+    Vector2f worldToScreen(Vector2f worldPosition, Vector2f dest);
+    
+    // Frame lifecycle; shapes may be queued until the layer changes or the frame ends
+    void beginFrame();
+    void endFrame();
+    void setLayer(int layer);
+    
+    // Batched instanced rendering vs. one draw call per shape
+    void setBatching(boolean batching);
+    boolean isBatching();
+    RenderStats getStats();
+    
+    // Visible world area at zoom 1, in meters
+    float getViewWidth();
+    float getViewHeight();
+    
     void setView(Matrix4f view);
     void drawGrid();
     void cleanup();
@@ -8,15 +8,28 @@ import java.nio.FloatBuffer;
 import java.io.InputStream;
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
+import java.nio.IntBuffer;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL31.GL_INVALID_INDEX;
+import static org.lwjgl.opengl.GL31.glGetUniformBlockIndex;
+import static org.lwjgl.opengl.GL31.glUniformBlockBinding;
 
 public class ShaderProgram {
     private final int programId;
     private final FloatBuffer matrixBuffer = BufferUtils.createFloatBuffer(16);
+    private final Map<String, Integer> uniformLocations = new HashMap<>();  // Resolved once at link time
+    private final RenderStats stats;  // Counts GL calls when set
 
     public ShaderProgram(InputStream vertexStream, InputStream fragmentStream) {
+        this(vertexStream, fragmentStream, null);
+    }
+
+    public ShaderProgram(InputStream vertexStream, InputStream fragmentStream, RenderStats stats) {
+        this.stats = stats;
         if (vertexStream == null || fragmentStream == null) {
             throw new RuntimeException("Could not find shader files");
         }
@@ -47,6 +60,54 @@ public class ShaderProgram {
         // Clean up shaders
         glDeleteShader(vertexShader);
         glDeleteShader(fragmentShader);
+
+        cacheUniformLocations();
+    }
+
+    /**
+     * Looks up every active uniform once, so setting one never asks the driver by name.
+     * Uniforms inside blocks have no location and are set through their buffer instead.
+     */
+    private void cacheUniformLocations() {
+        int count = glGetProgrami(programId, GL_ACTIVE_UNIFORMS);
+        IntBuffer size = BufferUtils.createIntBuffer(1);
+        IntBuffer type = BufferUtils.createIntBuffer(1);
+        for (int i = 0; i < count; i++) {
+            String name = glGetActiveUniform(programId, i, size, type);
+            if (name.endsWith("[0]")) {
+                name = name.substring(0, name.length() - 3);  // Arrays are reported by their first element
+            }
+            int location = glGetUniformLocation(programId, name);
+            if (location >= 0) {
+                uniformLocations.put(name, location);
+            }
+        }
+    }
+
+    /**
+     * Binds a uniform block declared by this program to a buffer binding point.
+     * Does nothing if the program does not use the block.
+     */
+    public void bindUniformBlock(String blockName, int binding) {
+        int index = glGetUniformBlockIndex(programId, blockName);
+        if (index != GL_INVALID_INDEX) {
+            glUniformBlockBinding(programId, index, binding);
+        }
+    }
+
+    /**
+     * Cached location of a uniform, or -1 if the program has no such active uniform,
+     * which GL ignores when set.
+     */
+    public int getUniformLocation(String name) {
+        Integer location = uniformLocations.get(name);
+        return location != null ? location : -1;
+    }
+
+    private void recordCall() {
+        if (stats != null) {
+            stats.recordGlCalls(1);
+        }
     }
 
     private void checkShaderError(int shaderId, String type) {
@@ -65,22 +126,28 @@ public class ShaderProgram {
 
     public void use() {
         glUseProgram(programId);
+        recordCall();
     }
 
     public void setMatrix4f(String name, Matrix4f matrix) {
-        int location = glGetUniformLocation(programId, name);
         matrix.get(matrixBuffer);
-        glUniformMatrix4fv(location, false, matrixBuffer);
+        glUniformMatrix4fv(getUniformLocation(name), false, matrixBuffer);
+        recordCall();
     }
 
     public void setVector4f(String name, Vector4f vector) {
-        int location = glGetUniformLocation(programId, name);
-        glUniform4f(location, vector.x, vector.y, vector.z, vector.w);
+        glUniform4f(getUniformLocation(name), vector.x, vector.y, vector.z, vector.w);
+        recordCall();
+    }
+
+    public void setFloat(String name, float value) {
+        glUniform1f(getUniformLocation(name), value);
+        recordCall();
     }
 
     public void setInt(String name, int value) {
-        int location = glGetUniformLocation(programId, name);
-        glUniform1i(location, value);
+        glUniform1i(getUniformLocation(name), value);
+        recordCall();
     }
 
     public void cleanup() {
@@ -0,0 +1,352 @@
+package com.ur91k.jdiep.graphics.core;
+
+import org.joml.Vector2f;
+import org.joml.Vector4f;
+import org.lwjgl.BufferUtils;
+
+import java.nio.FloatBuffer;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.opengl.GL31.glDrawArraysInstanced;
+import static org.lwjgl.opengl.GL33.glVertexAttribDivisor;
+
+/**
+ * Collects the shapes of a frame and draws them with a handful of draw calls.
+ * Circles, rectangles and polygons are instanced from static local meshes; the vertex shader
+ * places them and extrudes outlines along precomputed miters. Each mesh holds the outline
+ * triangles followed by the fill triangles, and GL draws instances in order, so every shape's
+ * outline and fill are drawn together. A polygon mesh is uploaded the first time its
+ * PolygonShapes id is drawn. Queued shapes are flushed whenever the render layer changes and at
+ * the end of the frame, so layer order is kept.
+ */
+public class ShapeBatcher {
+    private static final int MESH_VERTEX_FLOATS = 5;      // localX, localY, miterX, miterY, outline (1) or fill (0)
+    private static final int INSTANCE_FLOATS = ShapeGeometry.INSTANCE_FLOATS;
+    private static final int POLYGON_VERTEX_FLOATS = ShapeGeometry.POLYGON_VERTEX_FLOATS;
+    private static final int INITIAL_POLYGON_VERTICES = 4096;
+
+    /** Static unit mesh drawn once per instance, as GL_TRIANGLES. */
+    private static final class Mesh {
+        final int vao;
+        final int vbo;
+        final int vertexCount;
+
+        Mesh(int vao, int vbo, int vertexCount) {
+            this.vao = vao;
+            this.vbo = vbo;
+            this.vertexCount = vertexCount;
+        }
+    }
+
+    private final ShaderProgram instanceShader;
+    private final ShaderProgram polygonShader;
+    private final RenderStats stats;
+
+    private final Mesh[] instanceMeshes;  // Indexed by ShapeGeometry instance kind, uploaded once; polygons on first use
+    private final ShapeGeometry geometry = new ShapeGeometry();
+
+    private final StreamBuffer stream;  // Instances and the polygon stream, shared with the renderer
+    private final int polygonVao;
+
+    private FloatBuffer staging = BufferUtils.createFloatBuffer(INITIAL_POLYGON_VERTICES * POLYGON_VERTEX_FLOATS);
+    private int currentLayer = Integer.MIN_VALUE;
+
+    /**
+     * Shaders read projection and view from the FrameUniforms buffer, which must exist before drawing.
+     */
+    public ShapeBatcher(StreamBuffer stream, RenderStats stats) {
+        this.stream = stream;
+        this.stats = stats;
+
+        ClassLoader classLoader = getClass().getClassLoader();
+        this.instanceShader = new ShaderProgram(
+            classLoader.getResourceAsStream("shaders/shape_instanced_vertex.glsl"),
+            classLoader.getResourceAsStream("shaders/shape_batch_fragment.glsl"),
+            stats
+        );
+        this.polygonShader = new ShaderProgram(
+            classLoader.getResourceAsStream("shaders/shape_batch_vertex.glsl"),
+            classLoader.getResourceAsStream("shaders/shape_batch_fragment.glsl"),
+            stats
+        );
+        instanceShader.bindUniformBlock(FrameUniforms.BLOCK_NAME, FrameUniforms.BINDING);
+        polygonShader.bindUniformBlock(FrameUniforms.BLOCK_NAME, FrameUniforms.BINDING);
+
+        this.instanceMeshes = new Mesh[ShapeGeometry.INSTANCE_KINDS];
+        for (int lod = 0; lod < ShapeGeometry.CIRCLE_LODS; lod++) {
+            instanceMeshes[ShapeGeometry.CIRCLE + lod] = createMesh(circleVertices(ShapeGeometry.CIRCLE_LOD_SEGMENTS[lod]));
+        }
+        instanceMeshes[ShapeGeometry.RECT] = createMesh(rectVertices());
+
+        // Polygon stream: world space position + color per vertex, pointed into the stream on every flush
+        this.polygonVao = glGenVertexArrays();
+        glBindVertexArray(polygonVao);
+        glEnableVertexAttribArray(0);
+        glEnableVertexAttribArray(1);
+        glBindVertexArray(0);
+    }
+
+    private Mesh createMesh(float[] vertices) {
+        int vao = glGenVertexArrays();
+        int vbo = glGenBuffers();
+
+        glBindVertexArray(vao);
+        glBindBuffer(GL_ARRAY_BUFFER, vbo);
+        glBufferData(GL_ARRAY_BUFFER, vertices, GL_STATIC_DRAW);
+        int stride = MESH_VERTEX_FLOATS * Float.BYTES;
+        glEnableVertexAttribArray(0);
+        glVertexAttribPointer(0, 2, GL_FLOAT, false, stride, 0);
+        glEnableVertexAttribArray(1);
+        glVertexAttribPointer(1, 2, GL_FLOAT, false, stride, 2L * Float.BYTES);
+        glEnableVertexAttribArray(2);
+        glVertexAttribPointer(2, 1, GL_FLOAT, false, stride, 4L * Float.BYTES);
+
+        // Per-instance attributes, pointed into the stream at the right offset on every flush
+        for (int attribute = 3; attribute <= 7; attribute++) {
+            glEnableVertexAttribArray(attribute);
+            glVertexAttribDivisor(attribute, 1);
+        }
+        glBindVertexArray(0);
+
+        return new Mesh(vao, vbo, vertices.length / MESH_VERTEX_FLOATS);
+    }
+
+    private static void setInstancePointers(long baseOffset) {
+        int stride = INSTANCE_FLOATS * Float.BYTES;
+        glVertexAttribPointer(3, 3, GL_FLOAT, false, stride, baseOffset);                       // x, y, rotation
+        glVertexAttribPointer(4, 2, GL_FLOAT, false, stride, baseOffset + 3L * Float.BYTES);    // scale
+        glVertexAttribPointer(5, 1, GL_FLOAT, false, stride, baseOffset + 5L * Float.BYTES);    // line width
+        glVertexAttribPointer(6, 4, GL_FLOAT, false, stride, baseOffset + 6L * Float.BYTES);    // fill color
+        glVertexAttribPointer(7, 4, GL_FLOAT, false, stride, baseOffset + 10L * Float.BYTES);   // outline color
+    }
+
+    private static float[] circleVertices(int segments) {
+        // Miters reach the corners of a ring of constant thickness around the segments
+        float miterScale = (float) (1.0 / Math.cos(Math.PI / segments));
+        float[] local = new float[segments * 2];
+        float[] miters = new float[segments * 2];
+        for (int i = 0; i < segments; i++) {
+            float angle = (float) (2.0 * Math.PI * i / segments);
+            local[i * 2] = (float) Math.cos(angle);
+            local[i * 2 + 1] = (float) Math.sin(angle);
+            miters[i * 2] = local[i * 2] * miterScale;
+            miters[i * 2 + 1] = local[i * 2 + 1] * miterScale;
+        }
+        return shapeVertices(local, miters);
+    }
+
+    private static float[] rectVertices() {
+        // Right-angle corners have a miter of exactly (+-1, +-1)
+        float[] corners = { -0.5f, 0.5f, 0.5f, 0.5f, 0.5f, -0.5f, -0.5f, -0.5f };
+        float[] miters = new float[corners.length];
+        for (int i = 0; i < corners.length; i++) {
+            miters[i] = Math.signum(corners[i]);
+        }
+        return shapeVertices(corners, miters);
+    }
+
+    /**
+     * Triangle list of a convex shape: the outline, an outer and inner vertex per corner
+     * extruded along the miters, followed by the fill fanned from the first corner.
+     */
+    private static float[] shapeVertices(float[] local, float[] miters) {
+        int n = local.length / 2;
+        float[] vertices = new float[(n * 6 + (n - 2) * 3) * MESH_VERTEX_FLOATS];
+        int o = 0;
+        for (int i = 0; i < n; i++) {
+            int v = i * 2;
+            int next = (i + 1) % n * 2;
+            o = putMeshVertex(vertices, o, local, miters, v, 1.0f);
+            o = putMeshVertex(vertices, o, local, miters, v, -1.0f);
+            o = putMeshVertex(vertices, o, local, miters, next, 1.0f);
+
+            o = putMeshVertex(vertices, o, local, miters, v, -1.0f);
+            o = putMeshVertex(vertices, o, local, miters, next, -1.0f);
+            o = putMeshVertex(vertices, o, local, miters, next, 1.0f);
+        }
+        for (int i = 1; i < n - 1; i++) {
+            o = putMeshVertex(vertices, o, local, miters, 0, 0.0f);
+            o = putMeshVertex(vertices, o, local, miters, i * 2, 0.0f);
+            o = putMeshVertex(vertices, o, local, miters, (i + 1) * 2, 0.0f);
+        }
+        return vertices;
+    }
+
+    /**
+     * Writes corner v, moved outward (side 1), inward (side -1) or not at all for the fill (side 0).
+     */
+    private static int putMeshVertex(float[] vertices, int offset, float[] local, float[] miters, int v, float side) {
+        vertices[offset] = local[v];
+        vertices[offset + 1] = local[v + 1];
+        vertices[offset + 2] = miters[v] * side;
+        vertices[offset + 3] = miters[v + 1] * side;
+        vertices[offset + 4] = side != 0.0f ? 1.0f : 0.0f;
+        return offset + MESH_VERTEX_FLOATS;
+    }
+
+    /**
+     * Mesh for a polygon kind, created from PolygonShapes the first time the shape is drawn.
+     */
+    private Mesh polygonMesh(int kind) {
+        Mesh mesh = instanceMeshes[kind];
+        if (mesh == null) {
+            int shape = kind - ShapeGeometry.POLYGON;
+            mesh = createMesh(shapeVertices(PolygonShapes.getLocalVertices(shape), PolygonShapes.getMiters(shape)));
+            instanceMeshes[kind] = mesh;
+        }
+        return mesh;
+    }
+
+    /**
+     * Starts a new layer. Anything queued for the previous layer is drawn first.
+     */
+    public void setLayer(int layer) {
+        if (layer != currentLayer) {
+            flush();
+            currentLayer = layer;
+        }
+    }
+
+    /**
+     * Screen pixels per world unit, so circles use as few segments as look round at this zoom.
+     */
+    public void setPixelsPerUnit(float pixelsPerUnit) {
+        geometry.setPixelsPerUnit(pixelsPerUnit);
+    }
+
+    public void addCircle(Vector2f position, float radius, Vector4f color, float lineWidth, boolean filled) {
+        geometry.addCircle(position, radius, color, lineWidth, filled);
+    }
+
+    public void addCircle(Vector2f position, float radius, Vector4f fillColor, Vector4f outlineColor, float lineWidth) {
+        geometry.addCircle(position, radius, fillColor, outlineColor, lineWidth);
+    }
+
+    public void addRectangle(Vector2f position, Vector2f dimensions, float rotation, Vector4f color,
+                             float lineWidth, boolean filled) {
+        geometry.addRectangle(position, dimensions, rotation, color, lineWidth, filled);
+    }
+
+    public void addRectangle(Vector2f position, Vector2f dimensions, float rotation, Vector4f fillColor,
+                             Vector4f outlineColor, float lineWidth) {
+        geometry.addRectangle(position, dimensions, rotation, fillColor, outlineColor, lineWidth);
+    }
+
+    public void addPolygon(Vector2f position, Vector2f[] vertices, float rotation, Vector4f color,
+                           float lineWidth, boolean filled) {
+        geometry.addPolygon(position, vertices, rotation, color, lineWidth, filled);
+    }
+
+    public void addPolygon(Vector2f position, Vector2f[] vertices, float rotation, Vector4f fillColor,
+                           Vector4f outlineColor, float lineWidth) {
+        geometry.addPolygon(position, vertices, rotation, fillColor, outlineColor, lineWidth);
+    }
+
+    public void addPolygon(Vector2f position, int shape, float rotation, Vector4f color,
+                           float lineWidth, boolean filled) {
+        geometry.addPolygon(position, shape, rotation, color, lineWidth, filled);
+    }
+
+    public void addPolygon(Vector2f position, int shape, float rotation, Vector4f fillColor,
+                           Vector4f outlineColor, float lineWidth) {
+        geometry.addPolygon(position, shape, rotation, fillColor, outlineColor, lineWidth);
+    }
+
+    /**
+     * Draws everything queued so far.
+     */
+    public void flush() {
+        flushInstances();
+        flushPolygons();
+    }
+
+    /**
+     * Flushes the last layer and resets layer tracking for the next frame.
+     */
+    public void end() {
+        flush();
+        currentLayer = Integer.MIN_VALUE;
+    }
+
+    private void flushInstances() {
+        int totalFloats = geometry.getInstanceFloats();
+        if (totalFloats == 0) return;
+
+        // Stream every instance of this layer at once
+        FloatBuffer buffer = stagingFor(totalFloats);
+        for (int kind = 0; kind < ShapeGeometry.INSTANCE_KINDS; kind++) {
+            int count = geometry.getInstanceCount(kind);
+            if (count == 0) continue;  // Unused polygon kinds have no data yet
+            buffer.put(geometry.getInstanceData(kind), 0, count * INSTANCE_FLOATS);
+        }
+        buffer.flip();
+        long offset = stream.write(buffer);
+
+        instanceShader.use();
+
+        for (int kind = 0; kind < ShapeGeometry.INSTANCE_KINDS; kind++) {
+            int count = geometry.getInstanceCount(kind);
+            if (count == 0) continue;
+            Mesh mesh = kind >= ShapeGeometry.POLYGON ? polygonMesh(kind) : instanceMeshes[kind];
+            glBindVertexArray(mesh.vao);
+            glBindBuffer(GL_ARRAY_BUFFER, stream.getBufferId());
+            setInstancePointers(offset);
+            glDrawArraysInstanced(GL_TRIANGLES, 0, mesh.vertexCount, count);
+            stats.recordInstancedDraw(mesh.vertexCount, count);
+            stats.recordGlCalls(8);  // Two binds, five attribute pointers and the draw
+
+            offset += (long) count * INSTANCE_FLOATS * Float.BYTES;
+        }
+        glBindVertexArray(0);
+        stats.recordGlCalls(1);
+        geometry.clearInstances();
+    }
+
+    private void flushPolygons() {
+        int polygonVertexCount = geometry.getPolygonVertexCount();
+        if (polygonVertexCount == 0) return;
+
+        int floats = polygonVertexCount * POLYGON_VERTEX_FLOATS;
+        FloatBuffer buffer = stagingFor(floats);
+        buffer.put(geometry.getPolygonData(), 0, floats);
+        buffer.flip();
+        long offset = stream.write(buffer);
+
+        polygonShader.use();
+
+        int stride = POLYGON_VERTEX_FLOATS * Float.BYTES;
+        glBindVertexArray(polygonVao);
+        glBindBuffer(GL_ARRAY_BUFFER, stream.getBufferId());
+        glVertexAttribPointer(0, 2, GL_FLOAT, false, stride, offset);
+        glVertexAttribPointer(1, 4, GL_FLOAT, false, stride, offset + 2L * Float.BYTES);
+        glDrawArrays(GL_TRIANGLES, 0, polygonVertexCount);
+        glBindVertexArray(0);
+        stats.recordDraw(polygonVertexCount);
+        stats.recordGlCalls(6);
+
+        geometry.clearPolygons();
+    }
+
+    private FloatBuffer stagingFor(int floats) {
+        if (staging.capacity() < floats) {
+            staging = BufferUtils.createFloatBuffer(Math.max(floats, staging.capacity() * 2));
+        }
+        staging.clear();
+        return staging;
+    }
+
+
+    public void cleanup() {
+        instanceShader.cleanup();
+        polygonShader.cleanup();
+        for (Mesh mesh : instanceMeshes) {
+            if (mesh == null) continue;  // Polygon shape never drawn
+            glDeleteBuffers(mesh.vbo);
+            glDeleteVertexArrays(mesh.vao);
+        }
+        glDeleteVertexArrays(polygonVao);
+    }
+}
@@ -0,0 +1,296 @@
+package com.ur91k.jdiep.graphics.core;
+
+import org.joml.Vector2f;
+import org.joml.Vector4f;
+
+import java.util.Arrays;
+
+/**
+ * CPU side of shape batching: per-instance data for circles, rectangles and polygons, and a
+ * world space vertex stream for polygons that do not fit the shape registry. Has no OpenGL
+ * dependency, ShapeBatcher uploads and draws what is collected here.
+ *
+ * Every instance carries a fill and an outline color, and its mesh draws the outline and then
+ * the fill, so each shape's pair stays together and a later shape covers an earlier one's
+ * outline, as in the immediate path. Order between kinds in one layer is by kind: circles,
+ * then rectangles, then polygons; give shapes that must overlap a certain way their own layer.
+ *
+ * Polygons registered with PolygonShapes are drawn by id: the first MAX_POLYGON_SHAPES ids are
+ * a single instance each and the outline is extruded on the GPU from the miters computed at
+ * registration, so drawing the same food shape thousands of times copies 14 floats per shape
+ * and does no per-vertex work here. Later ids and unregistered vertex arrays are transformed
+ * on the CPU into the world space stream.
+ */
+public class ShapeGeometry {
+    public static final int INSTANCE_FLOATS = 14;        // x, y, rotation, scaleX, scaleY, lineWidth, fill rgba, outline rgba
+    public static final int POLYGON_VERTEX_FLOATS = 6;   // x, y, r, g, b, a
+
+    // Circle levels of detail by segment count, picked so the on-screen error stays under half a pixel
+    public static final int[] CIRCLE_LOD_SEGMENTS = { 12, 24, 48, 96 };
+    public static final int CIRCLE_LODS = CIRCLE_LOD_SEGMENTS.length;
+    private static final float MAX_CHORD_ERROR_PIXELS = 0.5f;
+    private static final float[] CIRCLE_LOD_MAX_RADIUS = new float[CIRCLE_LODS];  // In pixels
+
+    static {
+        for (int lod = 0; lod < CIRCLE_LODS; lod++) {
+            // Sagitta of one segment: r * (1 - cos(pi / n))
+            CIRCLE_LOD_MAX_RADIUS[lod] = (float) (MAX_CHORD_ERROR_PIXELS / (1.0 - Math.cos(Math.PI / CIRCLE_LOD_SEGMENTS[lod])));
+        }
+    }
+
+    // Instance kinds, in flush order. Circles take one kind per level of detail, polygons one per PolygonShapes id.
+    public static final int CIRCLE = 0;
+    public static final int RECT = CIRCLE + CIRCLE_LODS;
+    public static final int MAX_POLYGON_SHAPES = 64;
+    public static final int POLYGON = RECT + 1;
+    public static final int INSTANCE_KINDS = POLYGON + MAX_POLYGON_SHAPES;
+
+    // Hidden half of a shape drawn only filled or only outlined
+    private static final Vector4f TRANSPARENT = new Vector4f(0.0f, 0.0f, 0.0f, 0.0f);
+
+    private static final int INITIAL_INSTANCES = 1024;
+    private static final int INITIAL_SHAPE_INSTANCES = 64;  // Polygon kinds, allocated on first use
+    private static final int INITIAL_POLYGON_VERTICES = 4096;
+
+    private final float[][] instanceData = new float[INSTANCE_KINDS][];
+    private final int[] instanceCounts = new int[INSTANCE_KINDS];
+
+    private float[] polygonData = new float[INITIAL_POLYGON_VERTICES * POLYGON_VERTEX_FLOATS];
+    private int polygonVertexCount;
+    private float pixelsPerUnit = Float.POSITIVE_INFINITY;  // Finest circles until the view is known
+
+    // Scratch space for polygon transforms, x and y interleaved
+    private float[] local = new float[32];
+    private float[] world = new float[32];
+    private float[] miters = new float[32];
+
+    public ShapeGeometry() {
+        for (int kind = 0; kind < POLYGON; kind++) {
+            instanceData[kind] = new float[INITIAL_INSTANCES * INSTANCE_FLOATS];
+        }
+    }
+
+    public void addCircle(Vector2f position, float radius, Vector4f color, float lineWidth, boolean filled) {
+        if (filled) {
+            addCircle(position, radius, color, TRANSPARENT, 0.0f);
+        } else {
+            addCircle(position, radius, TRANSPARENT, color, lineWidth);
+        }
+    }
+
+    /**
+     * Filled circle with an outline, both in one instance. A zero line width draws no outline.
+     */
+    public void addCircle(Vector2f position, float radius, Vector4f fillColor, Vector4f outlineColor, float lineWidth) {
+        int lod = circleLod(radius * pixelsPerUnit);
+        addInstance(CIRCLE + lod, position.x, position.y, 0.0f, radius, radius, lineWidth, fillColor, outlineColor);
+    }
+
+    /**
+     * Coarsest circle level of detail whose segments stay within half a pixel of a circle this big on screen.
+     */
+    public static int circleLod(float screenRadius) {
+        for (int lod = 0; lod < CIRCLE_LODS - 1; lod++) {
+            if (screenRadius <= CIRCLE_LOD_MAX_RADIUS[lod]) {
+                return lod;
+            }
+        }
+        return CIRCLE_LODS - 1;
+    }
+
+    /**
+     * Screen pixels per world unit at the current zoom, used to pick circle levels of detail.
+     */
+    public void setPixelsPerUnit(float pixelsPerUnit) {
+        this.pixelsPerUnit = pixelsPerUnit;
+    }
+
+    public void addRectangle(Vector2f position, Vector2f dimensions, float rotation, Vector4f color,
+                             float lineWidth, boolean filled) {
+        if (filled) {
+            addRectangle(position, dimensions, rotation, color, TRANSPARENT, 0.0f);
+        } else {
+            addRectangle(position, dimensions, rotation, TRANSPARENT, color, lineWidth);
+        }
+    }
+
+    public void addRectangle(Vector2f position, Vector2f dimensions, float rotation, Vector4f fillColor,
+                             Vector4f outlineColor, float lineWidth) {
+        addInstance(RECT, position.x, position.y, rotation, dimensions.x, dimensions.y, lineWidth, fillColor, outlineColor);
+    }
+
+    private void addInstance(int kind, float x, float y, float rotation, float scaleX, float scaleY,
+                             float lineWidth, Vector4f fillColor, Vector4f outlineColor) {
+        int offset = instanceCounts[kind] * INSTANCE_FLOATS;
+        if (instanceData[kind] == null) {
+            instanceData[kind] = new float[INITIAL_SHAPE_INSTANCES * INSTANCE_FLOATS];
+        } else if (offset + INSTANCE_FLOATS > instanceData[kind].length) {
+            instanceData[kind] = Arrays.copyOf(instanceData[kind], instanceData[kind].length * 2);
+        }
+        float[] data = instanceData[kind];
+        data[offset] = x;
+        data[offset + 1] = y;
+        data[offset + 2] = rotation;
+        data[offset + 3] = scaleX;
+        data[offset + 4] = scaleY;
+        data[offset + 5] = lineWidth;
+        data[offset + 6] = fillColor.x;
+        data[offset + 7] = fillColor.y;
+        data[offset + 8] = fillColor.z;
+        data[offset + 9] = fillColor.w;
+        data[offset + 10] = outlineColor.x;
+        data[offset + 11] = outlineColor.y;
+        data[offset + 12] = outlineColor.z;
+        data[offset + 13] = outlineColor.w;
+        instanceCounts[kind]++;
+    }
+
+    public void addPolygon(Vector2f position, Vector2f[] vertices, float rotation, Vector4f color,
+                           float lineWidth, boolean filled) {
+        if (filled) {
+            addPolygon(position, vertices, rotation, color, TRANSPARENT, 0.0f);
+        } else {
+            addPolygon(position, vertices, rotation, TRANSPARENT, color, lineWidth);
+        }
+    }
+
+    /**
+     * Unregistered polygon, transformed on the CPU. Prefer the PolygonShapes id overload for shapes drawn every frame.
+     */
+    public void addPolygon(Vector2f position, Vector2f[] vertices, float rotation, Vector4f fillColor,
+                           Vector4f outlineColor, float lineWidth) {
+        int n = vertices.length;
+        if (n < 3) return;
+        ensureScratch(n);
+        for (int i = 0; i < n; i++) {
+            local[i * 2] = vertices[i].x;
+            local[i * 2 + 1] = vertices[i].y;
+        }
+        addWorldPolygon(position, local, n, rotation, fillColor, outlineColor, lineWidth);
+    }
+
+    public void addPolygon(Vector2f position, int shape, float rotation, Vector4f color,
+                           float lineWidth, boolean filled) {
+        if (filled) {
+            addPolygon(position, shape, rotation, color, TRANSPARENT, 0.0f);
+        } else {
+            addPolygon(position, shape, rotation, TRANSPARENT, color, lineWidth);
+        }
+    }
+
+    /**
+     * Polygon registered with PolygonShapes, filled with an outline. A zero line width draws no outline.
+     */
+    public void addPolygon(Vector2f position, int shape, float rotation, Vector4f fillColor,
+                           Vector4f outlineColor, float lineWidth) {
+        if (shape < MAX_POLYGON_SHAPES) {
+            addInstance(POLYGON + shape, position.x, position.y, rotation, 1.0f, 1.0f, lineWidth, fillColor, outlineColor);
+            return;
+        }
+
+        // No instance kind left for this id
+        float[] shapeLocal = PolygonShapes.getLocalVertices(shape);
+        int n = shapeLocal.length / 2;
+        ensureScratch(n);
+        addWorldPolygon(position, shapeLocal, n, rotation, fillColor, outlineColor, lineWidth);
+    }
+
+    private void addWorldPolygon(Vector2f position, float[] points, int n, float rotation, Vector4f fillColor,
+                                 Vector4f outlineColor, float lineWidth) {
+        // Transform vertices to world space
+        float cos = (float) Math.cos(rotation);
+        float sin = (float) Math.sin(rotation);
+        for (int i = 0; i < n; i++) {
+            float x = points[i * 2];
+            float y = points[i * 2 + 1];
+            world[i * 2] = x * cos - y * sin + position.x;
+            world[i * 2 + 1] = x * sin + y * cos + position.y;
+        }
+
+        // Outline first, so the fill covers its inner half
+        if (lineWidth > 0) {
+            PolygonShapes.computeMiters(world, n, miters);
+            float halfWidth = lineWidth / 2.0f;
+            ensurePolygonCapacity(n * 6);
+            for (int i = 0; i < n; i++) {
+                int v = i * 2;
+                int next = (i + 1) % n * 2;
+                float ox = world[v] + miters[v] * halfWidth, oy = world[v + 1] + miters[v + 1] * halfWidth;
+                float ix = world[v] - miters[v] * halfWidth, iy = world[v + 1] - miters[v + 1] * halfWidth;
+                float nox = world[next] + miters[next] * halfWidth, noy = world[next + 1] + miters[next + 1] * halfWidth;
+                float nix = world[next] - miters[next] * halfWidth, niy = world[next + 1] - miters[next + 1] * halfWidth;
+
+                putPolygonVertex(ox, oy, outlineColor);
+                putPolygonVertex(ix, iy, outlineColor);
+                putPolygonVertex(nox, noy, outlineColor);
+
+                putPolygonVertex(ix, iy, outlineColor);
+                putPolygonVertex(nix, niy, outlineColor);
+                putPolygonVertex(nox, noy, outlineColor);
+            }
+        }
+        if (fillColor.w > 0) {
+            // Convex polygons only, same as the triangle fan used by the immediate path
+            ensurePolygonCapacity((n - 2) * 3);
+            for (int i = 1; i < n - 1; i++) {
+                putPolygonVertex(world[0], world[1], fillColor);
+                putPolygonVertex(world[i * 2], world[i * 2 + 1], fillColor);
+                putPolygonVertex(world[i * 2 + 2], world[i * 2 + 3], fillColor);
+            }
+        }
+    }
+
+    private void ensureScratch(int n) {
+        if (world.length < n * 2) {
+            int size = Math.max(n * 2, world.length * 2);
+            local = new float[size];
+            world = new float[size];
+            miters = new float[size];
+        }
+    }
+
+    private void ensurePolygonCapacity(int additionalVertices) {
+        int required = (polygonVertexCount + additionalVertices) * POLYGON_VERTEX_FLOATS;
+        if (required > polygonData.length) {
+            polygonData = Arrays.copyOf(polygonData, Math.max(required, polygonData.length * 2));
+        }
+    }
+
+    private void putPolygonVertex(float x, float y, Vector4f color) {
+        int o = polygonVertexCount * POLYGON_VERTEX_FLOATS;
+        polygonData[o] = x;
+        polygonData[o + 1] = y;
+        polygonData[o + 2] = color.x;
+        polygonData[o + 3] = color.y;
+        polygonData[o + 4] = color.z;
+        polygonData[o + 5] = color.w;
+        polygonVertexCount++;
+    }
+
+    public float[] getInstanceData(int kind) { return instanceData[kind]; }
+    public int getInstanceCount(int kind) { return instanceCounts[kind]; }
+
+    public int getInstanceFloats() {
+        int floats = 0;
+        for (int count : instanceCounts) {
+            floats += count * INSTANCE_FLOATS;
+        }
+        return floats;
+    }
+
+    public float[] getPolygonData() { return polygonData; }
+    public int getPolygonVertexCount() { return polygonVertexCount; }
+
+    public void clearInstances() {
+        Arrays.fill(instanceCounts, 0);
+    }
+
+    public void clearPolygons() {
+        polygonVertexCount = 0;
+    }
+
+    public void clear() {
+        clearInstances();
+        clearPolygons();
+    }
+}
@@ -0,0 +1,167 @@
+package com.ur91k.jdiep.graphics.core;
+
+import org.lwjgl.opengl.ARBBufferStorage;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GLCapabilities;
+import org.tinylog.Logger;
+
+import java.nio.FloatBuffer;
+
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.opengl.GL32.*;
+import static org.lwjgl.system.MemoryUtil.memAddress;
+import static org.lwjgl.system.MemoryUtil.memCopy;
+
+/**
+ * Ring of per-frame segments in one vertex buffer, for geometry that changes every frame.
+ * Each frame writes into its own segment and fences it at endFrame(); a segment is reused
+ * only after its fence has passed, three frames later, so writes never wait for the GPU
+ * to finish reading an earlier frame.
+ *
+ * With ARB_buffer_storage the buffer is mapped once, persistently, and writes are plain
+ * memory copies. Otherwise each write maps its range unsynchronized, which is safe for
+ * the same reason.
+ *
+ * Callers bind getBufferId() and point their attributes at the offset write() returns on
+ * every draw, as the buffer may be replaced when it grows.
+ *
+ * Several renderers share one frame's segment; each write() starts past the last, aligned.
+ * A draw must be issued before the endFrame() that follows its write(), or the fence does
+ * not cover it and the segment can be rewritten while the GPU still reads it. In the game,
+ * OpenGLRenderer.endFrame() flushes the shape batcher and then the text renderer before
+ * ending the stream's frame.
+ */
+public class StreamBuffer {
+    private static final int SEGMENTS = 3;
+    private static final int ALIGNMENT = 16;
+    private static final long FENCE_TIMEOUT_NANOS = 1_000_000_000L;
+
+    private final RenderStats stats;
+    private final boolean persistent;
+    private int bufferId;
+    private long segmentBytes;
+    private long mappedAddress;  // Persistent mapping of the whole buffer, 0 when mapping per write
+    private final long[] fences = new long[SEGMENTS];
+    private int segment;
+    private long segmentOffset;  // Next free byte in the current segment
+
+    public StreamBuffer(long segmentBytes, RenderStats stats) {
+        this.stats = stats;
+        GLCapabilities caps = GL.getCapabilities();
+        this.persistent = caps.OpenGL44 || caps.GL_ARB_buffer_storage;
+        allocate(align(segmentBytes));
+        Logger.debug("Stream buffer: {} KB per frame, {}", segmentBytes / 1024,
+            persistent ? "persistently mapped" : "mapped per write");
+    }
+
+    private void allocate(long segmentBytes) {
+        this.segmentBytes = segmentBytes;
+        long totalBytes = segmentBytes * SEGMENTS;
+        bufferId = glGenBuffers();
+        glBindBuffer(GL_ARRAY_BUFFER, bufferId);
+        if (persistent) {
+            int flags = GL_MAP_WRITE_BIT | ARBBufferStorage.GL_MAP_PERSISTENT_BIT | ARBBufferStorage.GL_MAP_COHERENT_BIT;
+            ARBBufferStorage.glBufferStorage(GL_ARRAY_BUFFER, totalBytes, flags);
+            mappedAddress = nglMapBufferRange(GL_ARRAY_BUFFER, 0, totalBytes, flags);
+            if (mappedAddress == 0) {
+                throw new IllegalStateException("Failed to map stream buffer persistently, GL error " + glGetError());
+            }
+        } else {
+            glBufferData(GL_ARRAY_BUFFER, totalBytes, GL_STREAM_DRAW);
+        }
+    }
+
+    /**
+     * Copies the remaining floats of data into this frame's segment and returns the byte
+     * offset they start at in the buffer. Leaves the buffer bound to GL_ARRAY_BUFFER.
+     */
+    public long write(FloatBuffer data) {
+        long bytes = (long) data.remaining() * Float.BYTES;
+        if (segmentOffset + bytes > segmentBytes) {
+            grow(segmentOffset + bytes);
+        }
+
+        long offset = segment * segmentBytes + segmentOffset;
+        glBindBuffer(GL_ARRAY_BUFFER, bufferId);
+        if (persistent) {
+            memCopy(memAddress(data), mappedAddress + offset, bytes);
+            stats.recordGlCalls(1);
+        } else {
+            int access = GL_MAP_WRITE_BIT | GL_MAP_UNSYNCHRONIZED_BIT | GL_MAP_INVALIDATE_RANGE_BIT;
+            long address = nglMapBufferRange(GL_ARRAY_BUFFER, offset, bytes, access);
+            if (address == 0) {
+                throw new IllegalStateException("Failed to map stream buffer range, GL error " + glGetError());
+            }
+            memCopy(memAddress(data), address, bytes);
+            glUnmapBuffer(GL_ARRAY_BUFFER);
+            stats.recordGlCalls(3);
+        }
+        segmentOffset = align(segmentOffset + bytes);
+        stats.recordStreamed(bytes);
+        return offset;
+    }
+
+    /**
+     * Fences this frame's writes and moves to the next segment, waiting only if the GPU is
+     * still reading it from three frames ago. Call once per frame, after every writer has
+     * issued the draws that read this frame's data.
+     */
+    public void endFrame() {
+        fences[segment] = glFenceSync(GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+        segment = (segment + 1) % SEGMENTS;
+        segmentOffset = 0;
+
+        long fence = fences[segment];
+        if (fence != 0) {
+            int result = glClientWaitSync(fence, GL_SYNC_FLUSH_COMMANDS_BIT, FENCE_TIMEOUT_NANOS);
+            if (result == GL_TIMEOUT_EXPIRED || result == GL_WAIT_FAILED) {
+                Logger.warn("Stream buffer fence wait failed: {}", result);
+            }
+            glDeleteSync(fence);
+            fences[segment] = 0;
+            stats.recordGlCalls(2);
+        }
+        stats.recordGlCalls(1);
+    }
+
+    /**
+     * Replaces the buffer with one whose segments fit at least this many bytes. Draws
+     * already issued keep reading the old buffer, GL frees it once they are done.
+     */
+    private void grow(long requiredBytes) {
+        long newSegmentBytes = align(Math.max(requiredBytes, segmentBytes * 2));
+        Logger.debug("Growing stream buffer to {} KB per frame", newSegmentBytes / 1024);
+        release();
+        allocate(newSegmentBytes);
+        segment = 0;
+        segmentOffset = 0;
+    }
+
+    private void release() {
+        for (int i = 0; i < SEGMENTS; i++) {
+            if (fences[i] != 0) {
+                glDeleteSync(fences[i]);
+                fences[i] = 0;
+            }
+        }
+        if (persistent) {
+            glBindBuffer(GL_ARRAY_BUFFER, bufferId);
+            glUnmapBuffer(GL_ARRAY_BUFFER);
+            mappedAddress = 0;
+        }
+        glDeleteBuffers(bufferId);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    public int getBufferId() { return bufferId; }
+    public long getSegmentBytes() { return segmentBytes; }
+    public boolean isPersistent() { return persistent; }
+
+    public void cleanup() {
+        release();
+    }
+}
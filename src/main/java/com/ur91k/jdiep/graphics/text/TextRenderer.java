@@ -2,13 +2,16 @@ package com.ur91k.jdiep.graphics.text;
 
 import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
+import java.util.Arrays;
 import org.tinylog.Logger;
 import org.lwjgl.BufferUtils;
 import org.joml.Matrix4f;
 import org.joml.Vector2f;
 import org.joml.Vector4f;
 
+import com.ur91k.jdiep.graphics.core.RenderStats;
 import com.ur91k.jdiep.graphics.core.ShaderProgram;
+import com.ur91k.jdiep.graphics.core.StreamBuffer;
 
 import static org.lwjgl.opengl.GL11.*;
 import static org.lwjgl.opengl.GL12.GL_CLAMP_TO_EDGE;
@@ -17,22 +20,37 @@ import static org.lwjgl.opengl.GL15.*;
 import static org.lwjgl.opengl.GL20.*;
 import static org.lwjgl.opengl.GL30.*;
 
+/**
+ * Batches text into glyph quads with per-vertex color. renderText() only queues quads;
+ * flush() streams every quad queued that frame and draws them all at once.
+ */
 public class TextRenderer {
+    private static final int VERTEX_FLOATS = 8;  // x, y, s, t, r, g, b, a
+    private static final int GLYPH_FLOATS = 6 * VERTEX_FLOATS;
+    private static final int INITIAL_GLYPHS = 1024;
+    
     private final int vao;
-    private final int vbo;
+    private final StreamBuffer stream;  // Shared with the shape renderer, which flushes text before fencing the frame
+    private final RenderStats stats;
+    private float[] glyphData = new float[INITIAL_GLYPHS * GLYPH_FLOATS];
+    private int glyphFloats;
+    private FloatBuffer staging = BufferUtils.createFloatBuffer(INITIAL_GLYPHS * GLYPH_FLOATS);
     private final ShaderProgram shader;
     private final Matrix4f projection;
     private final BDFFont font;
     private final int textureId;
     
-    public TextRenderer(int windowWidth, int windowHeight) {
+    public TextRenderer(int windowWidth, int windowHeight, StreamBuffer stream, RenderStats stats) {
+        this.stream = stream;
+        this.stats = stats;
         try {
             ClassLoader classLoader = getClass().getClassLoader();
             font = new BDFFont(classLoader.getResourceAsStream("fonts/spleen-8x16.bdf"));
             
             shader = new ShaderProgram(
                 classLoader.getResourceAsStream("shaders/text_vertex.glsl"),
-                classLoader.getResourceAsStream("shaders/text_fragment.glsl")
+                classLoader.getResourceAsStream("shaders/text_fragment.glsl"),
+                stats
             );
             
             // Verify shader program
@@ -87,17 +105,14 @@ public class TextRenderer {
                 throw new RuntimeException("OpenGL error after texture upload: " + error);
             }
             
-            // Setup VAO/VBO
+            // Setup VAO, glyph quads are streamed and pointed at on every draw
             vao = glGenVertexArrays();
-            vbo = glGenBuffers();
             
             glBindVertexArray(vao);
-            glBindBuffer(GL_ARRAY_BUFFER, vbo);
-            glBufferData(GL_ARRAY_BUFFER, 4 * 4 * Float.BYTES, GL_DYNAMIC_DRAW);
             
-            // position (x,y) and texture coordinates (s,t)
-            glVertexAttribPointer(0, 4, GL_FLOAT, false, 0, 0);
+            // position (x,y) and texture coordinates (s,t), then color
             glEnableVertexAttribArray(0);
+            glEnableVertexAttribArray(1);
             
             // Verify VAO setup
             if (glGetVertexAttribi(0, GL_VERTEX_ATTRIB_ARRAY_ENABLED) != GL_TRUE) {
@@ -115,128 +130,105 @@ public class TextRenderer {
     }
     
     public void renderText(String text, float x, float y, Vector4f color) {
+        queueText(text, x, y, color, 1.0f);
+    }
+    
+    public void renderText(String text, Vector2f position, Vector4f color, float scale) {
+        queueText(text, position.x, position.y, color, scale);
+    }
+    
+    /**
+     * Appends a quad per glyph to this frame's batch. Nothing is drawn until flush().
+     */
+    private void queueText(String text, float x, float y, Vector4f color, float scale) {
         if (text == null || text.isEmpty()) return;
         
-        Logger.trace("Rendering text: {}", text);
-        
-        if (shader == null) {
-            Logger.error("Shader is null");
-            return;
-        }
-        
-        // Save current OpenGL state
-        int previousProgram = glGetInteger(GL_CURRENT_PROGRAM);
-        boolean depthTestEnabled = glGetBoolean(GL_DEPTH_TEST);
-        
-        // Setup state for text rendering
-        if (depthTestEnabled) glDisable(GL_DEPTH_TEST);
-        glEnable(GL_BLEND);
-        glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
-        
-        shader.use();
-        shader.setMatrix4f("projection", projection);
-        shader.setVector4f("color", color);
-        shader.setInt("text", 0);
-        
-        glActiveTexture(GL_TEXTURE0);
-        glBindTexture(GL_TEXTURE_2D, textureId);
-        
-        glBindVertexArray(vao);
-        glBindBuffer(GL_ARRAY_BUFFER, vbo);
-        
-        FloatBuffer vertices = BufferUtils.createFloatBuffer(16); // 4 vertices * 4 components
+        ensureCapacity(text.length() * GLYPH_FLOATS);
         float xpos = x;
         
-        for (char c : text.toCharArray()) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
             BDFFont.Glyph glyph = font.getGlyph(c);
             if (glyph == null) {
-                Logger.warn("No glyph found for character: {}", c);
+                Logger.trace("No glyph found for character: {}", c);
                 continue;
             }
             
-            float x0 = xpos + glyph.xOffset;
-            float y0 = y + glyph.yOffset;
-            float x1 = x0 + glyph.width;
-            float y1 = y0 + glyph.height;
-            
-            vertices.clear();
-            vertices.put(new float[] {
-                x0, y0, glyph.s0, glyph.t0,
-                x1, y0, glyph.s1, glyph.t0,
-                x1, y1, glyph.s1, glyph.t1,
-                x0, y1, glyph.s0, glyph.t1
-            });
-            vertices.flip();
-            
-            // Make sure we're not writing beyond buffer bounds
-            if (vertices.remaining() * Float.BYTES > 4 * 4 * Float.BYTES) {
-                Logger.error("Attempting to write beyond buffer bounds");
-                continue;
-            }
+            float x0 = xpos + glyph.xOffset * scale;
+            float y0 = y + glyph.yOffset * scale;
+            float x1 = x0 + glyph.width * scale;
+            float y1 = y0 + glyph.height * scale;
             
-            glBufferSubData(GL_ARRAY_BUFFER, 0, vertices);
-            glDrawArrays(GL_TRIANGLE_FAN, 0, 4);
+            // Two triangles, so every glyph of the frame fits one GL_TRIANGLES draw
+            putVertex(x0, y0, glyph.s0, glyph.t0, color);
+            putVertex(x1, y0, glyph.s1, glyph.t0, color);
+            putVertex(x1, y1, glyph.s1, glyph.t1, color);
+            putVertex(x0, y0, glyph.s0, glyph.t0, color);
+            putVertex(x1, y1, glyph.s1, glyph.t1, color);
+            putVertex(x0, y1, glyph.s0, glyph.t1, color);
             
-            xpos += glyph.xAdvance;
+            xpos += glyph.xAdvance * scale;
         }
-        
-        // Restore previous OpenGL state
-        glUseProgram(previousProgram);
-        if (depthTestEnabled) glEnable(GL_DEPTH_TEST);
-        glDisable(GL_BLEND);
-        glBindVertexArray(0);
-        glBindTexture(GL_TEXTURE_2D, 0);
     }
     
-    public void renderText(String text, Vector2f position, Vector4f color, float scale) {
-        if (text == null || text.isEmpty()) return;
+    private void putVertex(float x, float y, float s, float t, Vector4f color) {
+        float[] data = glyphData;
+        int offset = glyphFloats;
+        data[offset] = x;
+        data[offset + 1] = y;
+        data[offset + 2] = s;
+        data[offset + 3] = t;
+        data[offset + 4] = color.x;
+        data[offset + 5] = color.y;
+        data[offset + 6] = color.z;
+        data[offset + 7] = color.w;
+        glyphFloats = offset + VERTEX_FLOATS;
+    }
+    
+    private void ensureCapacity(int additionalFloats) {
+        if (glyphFloats + additionalFloats > glyphData.length) {
+            glyphData = Arrays.copyOf(glyphData, Math.max(glyphFloats + additionalFloats, glyphData.length * 2));
+        }
+    }
+    
+    /**
+     * Draws every glyph queued since the last flush, screen and world labels alike, in one
+     * draw call. Call once per frame after the labels have been queued.
+     */
+    public void flush() {
+        if (glyphFloats == 0) return;
+        
+        if (staging.capacity() < glyphFloats) {
+            staging = BufferUtils.createFloatBuffer(Math.max(glyphFloats, staging.capacity() * 2));
+        }
+        staging.clear();
+        staging.put(glyphData, 0, glyphFloats);
+        staging.flip();
+        long offset = stream.write(staging);
+        int vertexCount = glyphFloats / VERTEX_FLOATS;
+        glyphFloats = 0;
         
         shader.use();
         shader.setMatrix4f("projection", projection);
-        shader.setVector4f("color", color);
         shader.setInt("text", 0);
         
         glActiveTexture(GL_TEXTURE0);
         glBindTexture(GL_TEXTURE_2D, textureId);
         
-        glBindVertexArray(vao);
-        glBindBuffer(GL_ARRAY_BUFFER, vbo);
-        
         glEnable(GL_BLEND);
         glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
         
-        float xpos = position.x;
-        float ypos = position.y;
-        
-        FloatBuffer vertices = BufferUtils.createFloatBuffer(16);
-        
-        for (char c : text.toCharArray()) {
-            BDFFont.Glyph glyph = font.getGlyph(c);
-            if (glyph == null) continue;
-            
-            float x0 = xpos + glyph.xOffset * scale;
-            float y0 = ypos + glyph.yOffset * scale;
-            float x1 = x0 + glyph.width * scale;
-            float y1 = y0 + glyph.height * scale;
-            
-            vertices.clear();
-            vertices.put(new float[] {
-                x0, y0, glyph.s0, glyph.t0,
-                x1, y0, glyph.s1, glyph.t0,
-                x1, y1, glyph.s1, glyph.t1,
-                x0, y1, glyph.s0, glyph.t1
-            });
-            vertices.flip();
-            
-            glBufferSubData(GL_ARRAY_BUFFER, 0, vertices);
-            glDrawArrays(GL_TRIANGLE_FAN, 0, 4);
-            
-            xpos += glyph.xAdvance * scale;
-        }
+        int stride = VERTEX_FLOATS * Float.BYTES;
+        glBindVertexArray(vao);
+        glVertexAttribPointer(0, 4, GL_FLOAT, false, stride, offset);  // Stream is still bound from the write
+        glVertexAttribPointer(1, 4, GL_FLOAT, false, stride, offset + 4L * Float.BYTES);
+        glDrawArrays(GL_TRIANGLES, 0, vertexCount);
         
-        glDisable(GL_BLEND);
+        // Blending stays on, shapes drawn in later frames rely on it
         glBindVertexArray(0);
         glBindTexture(GL_TEXTURE_2D, 0);
+        stats.recordDraw(vertexCount);
+        stats.recordGlCalls(10);
     }
 
     public void renderScreenText(String text, Vector2f position, Vector4f color, float scale) {
@@ -256,7 +248,6 @@ public class TextRenderer {
     public void cleanup() {
         shader.cleanup();
         glDeleteTextures(textureId);
-        glDeleteBuffers(vbo);
         glDeleteVertexArrays(vao);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.ur91k.jdiep.network;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Wire format constants and helpers shared by the replication server and client.
+ *
+ * Every datagram starts with a one byte message type. Integers are written as
+ * varints, signed values zigzag encoded so small deltas stay small.
+ */
+public final class NetworkProtocol {
+    private NetworkProtocol() {} // Prevent instantiation
+
+    public static final int DEFAULT_PORT = 7777;
+    public static final int MAX_PACKET_SIZE = 65507;  // Largest UDP payload
+    public static final int MAX_PART_SIZE = 1200;     // Snapshot part budget, fits a typical MTU so IP never fragments it
+    public static final int MAX_ENTITY_ID = 1 << 20;  // Far above any arena, bounds what a datagram can make a client allocate
+
+    // Message types
+    public static final byte MSG_HELLO = 1;     // Client -> server, join
+    public static final byte MSG_ACK = 2;       // Client -> server, varint tick of the last decoded snapshot
+    public static final byte MSG_BYE = 3;       // Client -> server, leave
+    public static final byte MSG_SNAPSHOT = 4;  // Server -> client
+
+    // Snapshots kept for delta baselines, at 60 ticks/s about half a second
+    public static final int HISTORY_SIZE = 32;
+
+    // Drop clients that have not been heard from in this long
+    public static final long CLIENT_TIMEOUT_NANOS = 5_000_000_000L;
+
+    // A client gives up if no complete snapshot arrives this long after connecting
+    public static final long CONNECT_TIMEOUT_NANOS = 10_000_000_000L;
+
+    // Quantization
+    public static final float POSITION_SCALE = 64.0f;  // 1/64 m steps
+    public static final float ANGLE_SCALE = 65536.0f / (float)(Math.PI * 2);  // 16 bit angles
+    public static final int HEALTH_FULL = 255;
+
+    // Per-entity field flags in a snapshot
+    public static final int FIELD_NEW = 1;      // Spawned or id reused since the baseline, shape follows
+    public static final int FIELD_POSITION = 1 << 1;
+    public static final int FIELD_ANGLE = 1 << 2;
+    public static final int FIELD_HEALTH = 1 << 3;
+
+    public static int quantizePosition(float meters) {
+        return Math.round(meters * POSITION_SCALE);
+    }
+
+    public static float dequantizePosition(int value) {
+        return value / POSITION_SCALE;
+    }
+
+    public static int quantizeAngle(float radians) {
+        return Math.round(radians * ANGLE_SCALE) & 0xFFFF;
+    }
+
+    public static float dequantizeAngle(int value) {
+        return value / ANGLE_SCALE;
+    }
+
+    public static void writeVarInt(ByteBuf out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    public static int readVarInt(ByteBuf in) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift > 28) throw new IllegalArgumentException("Malformed varint");
+            b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    public static void writeSignedVarInt(ByteBuf out, int value) {
+        writeVarInt(out, (value << 1) ^ (value >> 31));
+    }
+
+    public static int readSignedVarInt(ByteBuf in) {
+        int value = readVarInt(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
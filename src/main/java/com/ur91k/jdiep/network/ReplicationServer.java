@@ -0,0 +1,230 @@
+package com.ur91k.jdiep.network;
+
+import com.badlogic.gdx.utils.IntArray;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.FixedRecvByteBufAllocator;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import org.tinylog.Logger;
+
+import java.net.InetSocketAddress;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.ur91k.jdiep.network.NetworkProtocol.*;
+
+/**
+ * Authoritative UDP server that broadcasts a delta compressed snapshot every tick.
+ *
+ * Snapshots are captured on the simulation thread into a history ring. Each client gets the
+ * current snapshot encoded against the last tick it acknowledged, split into datagram sized
+ * parts; clients sharing a baseline share one encoded buffer. Incoming hello/ack messages are
+ * handled on the Netty event loop.
+ */
+public class ReplicationServer {
+    private static class ClientConnection {
+        final InetSocketAddress address;
+        volatile int ackedTick = WorldSnapshot.NO_TICK;
+        volatile long lastHeardNanos;
+
+        ClientConnection(InetSocketAddress address) {
+            this.address = address;
+            this.lastHeardNanos = System.nanoTime();
+        }
+    }
+
+    private final int port;
+    private final Map<InetSocketAddress, ClientConnection> clients = new ConcurrentHashMap<>();
+    private final SnapshotHistory history = new SnapshotHistory(HISTORY_SIZE);
+    private EventLoopGroup group;
+    private Channel channel;
+    private int tick = 0;
+
+    // Encoded buffers of the current broadcast and where each part ends, keyed by baseline slot (last entry = full snapshot)
+    private final ByteBuf[] encoded = new ByteBuf[HISTORY_SIZE + 1];
+    private final IntArray[] partEnds = new IntArray[HISTORY_SIZE + 1];
+
+    // Stats of the last broadcast
+    private int lastBytesSent;
+    private int lastPacketsSent;
+    private int lastEncodeCount;
+    private long lastEncodeNanos;
+    private long totalBytesSent;
+
+    public ReplicationServer(int port) {
+        this.port = port;
+        for (int i = 0; i < partEnds.length; i++) {
+            partEnds[i] = new IntArray();
+        }
+    }
+
+    public void start() {
+        group = new NioEventLoopGroup(1);
+        Bootstrap bootstrap = new Bootstrap()
+            .group(group)
+            .channel(NioDatagramChannel.class)
+            .option(ChannelOption.RCVBUF_ALLOCATOR, new FixedRecvByteBufAllocator(1024))
+            .handler(new SimpleChannelInboundHandler<DatagramPacket>() {
+                @Override
+                protected void channelRead0(ChannelHandlerContext ctx, DatagramPacket packet) {
+                    handleMessage(packet.sender(), packet.content());
+                }
+
+                @Override
+                public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+                    Logger.warn("Replication server error: {}", cause.getMessage());
+                }
+            });
+
+        channel = bootstrap.bind(port).syncUninterruptibly().channel();
+        Logger.info("Replication server listening on UDP port {}", getPort());
+    }
+
+    private void handleMessage(InetSocketAddress sender, ByteBuf in) {
+        if (!in.isReadable()) return;
+        byte type = in.readByte();
+        switch (type) {
+            case MSG_HELLO:
+                if (clients.putIfAbsent(sender, new ClientConnection(sender)) == null) {
+                    Logger.info("Client connected: {}", sender);
+                }
+                break;
+            case MSG_ACK: {
+                ClientConnection client = clients.get(sender);
+                if (client != null) {
+                    int acked = readVarInt(in);
+                    if (acked > client.ackedTick) {
+                        client.ackedTick = acked;
+                    }
+                    client.lastHeardNanos = System.nanoTime();
+                }
+                break;
+            }
+            case MSG_BYE:
+                if (clients.remove(sender) != null) {
+                    Logger.info("Client disconnected: {}", sender);
+                }
+                break;
+            default:
+                Logger.debug("Unknown message type {} from {}", type, sender);
+        }
+    }
+
+    /**
+     * Starts a new tick and returns the snapshot to fill in.
+     */
+    public WorldSnapshot beginSnapshot() {
+        tick++;
+        WorldSnapshot snapshot = history.acquire(tick);
+        snapshot.begin(tick);
+        return snapshot;
+    }
+
+    /**
+     * Snapshot of the previous tick, used to carry over shape data. May be null.
+     */
+    public WorldSnapshot getPreviousSnapshot() {
+        return history.get(tick - 1);
+    }
+
+    /**
+     * Sends the snapshot started by beginSnapshot() to every connected client.
+     */
+    public void broadcast() {
+        lastBytesSent = 0;
+        lastPacketsSent = 0;
+        lastEncodeCount = 0;
+        lastEncodeNanos = 0;
+        if (channel == null || clients.isEmpty()) return;
+
+        WorldSnapshot current = history.get(tick);
+        long now = System.nanoTime();
+
+        Iterator<ClientConnection> it = clients.values().iterator();
+        while (it.hasNext()) {
+            ClientConnection client = it.next();
+            if (now - client.lastHeardNanos > CLIENT_TIMEOUT_NANOS) {
+                Logger.info("Client timed out: {}", client.address);
+                it.remove();
+                continue;
+            }
+
+            // Fall back to a full snapshot if the acked baseline has left the history
+            int acked = client.ackedTick;
+            WorldSnapshot baseline = null;
+            if (acked != WorldSnapshot.NO_TICK && tick - acked < HISTORY_SIZE) {
+                baseline = history.get(acked);
+            }
+            int slot = baseline == null ? HISTORY_SIZE : Math.floorMod(acked, HISTORY_SIZE);
+
+            ByteBuf buffer = encoded[slot];
+            IntArray ends = partEnds[slot];
+            if (buffer == null) {
+                buffer = channel.alloc().ioBuffer(1024);
+                ends.clear();
+                long start = System.nanoTime();
+                SnapshotCodec.encode(current, baseline, buffer, ends);
+                lastEncodeNanos += System.nanoTime() - start;
+                lastEncodeCount++;
+                encoded[slot] = buffer;
+            }
+
+            int partStart = 0;
+            for (int i = 0; i < ends.size; i++) {
+                int partEnd = ends.get(i);
+                channel.write(new DatagramPacket(buffer.retainedSlice(partStart, partEnd - partStart), client.address));
+                partStart = partEnd;
+            }
+            lastBytesSent += buffer.readableBytes();
+            lastPacketsSent += ends.size;
+        }
+        channel.flush();
+        totalBytesSent += lastBytesSent;
+
+        // Release our references, the queued duplicates keep the memory alive until written
+        for (int i = 0; i < encoded.length; i++) {
+            if (encoded[i] != null) {
+                encoded[i].release();
+                encoded[i] = null;
+            }
+        }
+    }
+
+    public void stop() {
+        if (channel != null) {
+            channel.close().syncUninterruptibly();
+            channel = null;
+        }
+        if (group != null) {
+            group.shutdownGracefully();
+            group = null;
+        }
+        Logger.info("Replication server stopped");
+    }
+
+    public int getPort() {
+        return channel != null ? ((InetSocketAddress) channel.localAddress()).getPort() : port;
+    }
+
+    public boolean isRunning() { return channel != null; }
+    public int getTick() { return tick; }
+    public int getClientCount() { return clients.size(); }
+    public int getLastBytesSent() { return lastBytesSent; }
+    public int getLastPacketsSent() { return lastPacketsSent; }
+    public long getTotalBytesSent() { return totalBytesSent; }
+
+    /**
+     * Average time spent encoding one snapshot in the last broadcast.
+     */
+    public long getLastEncodeNanos() {
+        return lastEncodeCount == 0 ? 0 : lastEncodeNanos / lastEncodeCount;
+    }
+}
@@ -0,0 +1,224 @@
+package com.ur91k.jdiep.network;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.FixedRecvByteBufAllocator;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.tinylog.Logger;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static com.ur91k.jdiep.network.NetworkProtocol.*;
+
+/**
+ * Receives snapshots from a ReplicationServer and acknowledges them.
+ *
+ * Decoding happens on the Netty event loop; the game thread picks up the newest
+ * snapshot with poll(). A snapshot arrives in parts and only counts, and is acknowledged,
+ * once every part of its tick has been applied; a tick missing a part is dropped and the
+ * server keeps encoding against the last acknowledged one. If no snapshot completes within
+ * CONNECT_TIMEOUT_NANOS of connecting, the client stops trying and hasFailed() turns true.
+ */
+public class SnapshotClient {
+    private final InetSocketAddress serverAddress;
+    private final SnapshotHistory history = new SnapshotHistory(HISTORY_SIZE);
+    private EventLoopGroup group;
+    private Channel channel;
+    private ScheduledFuture<?> helloTask;
+    private long connectNanos;
+    private volatile boolean failed;
+
+    // Only touched on the event loop
+    private int latestTick = WorldSnapshot.NO_TICK;
+    private final SnapshotCodec.PartHeader header = new SnapshotCodec.PartHeader();
+    private WorldSnapshot assembling;  // Tick whose parts are arriving, hidden from the history until complete
+    private int assemblingTick = WorldSnapshot.NO_TICK;
+    private boolean assemblingValid;
+    private int assemblingParts;
+    private int partsMissing;
+    private boolean[] partsReceived = new boolean[64];
+
+    // Handoff to the game thread, guarded by this
+    private final WorldSnapshot latest = new WorldSnapshot();
+    private boolean hasNewSnapshot;
+
+    // Stats
+    private volatile long bytesReceived;
+    private volatile long snapshotsReceived;
+    private volatile long snapshotsDropped;
+
+    public SnapshotClient(InetSocketAddress serverAddress) {
+        this.serverAddress = serverAddress;
+    }
+
+    public void connect() {
+        group = new NioEventLoopGroup(1);
+        Bootstrap bootstrap = new Bootstrap()
+            .group(group)
+            .channel(NioDatagramChannel.class)
+            .option(ChannelOption.RCVBUF_ALLOCATOR, new FixedRecvByteBufAllocator(MAX_PACKET_SIZE))
+            .option(ChannelOption.SO_RCVBUF, 1 << 20)
+            .handler(new SimpleChannelInboundHandler<DatagramPacket>() {
+                @Override
+                protected void channelRead0(ChannelHandlerContext ctx, DatagramPacket packet) {
+                    handleMessage(packet.content());
+                }
+
+                @Override
+                public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+                    Logger.warn("Snapshot client error: {}", cause.getMessage());
+                }
+            });
+
+        channel = bootstrap.bind(0).syncUninterruptibly().channel();
+
+        // Repeat the hello until the first snapshot arrives, datagrams can get lost
+        connectNanos = System.nanoTime();
+        helloTask = channel.eventLoop().scheduleAtFixedRate(this::sendHello, 0, 1, TimeUnit.SECONDS);
+        Logger.info("Connecting to {}", serverAddress);
+    }
+
+    private void sendHello() {
+        if (System.nanoTime() - connectNanos > CONNECT_TIMEOUT_NANOS) {
+            Logger.error("No complete snapshot from {} within {} s ({} bytes received, {} snapshots dropped), giving up",
+                serverAddress, CONNECT_TIMEOUT_NANOS / 1_000_000_000L, bytesReceived, snapshotsDropped);
+            failed = true;
+            helloTask.cancel(false);
+            helloTask = null;
+            return;
+        }
+        send(MSG_HELLO, -1);
+    }
+
+    private void handleMessage(ByteBuf in) {
+        bytesReceived += in.readableBytes();
+        if (!in.isReadable() || in.readByte() != MSG_SNAPSHOT) return;
+
+        try {
+            SnapshotCodec.readHeader(in, header);
+
+            // Datagrams can arrive out of order, parts of older snapshots are useless
+            if (header.tick <= latestTick || header.tick < assemblingTick) return;
+            if (header.tick != assemblingTick) {
+                beginAssembly();
+            }
+            if (!assemblingValid || header.partCount != assemblingParts || partsReceived[header.partIndex]) {
+                return;  // Baseline gone, inconsistent or duplicate part
+            }
+            SnapshotCodec.decodePart(in, assembling);
+            partsReceived[header.partIndex] = true;
+            partsMissing--;
+        } catch (RuntimeException e) {
+            // Malformed: drop the whole tick, the part may have been applied halfway
+            if (assemblingValid) {
+                snapshotsDropped++;
+            }
+            assemblingValid = false;
+            throw e;
+        }
+        if (partsMissing > 0) return;
+
+        WorldSnapshot snapshot = assembling;
+        snapshot.tick = assemblingTick;  // Complete, usable as a baseline from now on
+        assemblingValid = false;
+        latestTick = snapshot.getTick();
+        snapshotsReceived++;
+
+        if (helloTask != null) {
+            helloTask.cancel(false);
+            helloTask = null;
+        }
+
+        synchronized (this) {
+            latest.copyFrom(snapshot);
+            hasNewSnapshot = true;
+        }
+        send(MSG_ACK, latestTick);
+    }
+
+    /**
+     * Starts applying the tick in header, from its baseline if the history still has it.
+     */
+    private void beginAssembly() {
+        if (assemblingValid) {
+            snapshotsDropped++;  // A part of the previous tick never arrived
+        }
+        assemblingTick = header.tick;
+        assemblingValid = false;
+
+        WorldSnapshot baseline = null;
+        if (header.baselineOffset != 0) {
+            baseline = history.get(header.tick - header.baselineOffset);
+            if (baseline == null) {
+                snapshotsDropped++;
+                return;
+            }
+        }
+
+        assembling = history.acquire(header.tick);
+        if (baseline != null) {
+            assembling.copyFrom(baseline);
+        } else {
+            assembling.begin(header.tick);
+        }
+        assembling.tick = WorldSnapshot.NO_TICK;
+
+        if (partsReceived.length < header.partCount) {
+            partsReceived = new boolean[Math.max(header.partCount, partsReceived.length * 2)];
+        }
+        Arrays.fill(partsReceived, 0, header.partCount, false);
+        assemblingParts = header.partCount;
+        partsMissing = header.partCount;
+        assemblingValid = true;
+    }
+
+    private void send(byte type, int tick) {
+        ByteBuf out = channel.alloc().ioBuffer(8);
+        out.writeByte(type);
+        if (tick >= 0) {
+            writeVarInt(out, tick);
+        }
+        channel.writeAndFlush(new DatagramPacket(out, serverAddress));
+    }
+
+    /**
+     * Copies the newest snapshot into the given one if a new one arrived since the last call.
+     */
+    public synchronized boolean poll(WorldSnapshot into) {
+        if (!hasNewSnapshot) return false;
+        into.copyFrom(latest);
+        hasNewSnapshot = false;
+        return true;
+    }
+
+    public void disconnect() {
+        if (channel != null) {
+            send(MSG_BYE, -1);
+            channel.close().syncUninterruptibly();
+            channel = null;
+        }
+        if (group != null) {
+            group.shutdownGracefully();
+            group = null;
+        }
+    }
+
+    public long getBytesReceived() { return bytesReceived; }
+    public long getSnapshotsReceived() { return snapshotsReceived; }
+    public long getSnapshotsDropped() { return snapshotsDropped; }
+
+    /**
+     * True once the client has given up waiting for its first snapshot.
+     */
+    public boolean hasFailed() { return failed; }
+}
@@ -0,0 +1,308 @@
+package com.ur91k.jdiep.network;
+
+import com.badlogic.gdx.utils.IntArray;
+import io.netty.buffer.ByteBuf;
+
+import static com.ur91k.jdiep.network.NetworkProtocol.*;
+
+/**
+ * Encodes snapshots as deltas against a baseline the client has acknowledged.
+ *
+ * A snapshot is split into parts of at most MAX_PART_SIZE bytes, each sent as its own
+ * datagram and decodable on its own. Layout of a part after the message type byte:
+ *   varint tick, varint (tick - baseline tick) or 0 for a full snapshot,
+ *   u16 part index, u16 part count,
+ *   u16 entity count, then per changed entity:
+ *     varint id delta from the previous entry, u8 field flags,
+ *     NEW:      varint generation, u8 shape type, varint width, varint height,
+ *               varint vertex count and zigzag vertex coordinates
+ *     POSITION: zigzag x,y (absolute when NEW, otherwise delta from baseline)
+ *     ANGLE:    u16 when NEW, otherwise zigzag wrapped delta
+ *     HEALTH:   u8
+ *   u16 removed count, varint id deltas.
+ * Id deltas restart at zero in every part. Entities that did not change since the baseline
+ * are not written at all.
+ */
+public final class SnapshotCodec {
+    private SnapshotCodec() {} // Prevent instantiation
+
+    private static final int SHAPE_TYPES = 3;  // ShapeComponent.ShapeType: circle, rectangle, polygon
+
+    /**
+     * Per-part state of an encode in progress.
+     */
+    private static final class PartWriter {
+        final ByteBuf out;
+        final WorldSnapshot current;
+        final WorldSnapshot baseline;
+        final IntArray partEnds;
+        final int firstPart;
+        int partStart;
+        int countIndex;
+        int count;
+        int removedIndex;
+        int removed;
+        int previousId;
+
+        PartWriter(ByteBuf out, WorldSnapshot current, WorldSnapshot baseline, IntArray partEnds) {
+            this.out = out;
+            this.current = current;
+            this.baseline = baseline;
+            this.partEnds = partEnds;
+            this.firstPart = partEnds.size;
+        }
+
+        void begin() {
+            partStart = out.writerIndex();
+            out.writeByte(MSG_SNAPSHOT);
+            writeVarInt(out, current.tick);
+            writeVarInt(out, baseline == null ? 0 : current.tick - baseline.tick);
+            out.writeShort(partEnds.size - firstPart);  // Index
+            out.writeShort(0);              // Count, set once every part is written
+            countIndex = out.writerIndex();
+            out.writeShort(0);
+            removedIndex = -1;
+            count = 0;
+            removed = 0;
+            previousId = 0;
+        }
+
+        void beginRemovals() {
+            removedIndex = out.writerIndex();
+            out.writeShort(0);
+            previousId = 0;
+        }
+
+        void end() {
+            out.setShort(countIndex, count);
+            if (removedIndex < 0) {
+                beginRemovals();
+            }
+            out.setShort(removedIndex, removed);
+            partEnds.add(out.writerIndex());
+        }
+
+        /**
+         * True if the entry written since entryStart made a non-empty part too big. The entry
+         * is taken back and a new part started, the caller writes it again.
+         */
+        boolean overflowed(int entryStart) {
+            int trailer = removedIndex < 0 ? 2 : 0;  // Removed count still to come
+            if (out.writerIndex() - partStart + trailer <= MAX_PART_SIZE || count + removed == 0) {
+                return false;
+            }
+            out.writerIndex(entryStart);
+            boolean removing = removedIndex >= 0;
+            end();
+            begin();
+            if (removing) {
+                beginRemovals();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Encodes current as one or more parts written back to back into out; the end offset of
+     * every part is added to partEnds, which the caller clears.
+     * @param baseline snapshot acknowledged by the receiver, or null to send everything
+     */
+    public static void encode(WorldSnapshot current, WorldSnapshot baseline, ByteBuf out, IntArray partEnds) {
+        int start = out.writerIndex();
+        PartWriter part = new PartWriter(out, current, baseline, partEnds);
+        part.begin();
+
+        for (int id = 1; id < current.idLimit; id++) {
+            if (!current.present[id]) continue;
+
+            boolean isNew = baseline == null || !baseline.isPresent(id)
+                || baseline.generation[id] != current.generation[id];
+            int fields;
+            if (isNew) {
+                fields = FIELD_NEW | FIELD_POSITION | FIELD_ANGLE | FIELD_HEALTH;
+            } else {
+                fields = 0;
+                if (current.x[id] != baseline.x[id] || current.y[id] != baseline.y[id]) fields |= FIELD_POSITION;
+                if (current.angle[id] != baseline.angle[id]) fields |= FIELD_ANGLE;
+                if (current.health[id] != baseline.health[id]) fields |= FIELD_HEALTH;
+                if (fields == 0) continue;
+            }
+
+            int entryStart = out.writerIndex();
+            writeEntity(part, id, fields, isNew);
+            if (part.overflowed(entryStart)) {
+                writeEntity(part, id, fields, isNew);
+            }
+            part.count++;
+        }
+
+        part.beginRemovals();
+        if (baseline != null) {
+            for (int id = 1; id < baseline.idLimit; id++) {
+                if (baseline.present[id] && !current.isPresent(id)) {
+                    int entryStart = out.writerIndex();
+                    writeVarInt(out, id - part.previousId);
+                    if (part.overflowed(entryStart)) {
+                        writeVarInt(out, id - part.previousId);
+                    }
+                    part.previousId = id;
+                    part.removed++;
+                }
+            }
+        }
+        part.end();
+
+        // Every part has the same header, patch in how many parts there are
+        int parts = partEnds.size - part.firstPart;
+        int countOffset = 1 + varIntSize(current.tick) + varIntSize(baseline == null ? 0 : current.tick - baseline.tick) + 2;
+        int partStart = start;
+        for (int i = part.firstPart; i < partEnds.size; i++) {
+            out.setShort(partStart + countOffset, parts);
+            partStart = partEnds.get(i);
+        }
+    }
+
+    private static void writeEntity(PartWriter part, int id, int fields, boolean isNew) {
+        ByteBuf out = part.out;
+        WorldSnapshot current = part.current;
+        WorldSnapshot baseline = part.baseline;
+
+        writeVarInt(out, id - part.previousId);
+        part.previousId = id;
+        out.writeByte(fields);
+
+        if (isNew) {
+            writeVarInt(out, current.generation[id]);
+            out.writeByte(current.shapeType[id]);
+            writeVarInt(out, current.shapeWidth[id]);
+            writeVarInt(out, current.shapeHeight[id]);
+            int[] vertices = current.shapeVertices[id];
+            int vertexCount = vertices == null ? 0 : vertices.length / 2;
+            writeVarInt(out, vertexCount);
+            for (int i = 0; i < vertexCount * 2; i++) {
+                writeSignedVarInt(out, vertices[i]);
+            }
+            writeSignedVarInt(out, current.x[id]);
+            writeSignedVarInt(out, current.y[id]);
+            out.writeShort(current.angle[id]);
+            out.writeByte(current.health[id]);
+        } else {
+            if ((fields & FIELD_POSITION) != 0) {
+                writeSignedVarInt(out, current.x[id] - baseline.x[id]);
+                writeSignedVarInt(out, current.y[id] - baseline.y[id]);
+            }
+            if ((fields & FIELD_ANGLE) != 0) {
+                // Wrap so turning across zero is a small delta
+                writeSignedVarInt(out, (short) (current.angle[id] - baseline.angle[id]));
+            }
+            if ((fields & FIELD_HEALTH) != 0) {
+                out.writeByte(current.health[id]);
+            }
+        }
+    }
+
+    /**
+     * Reads the header of a snapshot part. The type byte must already be read.
+     */
+    public static void readHeader(ByteBuf in, PartHeader header) {
+        header.tick = readVarInt(in);
+        header.baselineOffset = readVarInt(in);
+        header.partIndex = in.readUnsignedShort();
+        header.partCount = in.readUnsignedShort();
+        if (header.partCount == 0 || header.partIndex >= header.partCount) {
+            throw new IllegalArgumentException("Malformed snapshot part " + header.partIndex + " of " + header.partCount);
+        }
+    }
+
+    /**
+     * Header fields of one snapshot part.
+     */
+    public static final class PartHeader {
+        public int tick;
+        public int baselineOffset;
+        public int partIndex;
+        public int partCount;
+    }
+
+    /**
+     * Applies the entities of one part to a snapshot that was started from the part's baseline,
+     * or cleared for a full snapshot. The header must already be read.
+     * @throws IllegalArgumentException if the part is malformed
+     */
+    public static void decodePart(ByteBuf in, WorldSnapshot snapshot) {
+        int count = in.readUnsignedShort();
+        int id = 0;
+        for (int i = 0; i < count; i++) {
+            id += readVarInt(in);
+            if (id <= 0 || id > MAX_ENTITY_ID) {
+                throw new IllegalArgumentException("Malformed entity id " + id);
+            }
+            int fields = in.readUnsignedByte();
+
+            if ((fields & FIELD_NEW) != 0) {
+                int generation = readVarInt(in);
+                int type = in.readUnsignedByte();
+                if (type >= SHAPE_TYPES) {
+                    throw new IllegalArgumentException("Malformed shape type " + type);
+                }
+                int width = readVarInt(in);
+                int height = readVarInt(in);
+                int vertexCount = readVarInt(in);
+                if (vertexCount > in.readableBytes() / 2) {
+                    throw new IllegalArgumentException("Malformed vertex count " + vertexCount);
+                }
+                int[] vertices = null;
+                if (vertexCount > 0) {
+                    vertices = new int[vertexCount * 2];
+                    for (int v = 0; v < vertices.length; v++) {
+                        vertices[v] = readSignedVarInt(in);
+                    }
+                }
+                int x = readSignedVarInt(in);
+                int y = readSignedVarInt(in);
+                int angle = in.readUnsignedShort();
+                int health = in.readUnsignedByte();
+                snapshot.setState(id, generation, x, y, angle, health);
+                snapshot.setShape(id, type, width, height, vertices);
+            } else {
+                if (!snapshot.isPresent(id)) {
+                    throw new IllegalArgumentException("Delta for entity " + id + " missing from the baseline");
+                }
+                int x = snapshot.x[id];
+                int y = snapshot.y[id];
+                int angle = snapshot.angle[id];
+                int health = snapshot.health[id];
+                if ((fields & FIELD_POSITION) != 0) {
+                    x += readSignedVarInt(in);
+                    y += readSignedVarInt(in);
+                }
+                if ((fields & FIELD_ANGLE) != 0) {
+                    angle = (angle + readSignedVarInt(in)) & 0xFFFF;
+                }
+                if ((fields & FIELD_HEALTH) != 0) {
+                    health = in.readUnsignedByte();
+                }
+                snapshot.setState(id, snapshot.generation[id], x, y, angle, health);
+            }
+        }
+
+        int removed = in.readUnsignedShort();
+        id = 0;
+        for (int i = 0; i < removed; i++) {
+            id += readVarInt(in);
+            if (id <= 0 || id > MAX_ENTITY_ID) {
+                throw new IllegalArgumentException("Malformed entity id " + id);
+            }
+            snapshot.remove(id);
+        }
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+}
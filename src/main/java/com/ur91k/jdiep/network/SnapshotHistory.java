@@ -0,0 +1,35 @@
+package com.ur91k.jdiep.network;
+
+/**
+ * Ring of recent snapshots, used as delta baselines. Snapshots are reused, never reallocated.
+ */
+public class SnapshotHistory {
+    private final WorldSnapshot[] snapshots;
+
+    public SnapshotHistory(int size) {
+        snapshots = new WorldSnapshot[size];
+        for (int i = 0; i < size; i++) {
+            snapshots[i] = new WorldSnapshot();
+        }
+    }
+
+    /**
+     * Returns the slot for the given tick, overwriting whatever snapshot was stored there.
+     * The caller is responsible for filling it in.
+     */
+    public WorldSnapshot acquire(int tick) {
+        return snapshots[Math.floorMod(tick, snapshots.length)];
+    }
+
+    /**
+     * Returns the snapshot for the given tick, or null if it is no longer stored.
+     */
+    public WorldSnapshot get(int tick) {
+        WorldSnapshot snapshot = snapshots[Math.floorMod(tick, snapshots.length)];
+        return snapshot.tick == tick ? snapshot : null;
+    }
+
+    public int size() {
+        return snapshots.length;
+    }
+}
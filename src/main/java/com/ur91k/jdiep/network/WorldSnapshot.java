@@ -0,0 +1,121 @@
+package com.ur91k.jdiep.network;
+
+import java.util.Arrays;
+
+/**
+ * Quantized state of every replicated entity at one tick, indexed by entity id.
+ * Shape data is treated as fixed for the lifetime of an entity and only sent when it spawns.
+ */
+public class WorldSnapshot {
+    public static final int NO_TICK = -1;
+    private static final int INITIAL_CAPACITY = 256;
+
+    int tick = NO_TICK;
+    int idLimit = 0;  // One past the highest id present
+
+    boolean[] present = new boolean[INITIAL_CAPACITY];
+    int[] generation = new int[INITIAL_CAPACITY];
+    int[] x = new int[INITIAL_CAPACITY];
+    int[] y = new int[INITIAL_CAPACITY];
+    int[] angle = new int[INITIAL_CAPACITY];
+    int[] health = new int[INITIAL_CAPACITY];
+    int[] shapeType = new int[INITIAL_CAPACITY];
+    int[] shapeWidth = new int[INITIAL_CAPACITY];
+    int[] shapeHeight = new int[INITIAL_CAPACITY];
+    int[][] shapeVertices = new int[INITIAL_CAPACITY][];  // Quantized x,y pairs, shared between snapshots
+
+    /**
+     * Clears the snapshot for reuse at a new tick.
+     */
+    public void begin(int tick) {
+        Arrays.fill(present, 0, idLimit, false);
+        Arrays.fill(shapeVertices, 0, idLimit, null);
+        this.tick = tick;
+        this.idLimit = 0;
+    }
+
+    public void copyFrom(WorldSnapshot other) {
+        ensureCapacity(other.idLimit);
+        Arrays.fill(present, 0, idLimit, false);
+        Arrays.fill(shapeVertices, 0, idLimit, null);
+        int n = other.idLimit;
+        System.arraycopy(other.present, 0, present, 0, n);
+        System.arraycopy(other.generation, 0, generation, 0, n);
+        System.arraycopy(other.x, 0, x, 0, n);
+        System.arraycopy(other.y, 0, y, 0, n);
+        System.arraycopy(other.angle, 0, angle, 0, n);
+        System.arraycopy(other.health, 0, health, 0, n);
+        System.arraycopy(other.shapeType, 0, shapeType, 0, n);
+        System.arraycopy(other.shapeWidth, 0, shapeWidth, 0, n);
+        System.arraycopy(other.shapeHeight, 0, shapeHeight, 0, n);
+        System.arraycopy(other.shapeVertices, 0, shapeVertices, 0, n);
+        this.tick = other.tick;
+        this.idLimit = n;
+    }
+
+    public void setState(int id, int generation, int x, int y, int angle, int health) {
+        ensureCapacity(id + 1);
+        this.present[id] = true;
+        this.generation[id] = generation;
+        this.x[id] = x;
+        this.y[id] = y;
+        this.angle[id] = angle;
+        this.health[id] = health;
+        if (id >= idLimit) idLimit = id + 1;
+    }
+
+    public void setShape(int id, int type, int width, int height, int[] vertices) {
+        ensureCapacity(id + 1);
+        this.shapeType[id] = type;
+        this.shapeWidth[id] = width;
+        this.shapeHeight[id] = height;
+        this.shapeVertices[id] = vertices;
+    }
+
+    /**
+     * Copies shape data from an earlier snapshot if the same entity was present there.
+     * @return false if the shape has to be built from scratch
+     */
+    public boolean copyShape(int id, WorldSnapshot from) {
+        if (from == null || !from.isPresent(id) || from.generation[id] != generation[id]) {
+            return false;
+        }
+        setShape(id, from.shapeType[id], from.shapeWidth[id], from.shapeHeight[id], from.shapeVertices[id]);
+        return true;
+    }
+
+    public void remove(int id) {
+        if (id < idLimit) {
+            present[id] = false;
+            shapeVertices[id] = null;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= present.length) return;
+        int n = Math.max(capacity, present.length * 2);
+        present = Arrays.copyOf(present, n);
+        generation = Arrays.copyOf(generation, n);
+        x = Arrays.copyOf(x, n);
+        y = Arrays.copyOf(y, n);
+        angle = Arrays.copyOf(angle, n);
+        health = Arrays.copyOf(health, n);
+        shapeType = Arrays.copyOf(shapeType, n);
+        shapeWidth = Arrays.copyOf(shapeWidth, n);
+        shapeHeight = Arrays.copyOf(shapeHeight, n);
+        shapeVertices = Arrays.copyOf(shapeVertices, n);
+    }
+
+    public int getTick() { return tick; }
+    public int getIdLimit() { return idLimit; }
+    public boolean isPresent(int id) { return id < idLimit && present[id]; }
+    public int getGeneration(int id) { return generation[id]; }
+    public int getX(int id) { return x[id]; }
+    public int getY(int id) { return y[id]; }
+    public int getAngle(int id) { return angle[id]; }
+    public int getHealth(int id) { return health[id]; }
+    public int getShapeType(int id) { return shapeType[id]; }
+    public int getShapeWidth(int id) { return shapeWidth[id]; }
+    public int getShapeHeight(int id) { return shapeHeight[id]; }
+    public int[] getShapeVertices(int id) { return shapeVertices[id]; }
+}
@@ -0,0 +1,136 @@
+package com.ur91k.jdiep.server;
+
+import com.ur91k.jdiep.core.game.Simulation;
+import org.tinylog.Logger;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One independent world hosted by ArenaHost, with its own engine, Box2D world and factories.
+ * An arena keeps its own tick schedule and is ticked by at most one worker thread at a time;
+ * claiming it through tryClaim() and releasing it at the end of runDueTicks() hands it safely
+ * from one worker to the next.
+ */
+public class Arena {
+    private static final int MAX_CATCH_UP_TICKS = 5;
+
+    private final int id;
+    private final Simulation simulation;
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    private long budgetNanos;
+    private long nextTickNanos;
+    private boolean failed;
+
+    // Tick statistics, written by the worker ticking the arena and read by the host for logging
+    private long tickCount;
+    private long intervalTicks;
+    private long intervalTickNanos;
+    private long maxTickNanos;
+    private long overBudgetCount;
+    private long droppedTicks;
+    private volatile boolean intervalResetRequested;
+
+    public Arena(int id, ServerConfig config, long budgetNanos) {
+        this.id = id;
+        this.budgetNanos = budgetNanos;
+        this.simulation = new Simulation(Simulation.createEngine(), null);
+
+        long seed = config.getSeed() + id;
+        simulation.createWorldBounds();
+        simulation.spawnFood(new Random(seed),
+            config.getTinyFoodCount(), config.getSmallFoodCount(), config.getFoodSpread());
+        simulation.getFoodDriftSystem().setSeed(seed);
+    }
+
+    /**
+     * Runs one tick and records its time against the budget.
+     */
+    public void tick(float deltaTime) {
+        if (intervalResetRequested) {
+            intervalResetRequested = false;
+            intervalTicks = 0;
+            intervalTickNanos = 0;
+            maxTickNanos = 0;
+        }
+
+        long start = System.nanoTime();
+        simulation.update(deltaTime);
+        long elapsed = System.nanoTime() - start;
+
+        tickCount++;
+        intervalTicks++;
+        intervalTickNanos += elapsed;
+        maxTickNanos = Math.max(maxTickNanos, elapsed);
+        if (elapsed > budgetNanos) {
+            overBudgetCount++;
+        }
+    }
+
+    /**
+     * Runs the ticks that are due, catching up to a limit like FixedTickScheduler, then releases the arena.
+     * Stops for good if a tick throws, so one broken arena does not take the host down.
+     */
+    void runDueTicks(long tickNanos, float tickSeconds, long maxTicks) {
+        try {
+            long now = System.nanoTime();
+            int caughtUp = 0;
+            while (now >= nextTickNanos && caughtUp < MAX_CATCH_UP_TICKS && !isFinished(maxTicks)) {
+                tick(tickSeconds);
+                nextTickNanos += tickNanos;
+                caughtUp++;
+                now = System.nanoTime();
+            }
+
+            // Too far behind to catch up, skip the missed ticks
+            if (now - nextTickNanos > tickNanos * MAX_CATCH_UP_TICKS) {
+                droppedTicks += (now - nextTickNanos) / tickNanos;
+                nextTickNanos = now + tickNanos;
+            }
+        } catch (RuntimeException e) {
+            Logger.error(e, "Arena {} failed after {} ticks", id, tickCount);
+            failed = true;
+        } finally {
+            claimed.set(false);
+        }
+    }
+
+    boolean tryClaim() {
+        return claimed.compareAndSet(false, true);
+    }
+
+    boolean isFinished(long maxTicks) {
+        return failed || (maxTicks > 0 && tickCount >= maxTicks);
+    }
+
+    void setNextTickNanos(long nextTickNanos) {
+        this.nextTickNanos = nextTickNanos;
+    }
+
+    /**
+     * Clears the per interval times used by getAverageTickMillis() and getMaxTickMillis()
+     * before the next tick, on the thread running it.
+     */
+    public void requestIntervalReset() {
+        intervalResetRequested = true;
+    }
+
+    /**
+     * Ticks taking longer than this are counted as over budget. Defaults to the tick period.
+     */
+    public void setTickBudgetNanos(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    public int getId() { return id; }
+    public Simulation getSimulation() { return simulation; }
+    public boolean isClaimed() { return claimed.get(); }
+    public boolean isFailed() { return failed; }
+    public long getNextTickNanos() { return nextTickNanos; }
+    public long getTickBudgetNanos() { return budgetNanos; }
+    public long getTickCount() { return tickCount; }
+    public long getOverBudgetCount() { return overBudgetCount; }
+    public long getDroppedTicks() { return droppedTicks; }
+    public double getAverageTickMillis() { return intervalTicks == 0 ? 0 : intervalTickNanos / (double) intervalTicks / 1_000_000.0; }
+    public double getMaxTickMillis() { return maxTickNanos / 1_000_000.0; }
+}
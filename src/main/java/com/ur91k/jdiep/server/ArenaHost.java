@@ -0,0 +1,176 @@
+package com.ur91k.jdiep.server;
+
+import org.tinylog.Logger;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hosts many independent arenas in one headless process. A dispatcher thread hands every arena
+ * whose next tick is due to a fixed work-stealing pool, one core per worker by default; idle
+ * workers steal queued arenas from busy ones, and an arena that runs late only delays itself.
+ *
+ * Ashley keeps its component type and family registries in static maps that are not thread
+ * safe, so every arena is created on the host thread before any of them is ticked.
+ */
+public class ArenaHost {
+    private final ServerConfig config;
+    private final Arena[] arenas;
+    private final ForkJoinPool workers;
+    private final int workerCount;
+    private final long tickNanos;
+    private final float tickSeconds;
+    private final long statsIntervalNanos;
+    private volatile boolean running;
+    private volatile Thread dispatcher;
+    private int nextArena;  // Where the dispatcher starts scanning, rotated so no arena is always first
+
+    public ArenaHost(ServerConfig config) {
+        this.config = config;
+        this.tickNanos = (long) (1_000_000_000L / config.getTickRate());
+        this.tickSeconds = 1.0f / config.getTickRate();
+        this.statsIntervalNanos = (long) (config.getStatsInterval() * 1_000_000_000L);
+        this.workerCount = config.getWorkerThreads() > 0
+            ? config.getWorkerThreads() : Runtime.getRuntime().availableProcessors();
+
+        // Async mode keeps the queues FIFO, suited to independent tasks that never join
+        this.workers = new ForkJoinPool(workerCount, ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+            (thread, e) -> Logger.error(e, "Arena worker {} failed", thread.getName()), true);
+
+        long budgetNanos = config.getTickBudget() > 0 ? (long) (config.getTickBudget() * 1_000_000_000L) : tickNanos;
+        this.arenas = new Arena[Math.max(1, config.getArenaCount())];
+        for (int i = 0; i < arenas.length; i++) {
+            arenas[i] = new Arena(i, config, budgetNanos);
+        }
+        Logger.info("Arena host initialized with {} arenas on {} workers at {} ticks/s",
+            arenas.length, workerCount, config.getTickRate());
+    }
+
+    /**
+     * Dispatches arena ticks from the calling thread until stopped or every arena has run the configured tick count.
+     */
+    public void start() {
+        Thread shutdownHook = new Thread(this::stop, "arena-host-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+
+        Logger.info("Starting arena host");
+        running = true;
+        dispatcher = Thread.currentThread();
+        long start = System.nanoTime();
+        for (Arena arena : arenas) {
+            arena.setNextTickNanos(start);
+        }
+
+        long nextStats = start + statsIntervalNanos;
+        while (running) {
+            if (!dispatchDueArenas()) {
+                break;  // Every arena finished
+            }
+            if (System.nanoTime() >= nextStats) {
+                logStats();
+                nextStats += statsIntervalNanos;
+            }
+        }
+
+        running = false;
+        workers.shutdown();
+        try {
+            workers.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logStats();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // Already shutting down
+        }
+        Logger.info("Arena host stopped");
+    }
+
+    /**
+     * Submits every idle arena that is due, then parks until the earliest idle arena is due
+     * or a worker finishes. Returns false once every arena is finished.
+     */
+    private boolean dispatchDueArenas() {
+        long maxTicks = config.getMaxTicks();
+        long now = System.nanoTime();
+        long earliest = Long.MAX_VALUE;
+        boolean active = false;
+
+        for (int n = 0; n < arenas.length; n++) {
+            Arena arena = arenas[(nextArena + n) % arenas.length];
+            if (arena.isClaimed()) {
+                active = true;
+                continue;  // Still ticking, wakes the dispatcher when done
+            }
+            if (arena.isFinished(maxTicks)) {
+                continue;
+            }
+            active = true;
+            if (now >= arena.getNextTickNanos()) {
+                if (arena.tryClaim()) {
+                    workers.execute(() -> runArena(arena, maxTicks));
+                }
+            } else {
+                earliest = Math.min(earliest, arena.getNextTickNanos());
+            }
+        }
+        nextArena = (nextArena + 1) % arenas.length;
+
+        if (active) {
+            long wait = earliest == Long.MAX_VALUE ? tickNanos : earliest - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, Math.min(wait, tickNanos));
+            }
+        }
+        return active;
+    }
+
+    private void runArena(Arena arena, long maxTicks) {
+        arena.runDueTicks(tickNanos, tickSeconds, maxTicks);
+        LockSupport.unpark(dispatcher);  // The dispatcher only waits for idle arenas, count this one again
+    }
+
+    private void logStats() {
+        long ticks = 0;
+        long overBudget = 0;
+        long dropped = 0;
+        double totalMillis = 0;
+        Arena slowest = arenas[0];
+        for (Arena arena : arenas) {
+            ticks += arena.getTickCount();
+            overBudget += arena.getOverBudgetCount();
+            dropped += arena.getDroppedTicks();
+            totalMillis += arena.getAverageTickMillis();
+            if (arena.getAverageTickMillis() > slowest.getAverageTickMillis()) {
+                slowest = arena;
+            }
+        }
+        Logger.info("Arenas: {} on {} workers, {} ticks, avg {} ms, over budget {}, dropped {}, steals {}",
+            arenas.length, workerCount, ticks,
+            String.format("%.3f", totalMillis / arenas.length),
+            overBudget, dropped, workers.getStealCount());
+        Logger.info("Slowest arena {}: avg {} ms, max {} ms, over budget {}, dropped {}",
+            slowest.getId(),
+            String.format("%.3f", slowest.getAverageTickMillis()),
+            String.format("%.3f", slowest.getMaxTickMillis()),
+            slowest.getOverBudgetCount(), slowest.getDroppedTicks());
+        for (Arena arena : arenas) {
+            arena.requestIntervalReset();
+        }
+    }
+
+    public void stop() {
+        running = false;
+        Thread thread = dispatcher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    public Arena[] getArenas() { return arenas; }
+    public int getWorkerCount() { return workerCount; }
+    public long getStealCount() { return workers.getStealCount(); }
+}
@@ -0,0 +1,145 @@
+package com.ur91k.jdiep.server;
+
+import com.ur91k.jdiep.core.game.Simulation;
+import com.ur91k.jdiep.core.game.SystemGroup;
+import com.ur91k.jdiep.core.time.FixedTickScheduler;
+import com.ur91k.jdiep.debug.ProfileExporter;
+import com.ur91k.jdiep.debug.TickProfiler;
+import com.ur91k.jdiep.ecs.systems.network.SnapshotCaptureSystem;
+import com.ur91k.jdiep.network.ReplicationServer;
+import org.tinylog.Logger;
+
+import java.nio.file.Paths;
+import java.util.Random;
+
+/**
+ * Headless server that runs the simulation without a window or OpenGL context,
+ * optionally replicating it to clients over UDP.
+ */
+public class DedicatedServer {
+    private final ServerConfig config;
+    private final Simulation simulation;
+    private final FixedTickScheduler scheduler;
+    private final ReplicationServer replicationServer;
+    private final int statsIntervalTicks;
+    private FixedTickScheduler.TickListener tickHook;
+
+    public DedicatedServer(ServerConfig config) {
+        this.config = config;
+        this.simulation = new Simulation(Simulation.createEngine(), null);
+        this.scheduler = new FixedTickScheduler(config.getTickRate());
+        this.statsIntervalTicks = Math.max(1, Math.round(config.getStatsInterval() * config.getTickRate()));
+
+        if (config.isReplication()) {
+            replicationServer = new ReplicationServer(config.getPort());
+            // Added last so the snapshot sees the finished tick
+            simulation.getSystems().add(new SnapshotCaptureSystem(replicationServer));
+        } else {
+            replicationServer = null;
+        }
+
+        createInitialEntities();
+
+        // After every system is in the group, the profile has one column per system
+        if (config.getProfileOutput() != null) {
+            simulation.setProfiler(new TickProfiler(simulation, TickProfiler.DEFAULT_CAPACITY));
+        }
+        Logger.info("Dedicated server initialized at {} ticks/s", config.getTickRate());
+    }
+
+    private void createInitialEntities() {
+        simulation.createWorldBounds();
+        simulation.spawnFood(new Random(config.getSeed()),
+            config.getTinyFoodCount(), config.getSmallFoodCount(), config.getFoodSpread());
+        simulation.getFoodDriftSystem().setSeed(config.getSeed());
+        Logger.info("Spawned {} entities", simulation.getEngine().getEntities().size());
+    }
+
+    /**
+     * Opens the network port without starting the tick loop.
+     */
+    public void bind() {
+        if (replicationServer != null && !replicationServer.isRunning()) {
+            replicationServer.start();
+        }
+    }
+
+    /**
+     * Runs the tick loop on the calling thread until stopped or the configured tick count is reached.
+     */
+    public void start() {
+        Thread shutdownHook = new Thread(scheduler::stop, "server-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        bind();
+
+        Logger.info("Starting server loop");
+        scheduler.run(this::tick, config.getMaxTicks());
+
+        logStats();
+        if (simulation.getProfiler() != null) {
+            ProfileExporter.export(simulation.getProfiler(), Paths.get(config.getProfileOutput()));
+        }
+        if (replicationServer != null) {
+            replicationServer.stop();
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // Already shutting down
+        }
+        Logger.info("Server stopped after {} ticks", scheduler.getTickCount());
+    }
+
+    private void tick(long tick, float deltaTime) {
+        simulation.update(deltaTime);
+
+        if (tickHook != null) {
+            tickHook.onTick(tick, deltaTime);
+        }
+        if ((tick + 1) % statsIntervalTicks == 0) {
+            logStats();
+        }
+    }
+
+    private void logStats() {
+        Logger.info("Tick {}: avg {} ms, max {} ms, overruns {}, dropped {}",
+            scheduler.getTickCount(),
+            String.format("%.3f", scheduler.getAverageTickMillis()),
+            String.format("%.3f", scheduler.getMaxTickMillis()),
+            scheduler.getOverrunCount(),
+            scheduler.getDroppedTicks());
+        if (replicationServer != null && replicationServer.getClientCount() > 0) {
+            Logger.info("Replication: {} clients, {} bytes last tick, {} KB total",
+                replicationServer.getClientCount(),
+                replicationServer.getLastBytesSent(),
+                replicationServer.getTotalBytesSent() / 1024);
+        }
+
+        // Average time per system over this interval
+        SystemGroup systems = simulation.getSystems();
+        StringBuilder timings = new StringBuilder();
+        for (int i = 0; i < systems.size(); i++) {
+            if (i > 0) timings.append(", ");
+            timings.append(systems.getSystem(i).getClass().getSimpleName())
+                .append(' ').append(String.format("%.3f", systems.getAverageNanos(i) / 1_000_000.0));
+        }
+        Logger.info("Systems (ms/tick): {}", timings);
+        systems.resetTimings();
+    }
+
+    /**
+     * Called on the tick thread after every simulation tick.
+     */
+    public void setTickHook(FixedTickScheduler.TickListener tickHook) {
+        this.tickHook = tickHook;
+    }
+
+    public void stop() {
+        scheduler.stop();
+    }
+
+    public Simulation getSimulation() { return simulation; }
+    public FixedTickScheduler getScheduler() { return scheduler; }
+    public ReplicationServer getReplicationServer() { return replicationServer; }
+    public int getStatsIntervalTicks() { return statsIntervalTicks; }
+}
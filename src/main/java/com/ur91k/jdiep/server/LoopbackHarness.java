@@ -0,0 +1,88 @@
+package com.ur91k.jdiep.server;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.PooledEngine;
+import com.ur91k.jdiep.ecs.systems.network.NetworkReceiveSystem;
+import com.ur91k.jdiep.network.ReplicationServer;
+import com.ur91k.jdiep.network.SnapshotClient;
+import org.tinylog.Logger;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+/**
+ * Runs a dedicated server and a headless client in one process over the loopback interface,
+ * reporting snapshot size and encode cost. Used to measure replication without a second machine.
+ */
+public class LoopbackHarness {
+    private final DedicatedServer server;
+    private final SnapshotClient client;
+    private final Engine clientEngine;
+    private final NetworkReceiveSystem receiveSystem;
+
+    // Accumulated over the current stats interval
+    private long intervalBytesSent;
+    private long intervalEncodeNanos;
+    private int intervalTicks;
+    private long lastBytesReceived;
+
+    public LoopbackHarness(ServerConfig config) {
+        config.setReplication(true);
+        config.setPort(0);  // Any free port
+        this.server = new DedicatedServer(config);
+        server.bind();
+
+        int port = server.getReplicationServer().getPort();
+        this.client = new SnapshotClient(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        this.clientEngine = new PooledEngine();
+        this.receiveSystem = new NetworkReceiveSystem(client);
+        clientEngine.addSystem(receiveSystem);
+
+        server.setTickHook(this::afterServerTick);
+    }
+
+    /**
+     * Runs until the server stops.
+     * @throws IllegalStateException if the client never received a complete snapshot
+     */
+    public void start() {
+        client.connect();
+        try {
+            server.start();
+        } finally {
+            client.disconnect();
+        }
+        if (client.hasFailed()) {
+            throw new IllegalStateException("Loopback client never received a complete snapshot");
+        }
+    }
+
+    private void afterServerTick(long tick, float deltaTime) {
+        if (client.hasFailed()) {
+            server.stop();
+            return;
+        }
+
+        // The client runs in lockstep here, snapshots still travel through the socket
+        clientEngine.update(deltaTime);
+
+        ReplicationServer replication = server.getReplicationServer();
+        intervalBytesSent += replication.getLastBytesSent();
+        intervalEncodeNanos += replication.getLastEncodeNanos();
+        intervalTicks++;
+
+        if (intervalTicks >= server.getStatsIntervalTicks()) {
+            long bytesReceived = client.getBytesReceived();
+            Logger.info("Loopback: {} bytes/tick sent, {} bytes/tick received, encode {} us/snapshot, {} entities mirrored, {} snapshots dropped",
+                intervalBytesSent / intervalTicks,
+                (bytesReceived - lastBytesReceived) / intervalTicks,
+                String.format("%.1f", intervalEncodeNanos / (double) intervalTicks / 1000.0),
+                receiveSystem.getEntityCount(),
+                client.getSnapshotsDropped());
+            lastBytesReceived = bytesReceived;
+            intervalBytesSent = 0;
+            intervalEncodeNanos = 0;
+            intervalTicks = 0;
+        }
+    }
+}
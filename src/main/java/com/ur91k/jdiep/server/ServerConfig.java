@@ -0,0 +1,61 @@
+package com.ur91k.jdiep.server;
+
+import com.ur91k.jdiep.network.NetworkProtocol;
+
+/**
+ * Settings for the headless dedicated server, filled in from the command line.
+ */
+public class ServerConfig {
+    private float tickRate = 60.0f;
+    private long maxTicks = 0;          // 0 = run until stopped
+    private int tinyFoodCount = 200;
+    private int smallFoodCount = 50;
+    private float foodSpread = 100.0f;  // Half extent of the food field in meters
+    private long seed = 0;
+    private float statsInterval = 5.0f; // Seconds between tick stat logs
+    private boolean replication = true;
+    private int port = NetworkProtocol.DEFAULT_PORT;  // 0 = any free port
+    private int arenaCount = 1;         // More than one runs an ArenaHost, without replication
+    private int workerThreads = 0;      // Arena worker threads, 0 = one per core
+    private float tickBudget = 0;       // Seconds an arena tick may take before it counts as over budget, 0 = tick period
+    private String profileOutput;       // CSV or JSON file the tick profile is written to on stop, null = no profiling
+
+    public float getTickRate() { return tickRate; }
+    public void setTickRate(float tickRate) { this.tickRate = tickRate; }
+
+    public long getMaxTicks() { return maxTicks; }
+    public void setMaxTicks(long maxTicks) { this.maxTicks = maxTicks; }
+
+    public int getTinyFoodCount() { return tinyFoodCount; }
+    public void setTinyFoodCount(int tinyFoodCount) { this.tinyFoodCount = tinyFoodCount; }
+
+    public int getSmallFoodCount() { return smallFoodCount; }
+    public void setSmallFoodCount(int smallFoodCount) { this.smallFoodCount = smallFoodCount; }
+
+    public float getFoodSpread() { return foodSpread; }
+    public void setFoodSpread(float foodSpread) { this.foodSpread = foodSpread; }
+
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+
+    public float getStatsInterval() { return statsInterval; }
+    public void setStatsInterval(float statsInterval) { this.statsInterval = statsInterval; }
+
+    public boolean isReplication() { return replication; }
+    public void setReplication(boolean replication) { this.replication = replication; }
+
+    public int getPort() { return port; }
+    public void setPort(int port) { this.port = port; }
+
+    public int getArenaCount() { return arenaCount; }
+    public void setArenaCount(int arenaCount) { this.arenaCount = arenaCount; }
+
+    public int getWorkerThreads() { return workerThreads; }
+    public void setWorkerThreads(int workerThreads) { this.workerThreads = workerThreads; }
+
+    public float getTickBudget() { return tickBudget; }
+    public void setTickBudget(float tickBudget) { this.tickBudget = tickBudget; }
+
+    public String getProfileOutput() { return profileOutput; }
+    public void setProfileOutput(String profileOutput) { this.profileOutput = profileOutput; }
+}
@@ -1,10 +1,11 @@
 #version 330 core
-layout (location = 0) in vec2 position;
+layout (location = 0) in vec2 position;  // World space, transformed on the CPU
 
-uniform mat4 projection;
-uniform mat4 view;
-uniform mat4 model;
+layout (std140) uniform Frame {
+    mat4 projection;
+    mat4 view;
+};
 
 void main() {
-    gl_Position = projection * view * model * vec4(position, 0.0, 1.0);
+    gl_Position = projection * view * vec4(position, 0.0, 1.0);
 } 
\ No newline at end of file
@@ -0,0 +1,17 @@
+#version 330 core
+in vec2 worldPosition;
+out vec4 FragColor;
+
+uniform vec4 color;
+uniform float spacing;
+
+void main() {
+    // Distance to the nearest line in pixels, so lines stay 1 pixel wide at any zoom
+    vec2 cell = worldPosition / spacing;
+    vec2 pixels = abs(fract(cell - 0.5) - 0.5) / fwidth(cell);
+    float line = 1.0 - min(min(pixels.x, pixels.y), 1.0);
+    if (line <= 0.0) {
+        discard;
+    }
+    FragColor = vec4(color.rgb, color.a * line);
+}
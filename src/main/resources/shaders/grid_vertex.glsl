@@ -0,0 +1,15 @@
+#version 330 core
+// One triangle covering the screen, generated from the vertex index; no vertex buffer
+
+layout (std140) uniform Frame {
+    mat4 projection;
+    mat4 view;
+};
+
+out vec2 worldPosition;
+
+void main() {
+    vec2 ndc = vec2((gl_VertexID << 1) & 2, gl_VertexID & 2) * 2.0 - 1.0;  // (-1,-1), (3,-1), (-1,3)
+    worldPosition = (inverse(projection * view) * vec4(ndc, 0.0, 1.0)).xy;
+    gl_Position = vec4(ndc, 0.0, 1.0);
+}
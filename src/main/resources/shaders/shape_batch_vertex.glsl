@@ -0,0 +1,15 @@
+#version 330 core
+layout (location = 0) in vec2 position;  // World space, transformed on the CPU
+layout (location = 1) in vec4 color;
+
+layout (std140) uniform Frame {
+    mat4 projection;
+    mat4 view;
+};
+
+out vec4 vertexColor;
+
+void main() {
+    gl_Position = projection * view * vec4(position, 0.0, 1.0);
+    vertexColor = color;
+}
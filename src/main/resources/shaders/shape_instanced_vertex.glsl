@@ -0,0 +1,25 @@
+#version 330 core
+layout (location = 0) in vec2 localPosition;     // Unit mesh vertex
+layout (location = 1) in vec2 miter;             // Outline extrusion direction (zero for fills)
+layout (location = 2) in float outline;          // 1 for outline vertices, 0 for fill vertices
+layout (location = 3) in vec3 instanceTransform; // x, y, rotation
+layout (location = 4) in vec2 instanceScale;     // Radius or rectangle dimensions
+layout (location = 5) in float instanceLineWidth;
+layout (location = 6) in vec4 instanceFillColor;
+layout (location = 7) in vec4 instanceOutlineColor;
+
+layout (std140) uniform Frame {
+    mat4 projection;
+    mat4 view;
+};
+
+out vec4 vertexColor;
+
+void main() {
+    vec2 local = localPosition * instanceScale + miter * (instanceLineWidth * 0.5);
+    float c = cos(instanceTransform.z);
+    float s = sin(instanceTransform.z);
+    vec2 world = vec2(local.x * c - local.y * s, local.x * s + local.y * c) + instanceTransform.xy;
+    gl_Position = projection * view * vec4(world, 0.0, 1.0);
+    vertexColor = mix(instanceFillColor, instanceOutlineColor, outline);
+}
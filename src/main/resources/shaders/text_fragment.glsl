@@ -1,11 +1,11 @@
 #version 330 core
 in vec2 TexCoords;
+in vec4 TextColor;
 out vec4 FragColor;
 
 uniform sampler2D text;
-uniform vec4 color;
 
 void main() {
     float alpha = texture(text, TexCoords).r;
-    FragColor = vec4(color.rgb, color.a * alpha);
-} 
\ No newline at end of file
+    FragColor = vec4(TextColor.rgb, TextColor.a * alpha);
+}
@@ -0,0 +1,183 @@
+package com.ur91k.jdiep.core.game;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.Family;
+import com.ur91k.jdiep.core.window.Input;
+import com.ur91k.jdiep.ecs.components.gameplay.FoodComponent;
+import com.ur91k.jdiep.ecs.factories.CameraFactory;
+import com.ur91k.jdiep.ecs.factories.DroneFactory;
+import com.ur91k.jdiep.ecs.factories.TankFactory;
+import com.ur91k.jdiep.ecs.systems.camera.CameraSystem;
+import com.ur91k.jdiep.ecs.systems.physics.PhysicsPlayerControlSystem;
+import com.ur91k.jdiep.ecs.systems.physics.PhysicsSystem;
+import com.ur91k.jdiep.ecs.systems.render.RenderSnapshotSystem;
+import com.ur91k.jdiep.ecs.systems.render.RenderStateBuffer;
+import org.jbox2d.callbacks.ContactImpulse;
+import org.jbox2d.callbacks.ContactListener;
+import org.jbox2d.collision.Manifold;
+import org.jbox2d.dynamics.contacts.Contact;
+import org.joml.Vector2f;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Steady state allocation of a simulation tick with tanks, drones, player control, a follow
+ * camera, the render snapshot capture and a food field large enough for FoodDriftSystem to
+ * split its force pass across the common pool.
+ *
+ * Systems are run one by one in group order so the Box2D step can be split out: JBox2D 2.2.1.1
+ * sorts its broadphase pair buffer with Arrays.sort, which allocates merge space once more than
+ * 32 pairs move in a step. That is left out of the budget. The contact callbacks PhysicsSystem
+ * gets during the step are game code, so they are counted on their own and against the budget.
+ * Only the simulation thread is counted; the food force chunks run on pool threads over
+ * preallocated arrays.
+ */
+class AllocationBudgetTest {
+    private static final long MAX_BYTES_PER_TICK = 256;
+    private static final int TANKS = 50;
+    private static final int DRONES_PER_TANK = 4;
+    private static final int FOOD_PARALLEL_THRESHOLD = 4096;  // FoodDriftSystem's, must stay under FOOD
+    private static final int FOOD = 5000;
+    private static final float FOOD_SPREAD = 480.0f;
+    private static final float TICK = 1.0f / 60.0f;
+    private static final int WARMUP_TICKS = 300;
+    private static final int MEASURED_TICKS = 300;
+    private static final long SEED = 42L;
+
+    private com.sun.management.ThreadMXBean threadBean;
+    private Engine engine;
+    private Simulation simulation;
+    private PhysicsSystem physicsSystem;
+
+    // Accumulated over the measured ticks
+    private long gameBytes;
+    private long callbackBytes;
+    private long callbacks;
+
+    @BeforeEach
+    void setUp() {
+        threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertThat(threadBean.isThreadAllocatedMemorySupported())
+            .as("per thread allocation counting").isTrue();
+
+        Input input = new Input();  // No window, no keys pressed
+        engine = new Engine();
+        simulation = new Simulation(engine, null, new PhysicsPlayerControlSystem(input, null));
+        simulation.getSystems().add(new CameraSystem(input));
+        RenderStateBuffer renderState = new RenderStateBuffer();
+        renderState.setViewSize(160.0f, 90.0f);  // Capture through the spatial index like a window would
+        simulation.getSystems().add(new RenderSnapshotSystem(renderState));
+        simulation.createWorldBounds();
+
+        Random random = new Random(SEED);
+        simulation.spawnFood(random, FOOD, 0, FOOD_SPREAD);
+        TankFactory tankFactory = simulation.getTankFactory();
+        DroneFactory droneFactory = new DroneFactory(engine);
+        Entity player = null;
+        for (int i = 0; i < TANKS; i++) {
+            Vector2f position = new Vector2f(random.nextFloat() * 400 - 200, random.nextFloat() * 400 - 200);
+            Entity tank = tankFactory.createBasicTank(position);
+            if (player == null) {
+                player = tankFactory.makePlayerControlled(tank);
+            }
+            for (int d = 0; d < DRONES_PER_TANK; d++) {
+                droneFactory.createDrone(new Vector2f(position).add(d * 3.0f, 5.0f), tank);
+            }
+        }
+        new CameraFactory(engine).createFollowCamera(player, 0.1f);
+
+        // Create bodies and joints and let entity counts settle
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            simulation.update(TICK);
+        }
+        physicsSystem = simulation.getPhysicsSystem();
+        physicsSystem.getWorld().setContactListener(new CountingContactListener(physicsSystem));
+    }
+
+    @Test
+    void simulationTickStaysWithinBudget() {
+        for (int i = 0; i < MEASURED_TICKS; i++) {
+            tick();
+        }
+
+        assertThat(engine.getEntitiesFor(Family.all(FoodComponent.class).get()).size())
+            .as("food left for the parallel drift path").isGreaterThanOrEqualTo(FOOD_PARALLEL_THRESHOLD);
+        assertThat(callbacks).as("contact callbacks measured").isPositive();
+        long bytesPerTick = (gameBytes + callbackBytes) / MEASURED_TICKS;
+        assertThat(bytesPerTick)
+            .as("bytes/tick in game code, %d of them in %d contact callbacks/tick",
+                callbackBytes / MEASURED_TICKS, callbacks / MEASURED_TICKS)
+            .isLessThanOrEqualTo(MAX_BYTES_PER_TICK);
+    }
+
+    /**
+     * One tick, equivalent to simulation.update() once entity counts are stable.
+     */
+    private void tick() {
+        SystemGroup group = simulation.getSystems();
+        for (int i = 0; i < group.size(); i++) {
+            EntitySystem system = group.getSystem(i);
+            if (system == physicsSystem) {
+                physicsSystem.stepWorld(TICK);  // Only the callbacks inside count, see CountingContactListener
+                long before = threadBean.getCurrentThreadAllocatedBytes();
+                physicsSystem.syncTransforms();
+                gameBytes += threadBean.getCurrentThreadAllocatedBytes() - before;
+            } else {
+                long before = threadBean.getCurrentThreadAllocatedBytes();
+                system.update(TICK);
+                gameBytes += threadBean.getCurrentThreadAllocatedBytes() - before;
+            }
+        }
+    }
+
+    /**
+     * Forwards to PhysicsSystem, counting what each callback allocates.
+     */
+    private class CountingContactListener implements ContactListener {
+        private final ContactListener target;
+
+        CountingContactListener(ContactListener target) {
+            this.target = target;
+        }
+
+        @Override
+        public void beginContact(Contact contact) {
+            long before = threadBean.getCurrentThreadAllocatedBytes();
+            target.beginContact(contact);
+            count(before);
+        }
+
+        @Override
+        public void endContact(Contact contact) {
+            long before = threadBean.getCurrentThreadAllocatedBytes();
+            target.endContact(contact);
+            count(before);
+        }
+
+        @Override
+        public void preSolve(Contact contact, Manifold oldManifold) {
+            long before = threadBean.getCurrentThreadAllocatedBytes();
+            target.preSolve(contact, oldManifold);
+            count(before);
+        }
+
+        @Override
+        public void postSolve(Contact contact, ContactImpulse impulse) {
+            long before = threadBean.getCurrentThreadAllocatedBytes();
+            target.postSolve(contact, impulse);
+            count(before);
+        }
+
+        private void count(long before) {
+            callbackBytes += threadBean.getCurrentThreadAllocatedBytes() - before;
+            callbacks++;
+        }
+    }
+}